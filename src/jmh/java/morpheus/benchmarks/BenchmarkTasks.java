@@ -0,0 +1,61 @@
+package morpheus.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+import morpheus.utils.CustomDateTime;
+
+/**
+ * Builds the task lists that the benchmarks run against.
+ * <p>
+ * The lists are the same on every run: a third each of todos, deadlines and events,
+ * every fourth task done, and every tenth task with a reminder within the next 30 days.
+ * </p>
+ */
+final class BenchmarkTasks {
+    private static final String[] WORDS = {
+        "read", "book", "return", "project", "meeting", "gym", "assignment", "groceries", "call", "mum",
+        "essay", "lecture", "tutorial", "report", "dentist", "laundry", "flight", "budget", "review", "plan",
+    };
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Returns {@code count} tasks.
+     *
+     * @param count the number of tasks
+     * @return a new, modifiable list of tasks
+     */
+    static List<Task> create(int count) {
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+            boolean isDone = i % 4 == 0;
+            CustomDateTime date = new CustomDateTime(today.plusDays(i % 365), 9 + i % 10, (i % 4) * 15);
+            Task task;
+            switch (i % 3) {
+            case 0:
+                task = new ToDoTask(description, isDone);
+                break;
+            case 1:
+                task = new DeadlineTask(description, isDone, date);
+                break;
+            default:
+                task = new EventTask(description, isDone, date, new CustomDateTime(today.plusDays(i % 365 + 1)));
+                break;
+            }
+            if (i % 10 == 0) {
+                task.setReminder(new CustomDateTime(today.plusDays(1 + i % 30), 8, 0));
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,57 @@
+package morpheus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import morpheus.Morpheus;
+import morpheus.utils.Storage;
+
+/**
+ * Measures <code>find</code> through one shared {@link Morpheus} with one reader and with four,
+ * to show how far concurrent readers scale under its lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentReadBenchmark {
+    private static final int TASKS = 200;
+
+    private Morpheus morpheus;
+
+    /**
+     * Creates the shared engine and its task list.
+     */
+    @Setup
+    public void setUp() {
+        morpheus = new Morpheus(Storage.inMemory());
+        for (int i = 0; i < TASKS; i++) {
+            morpheus.getResponse("todo task " + i);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String findOneReader() {
+        return morpheus.getResponse("find task 1");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String findFourReaders() {
+        return morpheus.getResponse("find task 1");
+    }
+}
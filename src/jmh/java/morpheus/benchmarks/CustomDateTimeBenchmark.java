@@ -0,0 +1,43 @@
+package morpheus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import morpheus.utils.CustomDateTime;
+
+/**
+ * Measures parsing each date and time format accepted by {@link CustomDateTime}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomDateTimeBenchmark {
+    @Param({
+        "12 Sep 2025, 3:00 PM", // d MMM yyyy, h:mm a (the display format, also used in save files)
+        "12 Sep 2025", // d MMM yyyy
+        "12/9/2025", "12-9-2025", "12.9.2025", "12/9/25", // d/m/yyyy, d-m-yyyy, d.m.yyyy, d/m/yy
+        "12/9", "12-9", "12.9", // d/m, d-m, d.m
+        "120925", "12092025", // ddmmyy, ddmmyyyy
+        "12/9/2025 15:00", "12/9/2025 15.00", "12/9/2025 1500", "12/9/2025 900", // hh:mm, hh.mm, hhmm, hmm
+        "12/9/2025 3:00 PM", "12/9/2025 3.00 PM", "12/9/2025 3PM", "12/9/2025 11AM", // h:mm a, h.mm a, ha, hha
+    })
+    private String input;
+
+    @Benchmark
+    public CustomDateTime parse() {
+        return new CustomDateTime(input);
+    }
+}
@@ -0,0 +1,45 @@
+package morpheus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import morpheus.commands.Command;
+import morpheus.utils.Parser;
+
+/**
+ * Measures turning raw input into a {@link Command} with {@link Parser#parse(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({
+        "list",
+        "todo read book",
+        "deadline return book /by 6/6/2025 1800",
+        "event project meeting /from 6/8/2025 1400 /to 1600",
+        "mark 1,4,7-9",
+        "find book",
+        "reminders weekly",
+        "not a command",
+    })
+    private String input;
+
+    @Benchmark
+    public Command parse() {
+        return Parser.parse(input);
+    }
+}
@@ -0,0 +1,66 @@
+package morpheus.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import morpheus.commands.CheckRemindersCommand;
+import morpheus.commands.FindCommand;
+import morpheus.tasks.Task;
+import morpheus.utils.Storage;
+import morpheus.utils.Ui;
+
+/**
+ * Measures the read-only commands on their own, without {@link morpheus.Morpheus}'s locking
+ * or response cache: <code>find</code>, <code>reminders</code> and rendering the whole list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+    @Param({"1000", "100000"})
+    private int tasks;
+
+    private final Storage storage = Storage.inMemory();
+    private final Ui ui = new Ui();
+    private final FindCommand find = new FindCommand("find book");
+    private final CheckRemindersCommand reminders = new CheckRemindersCommand("reminders weekly");
+    private List<Task> taskList;
+
+    /**
+     * Creates the task list.
+     */
+    @Setup
+    public void setUp() {
+        taskList = BenchmarkTasks.create(tasks);
+    }
+
+    @Benchmark
+    public String find() {
+        return find.execute(taskList, storage, ui);
+    }
+
+    @Benchmark
+    public String reminders() {
+        return reminders.execute(taskList, storage, ui);
+    }
+
+    @Benchmark
+    public String listMessage() {
+        return ui.listMessage(taskList);
+    }
+}
@@ -0,0 +1,79 @@
+package morpheus.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import morpheus.tasks.Task;
+import morpheus.utils.Storage;
+
+/**
+ * Measures loading and saving whole save files of 1,000, 100,000 and 1,000,000 tasks.
+ * <p>
+ * Saving rewrites the file every time, as it does after each change in the application.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int tasks;
+
+    private Path directory;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private List<Task> taskList;
+
+    /**
+     * Writes a save file of the requested size to load from.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("morpheus-storage-benchmark");
+        taskList = BenchmarkTasks.create(tasks);
+        loadStorage = new Storage(directory.resolve("load.txt").toString());
+        loadStorage.save(taskList);
+        saveStorage = new Storage(directory.resolve("save.txt").toString());
+    }
+
+    /**
+     * Deletes the save files.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Task> load() {
+        return loadStorage.load();
+    }
+
+    @Benchmark
+    public void save() {
+        saveStorage.save(taskList);
+    }
+}
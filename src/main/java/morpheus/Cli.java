@@ -0,0 +1,71 @@
+package morpheus;
+
+import morpheus.utils.StartupProfiler;
+import morpheus.utils.Ui;
+
+/**
+ * A terminal entry point for Morpheus that never loads JavaFX.
+ * <p>
+ * Commands are read line by line from standard input and each response is printed
+ * to standard output, until <code>bye</code> or the end of input. The welcome banner
+ * is only shown in an interactive terminal, so scripts that pipe commands in get the
+ * responses alone and never pay for loading the task list up front.
+ * </p>
+ *
+ * Start-up is kept small for shell loops: no JavaFX classes, no console scanner until
+ * input is read, and the task list is loaded on first use. Run with
+ * <code>-Dmorpheus.startup.report</code> to print the time to the first prompt and the
+ * number of classes loaded to standard error (see {@link StartupProfiler}), e.g. to check
+ * the effect of an AppCDS archive (see the <code>cliCdsArchive</code> Gradle task).
+ *
+ * @author Aayush
+ */
+public class Cli {
+    private static final String EXIT_COMMAND = "END PROGRAM";
+    private static final String PROMPT = "> ";
+
+    private final Morpheus morpheus;
+    private final Ui ui = new Ui();
+    private final boolean isInteractive = System.console() != null;
+
+    private Cli(String filePath) {
+        this.morpheus = new Morpheus(filePath);
+        morpheus.getMetrics().startDumping();
+    }
+
+    /**
+     * Runs the REPL until <code>bye</code> or the end of standard input.
+     *
+     * @param args an optional save file path
+     */
+    public static void main(String[] args) {
+        String filePath = args.length > 0 ? args[0] : Morpheus.DEFAULT_FILE_PATH;
+        new Cli(filePath).run();
+    }
+
+    private void run() {
+        if (isInteractive) {
+            System.out.println(morpheus.getWelcomeMessage());
+        }
+        StartupProfiler.mark("first prompt");
+
+        while (prompt()) {
+            String response = morpheus.getResponse(ui.readInput());
+            if (EXIT_COMMAND.equals(response)) {
+                System.out.println(ui.byeMessage());
+                break;
+            }
+            System.out.println(response);
+        }
+        morpheus.flush();
+        ui.closeScanner();
+    }
+
+    private boolean prompt() {
+        if (isInteractive) {
+            System.out.print(PROMPT);
+            System.out.flush();
+        }
+        return ui.hasInput();
+    }
+}
@@ -48,6 +48,13 @@ public class DialogBox extends HBox {
         setAlignment(Pos.TOP_LEFT);
     }
 
+    /**
+     * Replaces the text shown in this dialog box.
+     */
+    public void setText(String text) {
+        dialog.setText(text);
+    }
+
     public static DialogBox getUserDialog(String text, Image img) {
         var db = new DialogBox(text, img);
         db.getStyleClass().add("user-box");
@@ -1,12 +1,47 @@
 package morpheus;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 import javafx.application.Application;
+import morpheus.server.ApiServer;
 
 /**
  * A launcher class to workaround classpath issues.
+ * <p>
+ * By default the JavaFX GUI is started. The headless modes never touch JavaFX:
+ * <code>--cli [file]</code> starts a terminal REPL, <code>--pipe [file] [policy]</code> streams
+ * commands from standard input for automation, and <code>--server [port] [file]</code> starts
+ * the loopback HTTP/JSON API.
+ * </p>
  */
 public class Launcher {
-    public static void main(String[] args) {
+    private static final String CLI_FLAG = "--cli";
+    private static final String PIPE_FLAG = "--pipe";
+    private static final String SERVER_FLAG = "--server";
+
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "";
+        String[] modeArgs = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
+        switch (mode) {
+        case CLI_FLAG:
+            Cli.main(modeArgs);
+            break;
+        case PIPE_FLAG:
+            Pipe.main(modeArgs);
+            break;
+        case SERVER_FLAG:
+            ApiServer.main(modeArgs);
+            break;
+        default:
+            launchGui(args);
+        }
+    }
+
+    /**
+     * Starts the GUI. Kept in its own method so that JavaFX classes are only resolved when it runs.
+     */
+    private static void launchGui(String[] args) {
         Application.launch(Main.class, args);
     }
 }
@@ -1,23 +1,36 @@
 package morpheus;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import morpheus.utils.StartupProfiler;
 
 /**
  * A GUI entry point for Morpheus using FXML.
+ * <p>
+ * The window is shown before the task list is read: loading the tasks and checking
+ * reminders start on a background thread first thing, and the welcome message replaces
+ * a placeholder once they finish. Run with <code>-Dmorpheus.startup.report=true</code>
+ * to print the timing of each start-up phase (see {@link StartupProfiler}).
+ * </p>
  */
 public class Main extends Application {
 
-    private static final String STORAGE_FILE_PATH = "data/morpheus.txt";
+    private static final String STORAGE_FILE_PATH = Morpheus.DEFAULT_FILE_PATH;
     private final Morpheus morpheus = new Morpheus(STORAGE_FILE_PATH);
 
     @Override
     public void start(Stage stage) {
+        StartupProfiler.mark("toolkit started");
+        morpheus.getMetrics().startDumping();
+        // Runs while the window is being built
+        CompletableFuture<String> welcome = morpheus.getWelcomeMessageAsync();
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
@@ -26,9 +39,11 @@ public class Main extends Application {
 
             // Provide controller with required dependencies (Morpheus logic and Stage)
             MainWindow controller = fxmlLoader.getController();
-            controller.setMorpheus(morpheus);
             controller.setStage(stage);
+            controller.setMorpheus(morpheus, welcome);
+            StartupProfiler.mark("window built");
 
+            markFirstFrame(scene);
             stage.show();
         } catch (IOException e) {
             // Log error and exit gracefully to avoid silent UI failure
@@ -36,4 +51,24 @@ public class Main extends Application {
             System.err.println("Failed to load MainWindow.fxml");
         }
     }
+
+    private static void markFirstFrame(Scene scene) {
+        if (!StartupProfiler.isEnabled()) {
+            return;
+        }
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean isMarked;
+
+            @Override
+            public void run() {
+                if (isMarked) {
+                    return;
+                }
+                isMarked = true;
+                StartupProfiler.mark("first frame");
+                // Not removed right away, as the scene may be iterating over its listeners
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        });
+    }
 }
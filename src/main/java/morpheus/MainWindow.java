@@ -1,49 +1,99 @@
 package morpheus;
 
+import java.util.concurrent.CompletableFuture;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import morpheus.utils.StartupProfiler;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * The conversation is kept as a list of {@link Message}s shown in a virtualized
+ * {@link ListView}: only the rows on screen are realized as {@link DialogBox}es, and
+ * those are recycled while scrolling, so a long session does not grow the scene graph.
+ * The number of messages kept can be capped with <code>-Dmorpheus.gui.historyLimit</code>;
+ * by default the whole conversation is kept.
+ * </p>
+ *
+ * Very long replies, such as <code>list</code> with many thousands of tasks, are shown
+ * progressively: the first {@value #CHUNK_LINES} lines appear at once and the rest follow
+ * as further messages, one chunk per frame, so the window keeps responding meanwhile.
  */
 public class MainWindow extends AnchorPane {
     private static final String USER_IMAGE_PATH = "/images/neo.png";
     private static final String MORPHEUS_IMAGE_PATH = "/images/morpheus.png";
     private static final String EXIT_COMMAND = "END PROGRAM";
+    private static final String PENDING_TEXT = "Thinking...";
+    private static final String LOADING_TEXT = "Plugging you into the Matrix...";
+    private static final String FAILED_MSG = "Sorry, something went wrong while handling that. Please try again.";
+    /** How long a command may run before the pending indicator is shown. */
+    private static final Duration PENDING_DELAY = Duration.millis(150);
+    /** Maximum number of messages kept in the conversation, or 0 to keep them all. */
+    private static final int HISTORY_LIMIT = Integer.getInteger("morpheus.gui.historyLimit", 0);
+    /** Maximum number of lines shown in one message; longer replies are split across several. */
+    private static final int CHUNK_LINES = 200;
 
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<Message> dialogList;
     @FXML
     private TextField userInput;
 
+    private final ObservableList<Message> messages = FXCollections.observableArrayList();
+
     private Morpheus morpheus;
     private Stage stage;
 
-    private final Image userImage = new Image(this.getClass().getResourceAsStream(USER_IMAGE_PATH));
-    private final Image morpheusImage = new Image(this.getClass().getResourceAsStream(MORPHEUS_IMAGE_PATH));
+    // Decoded in the background, so the window does not wait for them
+    private final Image userImage = new Image(this.getClass().getResource(USER_IMAGE_PATH).toExternalForm(), true);
+    private final Image morpheusImage =
+            new Image(this.getClass().getResource(MORPHEUS_IMAGE_PATH).toExternalForm(), true);
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new MessageCell(userImage, morpheusImage));
     }
 
     /**
      * Supplies the logic handler (Morpheus) to this controller.
-     * Also initializes the UI with the welcome message.
+     * Also initializes the UI with the welcome message, loaded in the background.
      */
     public void setMorpheus(Morpheus m) {
+        setMorpheus(m, m.getWelcomeMessageAsync());
+    }
+
+    /**
+     * Supplies the logic handler (Morpheus) to this controller, with a welcome message that
+     * is already being prepared.
+     * <p>
+     * A placeholder is shown until the welcome message is ready. The user can type
+     * meanwhile; their commands run once the task list has loaded.
+     * </p>
+     *
+     * @param m       the logic handler
+     * @param welcome a future completed with the welcome message, e.g. from
+     *                {@link Morpheus#getWelcomeMessageAsync()}
+     */
+    public void setMorpheus(Morpheus m, CompletableFuture<String> welcome) {
         morpheus = m;
-        String welcome = morpheus.getWelcomeMessage();
-        dialogContainer.getChildren().add(
-                DialogBox.getMorpheusDialog(welcome, morpheusImage)
-        );
+        Message reply = Message.fromMorpheus(LOADING_TEXT);
+        addMessages(reply);
+        welcome.exceptionally(error -> FAILED_MSG)
+                .thenAccept(text -> Platform.runLater(() -> {
+                    showMessage(reply, text);
+                    StartupProfiler.mark("interactive");
+                }));
     }
 
     /**
@@ -55,22 +105,116 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Handles user input and appends responses to the dialog container.
+     * Handles user input and appends responses to the conversation.
+     * <p>
+     * The command runs off the JavaFX application thread, so a slow command never freezes
+     * the window. A hidden reply slot is added straight after the user's message so replies
+     * always appear in the order commands were sent; if the command is still running after
+     * {@link #PENDING_DELAY}, the slot is revealed with a pending indicator.
+     * </p>
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = morpheus.getResponse(input);
+        userInput.clear();
+
+        Message reply = Message.pendingReply();
+        addMessages(Message.fromUser(input), reply);
+
+        PauseTransition pending = new PauseTransition(PENDING_DELAY);
+        pending.setOnFinished(event -> showMessage(reply, PENDING_TEXT));
+        pending.play();
+
+        morpheus.getResponseAsync(input)
+                .exceptionally(error -> FAILED_MSG)
+                .thenAccept(response -> Platform.runLater(() -> showResponse(reply, pending, response)));
+    }
+
+    private void showResponse(Message reply, PauseTransition pending, String response) {
+        pending.stop();
         //Guard Clause
         if (EXIT_COMMAND.equals(response)) {
             stage.close();
             return;
         }
+        int end = endOfChunk(response, 0);
+        showMessage(reply, response.substring(0, end));
+        if (end < response.length()) {
+            showRemainingChunks(reply, response, end + 1);
+        }
+    }
 
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getMorpheusDialog(response, morpheusImage)
-        );
-        userInput.clear();
+    /**
+     * Adds the rest of a long reply after {@code reply}, one chunk of lines per frame.
+     */
+    private void showRemainingChunks(Message reply, String response, int firstStart) {
+        new AnimationTimer() {
+            private Message previous = reply;
+            private int start = firstStart;
+
+            @Override
+            public void handle(long now) {
+                int index = messages.lastIndexOf(previous);
+                if (index < 0) {
+                    stop(); // the reply was dropped by the history limit
+                    return;
+                }
+                int end = endOfChunk(response, start);
+                previous = Message.fromMorpheus(response.substring(start, end));
+                messages.add(index + 1, previous);
+                trimHistory();
+                start = end + 1;
+                if (start >= response.length()) {
+                    stop();
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Returns the index of the newline ending the chunk that starts at {@code start},
+     * or the length of {@code text} if fewer than {@link #CHUNK_LINES} lines remain.
+     */
+    private static int endOfChunk(String text, int start) {
+        int end = start - 1;
+        for (int line = 0; line < CHUNK_LINES; line++) {
+            end = text.indexOf('\n', end + 1);
+            if (end < 0) {
+                return text.length();
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Appends messages to the conversation, drops the oldest ones beyond the history limit,
+     * and scrolls to the newest one.
+     */
+    private void addMessages(Message... added) {
+        messages.addAll(added);
+        trimHistory();
+        dialogList.scrollTo(messages.size() - 1);
+    }
+
+    private void trimHistory() {
+        if (HISTORY_LIMIT > 0 && messages.size() > HISTORY_LIMIT) {
+            messages.remove(0, messages.size() - HISTORY_LIMIT);
+        }
+    }
+
+    /**
+     * Shows a reply with the given text, re-rendering its row if it is on screen.
+     */
+    private void showMessage(Message reply, String text) {
+        reply.show(text);
+        // Replies are near the end, so searching from the back finds them quickly
+        int index = messages.lastIndexOf(reply);
+        if (index < 0) {
+            return; // already dropped by the history limit
+        }
+        messages.set(index, reply);
+        if (index == messages.size() - 1) {
+            dialogList.scrollTo(index);
+        }
     }
 }
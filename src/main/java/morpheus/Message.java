@@ -0,0 +1,73 @@
+package morpheus;
+
+/**
+ * One entry of the GUI conversation: a user input or a reply from Morpheus.
+ * <p>
+ * Messages are plain data so that a long conversation costs only a few objects per
+ * entry; the GUI realizes {@link DialogBox}es for the messages currently on screen only.
+ * A reply may be added before its text is known and stay hidden until it is shown, so
+ * that replies keep the order in which their commands were sent.
+ * </p>
+ */
+public class Message {
+    private final boolean isFromUser;
+    private String text;
+    private boolean isShown;
+
+    private Message(boolean isFromUser, String text, boolean isShown) {
+        this.isFromUser = isFromUser;
+        this.text = text;
+        this.isShown = isShown;
+    }
+
+    /**
+     * Creates a message typed by the user.
+     *
+     * @param text the user's input
+     * @return a visible user message
+     */
+    public static Message fromUser(String text) {
+        return new Message(true, text, true);
+    }
+
+    /**
+     * Creates a reply from Morpheus.
+     *
+     * @param text the reply text
+     * @return a visible Morpheus message
+     */
+    public static Message fromMorpheus(String text) {
+        return new Message(false, text, true);
+    }
+
+    /**
+     * Creates a reply from Morpheus that stays hidden until {@link #show(String)} is called.
+     *
+     * @return a hidden Morpheus message with no text yet
+     */
+    public static Message pendingReply() {
+        return new Message(false, "", false);
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isShown() {
+        return isShown;
+    }
+
+    /**
+     * Makes this message visible with the given text.
+     *
+     * @param text the text to show
+     */
+    public void show(String text) {
+        this.text = text;
+        this.isShown = true;
+    }
+}
@@ -0,0 +1,68 @@
+package morpheus;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * A recycled row of the conversation list.
+ * <p>
+ * The list only creates enough cells to fill the window, and reuses them as the user
+ * scrolls. Each cell keeps one user and one Morpheus {@link DialogBox}, created on first
+ * use, and just swaps their text as it is moved to another message.
+ * </p>
+ */
+public class MessageCell extends ListCell<Message> {
+    /** Horizontal space kept free for the cell padding and the list's scroll bar. */
+    private static final double HORIZONTAL_INSETS = 30;
+
+    private final Image userImage;
+    private final Image morpheusImage;
+    private DialogBox userDialog;
+    private DialogBox morpheusDialog;
+
+    /**
+     * Creates a cell that shows messages with the given pictures.
+     *
+     * @param userImage     the picture shown next to user messages
+     * @param morpheusImage the picture shown next to Morpheus's replies
+     */
+    public MessageCell(Image userImage, Image morpheusImage) {
+        this.userImage = userImage;
+        this.morpheusImage = morpheusImage;
+        // Let the cell follow the list's width, so that long replies wrap instead of scrolling sideways
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean empty) {
+        super.updateItem(message, empty);
+        setText(null);
+        if (empty || message == null || !message.isShown()) {
+            setGraphic(null);
+            return;
+        }
+
+        DialogBox dialog = message.isFromUser() ? userDialog() : morpheusDialog();
+        dialog.setText(message.getText());
+        setGraphic(dialog);
+    }
+
+    private DialogBox userDialog() {
+        if (userDialog == null) {
+            userDialog = fitToWidth(DialogBox.getUserDialog("", userImage));
+        }
+        return userDialog;
+    }
+
+    private DialogBox morpheusDialog() {
+        if (morpheusDialog == null) {
+            morpheusDialog = fitToWidth(DialogBox.getMorpheusDialog("", morpheusImage));
+        }
+        return morpheusDialog;
+    }
+
+    private DialogBox fitToWidth(DialogBox dialog) {
+        dialog.prefWidthProperty().bind(widthProperty().subtract(HORIZONTAL_INSETS));
+        return dialog;
+    }
+}
@@ -1,11 +1,26 @@
 package morpheus;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import morpheus.commands.CheckRemindersCommand;
 import morpheus.commands.Command;
+import morpheus.commands.FindCommand;
+import morpheus.history.CompoundOperation;
+import morpheus.history.Operation;
+import morpheus.history.OperationLog;
+import morpheus.jfr.CommandExecuteEvent;
+import morpheus.jfr.CommandParseEvent;
 import morpheus.tasks.Task;
+import morpheus.utils.BackgroundExecutor;
+import morpheus.utils.LatencyHistogram;
+import morpheus.utils.Metrics;
 import morpheus.utils.Parser;
+import morpheus.utils.ResponseCache;
 import morpheus.utils.Storage;
 import morpheus.utils.Ui;
 
@@ -21,23 +36,75 @@ import morpheus.utils.Ui;
  *   <li>{@link Ui} for user interaction</li>
  *   <li>{@link Storage} for saving and loading tasks</li>
  *   <li>{@link List}&lt;{@link Task}&gt; for storing the current tasks</li>
+ *   <li>{@link OperationLog} for undoing and redoing changes</li>
  * </ul>
  *
  * The main program flow is handled by the {@link #getResponse(String)} method, which continually
  * reads user input, parses it into a {@link Command}, and executes it until the
  * program is instructed to exit.
  *
+ * Commands may also be grouped into a transaction with <code>begin</code>,
+ * <code>commit</code> and <code>rollback</code>. While a transaction is open,
+ * commands run against a private copy of the task list that reminders and
+ * other readers cannot see, and nothing is written to disk until the whole
+ * transaction is committed with a single atomic save.
+ *
+ * A single instance may be shared between threads (the GUI, schedulers, scripted
+ * clients). Read-only commands such as <code>list</code>, <code>find</code> and
+ * <code>reminders</code> first run optimistically without blocking and are only
+ * retried under a read lock if a write happened meanwhile; every other command
+ * runs under an exclusive write lock, so each mutation and its save are atomic.
+ *
+ * Every write-locked command moves the task store to a new version. Responses to
+ * read-only commands are cached by command and version (see {@link ResponseCache}),
+ * so repeating a <code>list</code> or <code>find</code> while nothing has changed
+ * is answered without walking the task list again.
+ *
+ * The latency of every command is recorded by command type in {@link Metrics},
+ * and can be viewed with the <code>stats</code> command. Parsing and executing
+ * commands also emit JFR events (see {@link CommandParseEvent}).
+ *
  * @author Aayush
  */
 public class Morpheus {
+    /** The save file used when no other path is given. */
+    public static final String DEFAULT_FILE_PATH = "data/morpheus.txt";
     private static final String INVALID_COMMAND_MSG =
             "Seems like you entered an invalid command. Please try again.";
     private static final String EXIT_COMMAND = "END PROGRAM";
+    private static final String BEGIN_COMMAND = "begin";
+    private static final String COMMIT_COMMAND = "commit";
+    private static final String ROLLBACK_COMMAND = "rollback";
+    /** The name that latencies of unrecognised input are recorded under. */
+    private static final String INVALID_COMMAND = "(invalid)";
+    private static final String ALREADY_IN_TRANSACTION_MSG =
+            "A transaction is already open. Finish it with 'commit' or 'rollback' first.";
+    private static final String NO_TRANSACTION_MSG =
+            "There's no open transaction. Start one with 'begin'.";
+    /** Maximum number of task references kept by the undo log, overridable with -Dmorpheus.undo.limit. */
+    private static final long UNDO_LIMIT = Long.getLong("morpheus.undo.limit", 100_000L);
     private final Ui ui;
     private final Storage storage;
-    private final List<Task> taskList;
+    /** Storage handed to commands inside a transaction, so that they never write to disk. */
+    private final Storage transactionStorage;
+    /** This instance's command latencies, kept with its storage's I/O counters. */
+    private final Metrics metrics;
+    /** Loaded from {@link #storage} on first use; see {@link #taskList()}. */
+    private volatile List<Task> taskList;
+    private final OperationLog history = new OperationLog(UNDO_LIMIT);
+    /** Guards the task list, the undo log and the transaction state. */
+    private final StampedLock lock = new StampedLock();
+    /** Incremented by every write-locked action, so that cached responses computed before it are stale. */
+    private long version;
+    private final ResponseCache responses = new ResponseCache(ResponseCache.DEFAULT_CAPACITY);
 
+    /** The private working copy of the task list while a transaction is open, otherwise {@code null}. */
+    private List<Task> workingView;
+    /** The operations applied to {@link #workingView} since the transaction began. */
+    private OperationLog transactionLog;
 
+    /** The most recently submitted asynchronous command; later commands are chained after it. */
+    private CompletableFuture<String> lastResponse = CompletableFuture.completedFuture(null);
 
     /**
      * Constructs a new instance of Morpheus.
@@ -45,13 +112,40 @@ public class Morpheus {
      * @param filePath the path to the file where tasks are stored
      */
     public Morpheus(String filePath) {
+        this(new Storage(filePath));
+    }
+
+    /**
+     * Constructs a new instance of Morpheus backed by the given storage.
+     *
+     * @param storage the storage handler that loads and saves the tasks, e.g. one with a deferred write policy
+     */
+    public Morpheus(Storage storage) {
         this.ui = new Ui();
-        this.storage = new Storage(filePath);
-        this.taskList = initializeTaskList();
+        this.storage = storage;
+        this.metrics = storage.getMetrics();
+        this.transactionStorage = Storage.inMemory(metrics);
     }
 
-    private List<Task> initializeTaskList() {
-        return storage.load();
+    /**
+     * Returns the committed task list, loading it from the save file on first use.
+     * <p>
+     * Loading lazily keeps start-up cheap for callers that may never need the tasks,
+     * e.g. a scripted <code>bye</code> or an invalid command.
+     * </p>
+     */
+    private List<Task> taskList() {
+        List<Task> tasks = taskList;
+        if (tasks == null) {
+            synchronized (storage) {
+                tasks = taskList;
+                if (tasks == null) {
+                    tasks = storage.load();
+                    taskList = tasks;
+                }
+            }
+        }
+        return tasks;
     }
 
     /**
@@ -64,8 +158,7 @@ public class Morpheus {
                 .append("How can I help you today?\n");
 
         // Run the reminders check
-        String reminders = new CheckRemindersCommand("reminders")
-                .execute(this.taskList, this.storage, this.ui);
+        String reminders = executeRead(new CheckRemindersCommand("reminders"));
 
         if (!reminders.isBlank()) {
             sb.append("\nBefore we dive in, here are a few things I thought you’d like to be reminded about:\n")
@@ -76,6 +169,23 @@ public class Morpheus {
         return sb.toString();
     }
 
+    /**
+     * Returns whether {@code input} opens, commits or rolls back a transaction.
+     *
+     * @param input the raw user input string
+     * @return {@code true} for <code>begin</code>, <code>commit</code> and <code>rollback</code>
+     */
+    public static boolean isTransactionCommand(String input) {
+        switch (input.trim().toLowerCase()) {
+        case BEGIN_COMMAND:
+        case COMMIT_COMMAND:
+        case ROLLBACK_COMMAND:
+            return true;
+        default:
+            return false;
+        }
+    }
+
     /**
      * Processes a single user input and returns the response.
      *
@@ -83,16 +193,332 @@ public class Morpheus {
      * @return the response message, or EXIT_COMMAND if program should terminate
      */
     public String getResponse(String input) {
-        Command command = Parser.parse(input);
+        long start = System.nanoTime();
+        switch (input.trim().toLowerCase()) {
+        case BEGIN_COMMAND:
+            return recordLatency(metrics.forCommand(BEGIN_COMMAND), start, withWriteLock(this::beginTransaction));
+        case COMMIT_COMMAND:
+            return recordLatency(metrics.forCommand(COMMIT_COMMAND), start, withWriteLock(this::commitTransaction));
+        case ROLLBACK_COMMAND:
+            return recordLatency(metrics.forCommand(ROLLBACK_COMMAND), start,
+                    withWriteLock(this::rollbackTransaction));
+        default: break;
+        }
+
+        Command command = parse(input);
 
         if (command == null) {
-            return INVALID_COMMAND_MSG;
+            return recordLatency(metrics.forCommand(INVALID_COMMAND), start, INVALID_COMMAND_MSG);
         }
 
         if (command.isExit()) {
-            return EXIT_COMMAND;
+            flush();
+            return recordLatency(metrics.forCommand(command.getClass()), start, EXIT_COMMAND);
+        }
+
+        String response = executeCommand(command);
+        return recordLatency(metrics.forCommand(command.getClass()), start, response);
+    }
+
+    private static Command parse(String input) {
+        CommandParseEvent event = new CommandParseEvent();
+        event.begin();
+        Command command = Parser.parse(input);
+        if (event.shouldCommit()) {
+            event.set(command == null ? INVALID_COMMAND : Metrics.commandName(command.getClass()), input.length());
+            event.commit();
+        }
+        return command;
+    }
+
+    private String executeCommand(Command command) {
+        CommandExecuteEvent event = new CommandExecuteEvent();
+        event.begin();
+        String response = command.isReadOnly() ? executeRead(command) : withWriteLock(() -> execute(command));
+        if (event.shouldCommit()) {
+            List<Task> tasks = taskList;
+            event.set(Metrics.commandName(command.getClass()), command.isReadOnly(), tasks == null ? 0 : tasks.size());
+            event.commit();
+        }
+        return response;
+    }
+
+    private static String recordLatency(LatencyHistogram histogram, long start, String response) {
+        histogram.record(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Returns a snapshot of the committed task list.
+     *
+     * @return independent copies of every task, in list order
+     */
+    public List<Task> getTasks() {
+        return readCommitted(tasks -> tasks.stream().map(Task::copy).toList());
+    }
+
+    /**
+     * Returns a snapshot of the committed tasks whose description contains {@code keyword}.
+     *
+     * @param keyword the keyword to look for, ignoring case
+     * @return independent copies of the matching tasks, in list order
+     */
+    public List<Task> findTasks(String keyword) {
+        return readCommitted(tasks -> FindCommand.filterTasks(tasks, keyword));
+    }
+
+    /**
+     * Returns a snapshot of the committed tasks with upcoming reminders in the given timeframe.
+     *
+     * @param mode the timeframe, as accepted by the <code>reminders</code> command (e.g. "today")
+     * @return independent copies of the matching tasks, earliest first,
+     *         or {@code null} if the timeframe is not recognised
+     */
+    public List<Task> getReminders(String mode) {
+        CheckRemindersCommand command = new CheckRemindersCommand("reminders " + mode);
+        return readCommitted(tasks -> {
+            List<Task> reminders = command.findReminders(tasks);
+            return reminders == null ? null : reminders.stream().map(Task::copy).toList();
+        });
+    }
+
+    /**
+     * Returns the number of committed tasks.
+     *
+     * @return the size of the committed task list
+     */
+    public int getTaskCount() {
+        return readCommitted(List::size);
+    }
+
+    /**
+     * Returns whether a transaction is open, i.e. whether there are changes that have not been saved yet.
+     *
+     * @return {@code true} between <code>begin</code> and the matching <code>commit</code> or <code>rollback</code>
+     */
+    public boolean hasOpenTransaction() {
+        long stamp = lock.readLock();
+        try {
+            return isInTransaction();
+        } finally {
+            lock.unlockRead(stamp);
         }
+    }
+
+    /**
+     * Returns the cache of responses to read-only commands, e.g. to report its hit rate.
+     *
+     * @return this instance's response cache
+     */
+    public ResponseCache getResponseCache() {
+        return responses;
+    }
+
+    /**
+     * Writes any saves that the storage's write policy has deferred. Changes inside an open
+     * transaction are not affected; they are only saved by <code>commit</code>.
+     */
+    public void flush() {
+        withWriteLock(() -> {
+            storage.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the metrics that this instance records its commands and its storage's I/O in.
+     *
+     * @return the metrics shown by <code>stats</code>
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Applies {@code reader} to the committed task list (never a transaction's working copy),
+     * optimistically first and under the read lock if a writer interfered.
+     */
+    private <T> T readCommitted(Function<List<Task>, T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.apply(taskList());
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // torn read; retried under the read lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return reader.apply(taskList());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a read-only command, first optimistically without taking the lock.
+     * <p>
+     * If a writer ran concurrently, the optimistic result (or any exception caused by
+     * reading a list mid-change) is discarded and the command is re-run under the read lock.
+     * Either way, a response cached at the current version is returned without running the command.
+     * </p>
+     */
+    private String executeRead(Command command) {
+        String key = command.getCacheKey();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0 && !isInTransaction()) {
+            long readVersion = version;
+            String response = responses.get(key, readVersion);
+            if (response == null) {
+                response = executeOptimistically(command);
+            }
+            if (response != null && lock.validate(stamp)) {
+                responses.put(key, readVersion, response);
+                return response;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            String response = responses.get(key, version);
+            if (response == null) {
+                response = execute(command);
+                responses.put(key, version, response);
+            }
+            return response;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private String executeOptimistically(Command command) {
+        try {
+            return command.execute(taskList(), this.storage, this.ui);
+        } catch (RuntimeException e) {
+            return null; // torn read; retried under the read lock
+        }
+    }
+
+    private String withWriteLock(Supplier<String> action) {
+        long stamp = lock.writeLock();
+        try {
+            return action.get();
+        } finally {
+            version++;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Executes a command against the current view of the task list. Callers must hold the lock.
+     */
+    private String execute(Command command) {
+        if (isInTransaction()) {
+            command.setHistory(this.transactionLog);
+            return command.execute(this.workingView, this.transactionStorage, this.ui);
+        }
+
+        command.setHistory(this.history);
+        return command.execute(taskList(), this.storage, this.ui);
+    }
+
+    /**
+     * Processes a single user input on the background executor.
+     * <p>
+     * Commands submitted to the same {@code Morpheus} instance are executed strictly
+     * in submission order: each one only starts once the previous one has finished,
+     * whether it succeeded or not. Callers on the JavaFX thread should hand the result
+     * back with {@code Platform.runLater}.
+     * </p>
+     *
+     * @param input the raw user input string
+     * @return a future completed with the response message, or EXIT_COMMAND if program should terminate
+     */
+    public CompletableFuture<String> getResponseAsync(String input) {
+        return submit(() -> getResponse(input));
+    }
+
+    /**
+     * Builds the welcome message on the background executor, loading the task list and
+     * checking reminders there instead of on the calling thread.
+     * <p>
+     * The welcome message is ordered with commands passed to {@link #getResponseAsync(String)}:
+     * commands submitted after it only run once it is ready.
+     * </p>
+     *
+     * @return a future completed with the welcome message
+     */
+    public CompletableFuture<String> getWelcomeMessageAsync() {
+        return submit(this::getWelcomeMessage);
+    }
+
+    private synchronized CompletableFuture<String> submit(Supplier<String> action) {
+        CompletableFuture<String> response = lastResponse.handleAsync(
+                (previous, error) -> action.get(), BackgroundExecutor.get());
+        lastResponse = response;
+        return response;
+    }
+
+    private boolean isInTransaction() {
+        return workingView != null;
+    }
+
+    /**
+     * Opens a transaction by taking a private copy of the task list.
+     */
+    private String beginTransaction() {
+        if (isInTransaction()) {
+            return ALREADY_IN_TRANSACTION_MSG;
+        }
+        List<Task> tasks = taskList();
+        List<Task> view = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            view.add(task.copy());
+        }
+        this.workingView = view;
+        this.transactionLog = new OperationLog(Long.MAX_VALUE);
+        return ui.beginMessage();
+    }
+
+    /**
+     * Publishes the working copy as the task list, persists it with one atomic save,
+     * and records the transaction as a single undoable change.
+     */
+    private String commitTransaction() {
+        if (!isInTransaction()) {
+            return NO_TRANSACTION_MSG;
+        }
+        List<Operation> operations = transactionLog.getOperations();
+        if (!operations.isEmpty()) {
+            List<Task> tasks = taskList();
+            tasks.clear();
+            tasks.addAll(workingView);
+            storage.saveAtomically(tasks);
+            history.record(new CompoundOperation(
+                    "transaction with " + operations.size() + " change(s)", operations));
+        }
+        endTransaction();
+        return ui.commitMessage(operations.size());
+    }
+
+    /**
+     * Discards the working copy, leaving the task list and save file untouched.
+     */
+    private String rollbackTransaction() {
+        if (!isInTransaction()) {
+            return NO_TRANSACTION_MSG;
+        }
+        int discarded = transactionLog.getOperations().size();
+        endTransaction();
+        return ui.rollbackMessage(discarded);
+    }
 
-        return command.execute(this.taskList, this.storage, this.ui);
+    private void endTransaction() {
+        this.workingView = null;
+        this.transactionLog = null;
     }
 }
@@ -0,0 +1,108 @@
+package morpheus;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import morpheus.utils.Storage;
+import morpheus.utils.Ui;
+
+/**
+ * A streaming entry point for automation: commands are read from standard input and
+ * their responses written to standard output, one per line, as fast as possible.
+ * <p>
+ * Unlike {@link Cli}, both streams are buffered. Responses are flushed in batches, when
+ * the batch is full or no more input is waiting, rather than after every line. Saves
+ * follow a {@link Storage.WritePolicy}: by default the task list is written once at the
+ * end of the stream, or with <code>periodic</code> at most once per save interval. Pending
+ * saves are also written if the process is terminated early.
+ * </p>
+ *
+ * Usage: <code>java -jar morpheus.jar --pipe [file] [deferred|periodic|immediate] &lt; commands.txt</code>
+ *
+ * @author Aayush
+ */
+public class Pipe {
+    private static final String EXIT_COMMAND = "END PROGRAM";
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** Maximum number of responses written between flushes while input keeps arriving. */
+    private static final int FLUSH_BATCH = 4096;
+
+    private final Morpheus morpheus;
+    private final BufferedReader in;
+    private final Writer out;
+    private final Ui ui = new Ui();
+
+    /**
+     * Creates a pipe that runs every command read from {@code in} and writes the responses to {@code out}.
+     *
+     * @param morpheus the engine that runs the commands
+     * @param in       the commands, one per line
+     * @param out      where the responses are written; should be buffered
+     */
+    public Pipe(Morpheus morpheus, BufferedReader in, Writer out) {
+        this.morpheus = morpheus;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Runs the pipe until <code>bye</code> or the end of standard input.
+     *
+     * @param args an optional save file path, followed by an optional write policy (default <code>deferred</code>)
+     * @throws IOException if standard input or output fails
+     */
+    public static void main(String[] args) throws IOException {
+        String filePath = args.length > 0 ? args[0] : Morpheus.DEFAULT_FILE_PATH;
+        Storage.WritePolicy policy = args.length > 1
+                ? Storage.WritePolicy.valueOf(args[1].toUpperCase(Locale.ROOT))
+                : Storage.WritePolicy.DEFERRED;
+        Morpheus morpheus = new Morpheus(new Storage(filePath, policy));
+        morpheus.getMetrics().startDumping();
+        Runtime.getRuntime().addShutdownHook(new Thread(morpheus::flush));
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        Writer out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BUFFER_SIZE);
+        new Pipe(morpheus, in, out).run();
+    }
+
+    /**
+     * Processes commands until <code>bye</code> or the end of input, then writes any pending save
+     * and flushes the remaining responses.
+     *
+     * @return the number of commands processed
+     * @throws IOException if reading the commands or writing the responses fails
+     */
+    public long run() throws IOException {
+        long commands = 0;
+        int unflushed = 0;
+        String input;
+        while ((input = in.readLine()) != null) {
+            commands++;
+            String response = morpheus.getResponse(input);
+            if (EXIT_COMMAND.equals(response)) {
+                out.write(ui.byeMessage());
+                out.write('\n');
+                break;
+            }
+            out.write(response);
+            out.write('\n');
+            // Flush when the batch is full, or when the writer upstream is waiting for our answers
+            if (++unflushed >= FLUSH_BATCH || !in.ready()) {
+                out.flush();
+                unflushed = 0;
+            }
+        }
+        morpheus.flush();
+        out.flush();
+        return commands;
+    }
+}
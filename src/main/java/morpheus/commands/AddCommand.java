@@ -2,6 +2,7 @@ package morpheus.commands;
 
 import java.util.List;
 
+import morpheus.history.AddOperation;
 import morpheus.tasks.DeadlineTask;
 import morpheus.tasks.EventTask;
 import morpheus.tasks.Task;
@@ -75,20 +76,24 @@ public class AddCommand extends Command {
         }
 
         try {
+            Task task;
             switch (this.type) {
             case TODO:
-                handleTodoTask(taskList);
+                task = createTodoTask();
                 break;
             case DEADLINE:
-                handleDeadlineTask(taskList);
+                task = createDeadlineTask();
                 break;
             case EVENT:
-                handleEventTask(taskList);
+                task = createEventTask();
                 break;
             default:
                 assert this.type.equals(INVALID_TYPE) : "Unexpected type in AddCommand";
                 throw new IllegalArgumentException(INVALID_TYPE_MSG);
             }
+            AddOperation operation = new AddOperation(this.input, task);
+            operation.apply(taskList);
+            record(operation);
             storage.save(taskList);
             return ui.addTaskMessage(taskList);
         } catch (IllegalArgumentException e) {
@@ -98,16 +103,16 @@ public class AddCommand extends Command {
         }
     }
 
-    private void handleTodoTask(List<Task> taskList) {
+    private Task createTodoTask() {
         String task = this.input.substring(TODO.length()).trim();
         assert task != null : "TODO description should not be null";
         if (task.length() < 2) {
             throw new IllegalArgumentException(TODO_DESC_ERROR);
         }
-        taskList.add(new ToDoTask(task));
+        return new ToDoTask(task);
     }
 
-    private void handleDeadlineTask(List<Task> taskList) {
+    private Task createDeadlineTask() {
         String[] deadlineParts = this.input.substring(DEADLINE.length()).trim().split("(?i)/by");
         assert deadlineParts.length >= 2 : "Deadline should include a due date";
         if (deadlineParts.length < 2) {
@@ -115,10 +120,10 @@ public class AddCommand extends Command {
         }
         String deadlineContent = deadlineParts[0].trim();
         CustomDateTime deadlineEndTime = new CustomDateTime(deadlineParts[1].trim());
-        taskList.add(new DeadlineTask(deadlineContent, deadlineEndTime));
+        return new DeadlineTask(deadlineContent, deadlineEndTime);
     }
 
-    private void handleEventTask(List<Task> taskList) {
+    private Task createEventTask() {
         String[] eventParts = this.input.substring(EVENT.length()).trim().split("(?i)/from|/to");
         assert eventParts.length >= 3 : "Event should include a start date and an end date";
         if (eventParts.length < 3) {
@@ -131,6 +136,6 @@ public class AddCommand extends Command {
         if (eventEndTime.compareTo(eventStartTime) < -1) {
             throw new IllegalArgumentException(EVENT_TIME_ERROR);
         }
-        taskList.add(new EventTask(eventContent, eventStartTime, eventEndTime));
+        return new EventTask(eventContent, eventStartTime, eventEndTime);
     }
 }
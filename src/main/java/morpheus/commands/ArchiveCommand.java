@@ -0,0 +1,110 @@
+package morpheus.commands;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import morpheus.history.DeleteOperation;
+import morpheus.history.OperationLog;
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+import morpheus.utils.Storage;
+import morpheus.utils.TaskArchive;
+import morpheus.utils.Ui;
+
+/**
+ * Represents a command that moves old completed tasks out of the task list into the archive.
+ * <p>
+ * This command is triggered by <code>archive [days]</code>. A completed deadline or event is
+ * archived once its end date is more than {@code days} days in the past (by default 30, or
+ * <code>-Dmorpheus.archive.days</code>). Completed todos have no date, so they are always archived.
+ * Archived tasks are no longer loaded or saved with the list; see them with
+ * <code>list archived</code> and <code>find --archived</code>.
+ * </p>
+ *
+ * The archive is append-only, so archiving cannot be undone, and it clears the undo history.
+ * It is not available inside a transaction.
+ */
+public class ArchiveCommand extends Command {
+
+    public static final String COMMAND_WORD = "archive";
+    private static final long DEFAULT_DAYS = Long.getLong("morpheus.archive.days", 30L);
+    private static final String USAGE_MSG =
+            "To archive completed tasks, try: archive [days], e.g. archive 90 for tasks that ended 90 days ago.";
+
+    /**
+     * Creates a new ArchiveCommand.
+     *
+     * @param input the raw user input that triggered this command
+     */
+    public ArchiveCommand(String input) {
+        super(input);
+    }
+
+    @Override
+    public String execute(List<Task> taskList, Storage storage, Ui ui) {
+        TaskArchive archive = storage.getArchive();
+        if (archive == null) {
+            return ui.archiveUnavailableMessage();
+        }
+        long days;
+        try {
+            String argument = input.trim().substring(COMMAND_WORD.length()).trim();
+            days = argument.isEmpty() ? DEFAULT_DAYS : Long.parseLong(argument);
+        } catch (NumberFormatException e) {
+            return USAGE_MSG;
+        }
+        if (days < 0) {
+            return USAGE_MSG;
+        }
+
+        LocalDate cutoff = LocalDate.now().minusDays(days);
+        int[] ids = IntStream.range(0, taskList.size())
+                .filter(i -> isArchivable(taskList.get(i), cutoff))
+                .toArray();
+        if (ids.length == 0) {
+            return ui.archiveMessage(0, days, taskList.size());
+        }
+
+        try {
+            // Archived before they leave the list, so a failure loses nothing
+            archive.append(IntStream.of(ids).mapToObj(taskList::get).toList());
+        } catch (IOException e) {
+            return ui.archiveFailedMessage(e.getMessage());
+        }
+        DeleteOperation removal = new DeleteOperation(input, ids);
+        removal.apply(taskList);
+        // Saved durably at once, whatever the write policy, since the archive already holds the tasks
+        if (!storage.saveAtomically(taskList)) {
+            removal.revert(taskList);
+            return ui.archiveSaveFailedMessage(ids.length);
+        }
+        OperationLog history = getHistory();
+        if (history != null) {
+            history.clear();
+        }
+        return ui.archiveMessage(ids.length, days, taskList.size());
+    }
+
+    /**
+     * Returns whether a task is completed and, if it has dates, ended before {@code cutoff}.
+     *
+     * @param task   the task to check
+     * @param cutoff the first date that is too recent to archive
+     * @return {@code true} if the task should be archived
+     */
+    public static boolean isArchivable(Task task, LocalDate cutoff) {
+        if (!task.isDone()) {
+            return false;
+        }
+        if (task instanceof DeadlineTask) {
+            return ((DeadlineTask) task).getEndDateTime().toLocalDateTime().toLocalDate().isBefore(cutoff);
+        }
+        if (task instanceof EventTask) {
+            return ((EventTask) task).getEndDateTime().toLocalDateTime().toLocalDate().isBefore(cutoff);
+        }
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 
+import morpheus.jfr.ReminderCheckEvent;
 import morpheus.tasks.Task;
 import morpheus.utils.Storage;
 import morpheus.utils.Ui;
@@ -31,6 +32,7 @@ public class CheckRemindersCommand extends Command {
 
     private static final int END_OF_DAY_HOUR = 23;
     private static final int END_OF_DAY_MINUTE = 59;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
 
     /**
      * Creates a new {@code CheckRemindersCommand}.
@@ -41,6 +43,21 @@ public class CheckRemindersCommand extends Command {
         super(input);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns a key made of the timeframe and the current minute, since reminders that
+     * have passed drop out of the response and the timeframes end at midnight.
+     */
+    @Override
+    public String getCacheKey() {
+        long minute = System.currentTimeMillis() / MILLIS_PER_MINUTE;
+        return "reminders " + extractMode(input) + " @" + minute;
+    }
+
     /**
      * Executes the reminders command by filtering tasks that have reminders
      * and returning them in chronological order.
@@ -52,10 +69,7 @@ public class CheckRemindersCommand extends Command {
      */
     @Override
     public String execute(List<Task> taskList, Storage storage, Ui ui) {
-        LocalDate today = LocalDate.now();
-        String mode = extractMode(input);
-
-        TimeFilter filter = resolveFilter(mode, today);
+        TimeFilter filter = resolveFilter(extractMode(input), LocalDate.now());
         if (filter == null) {
             return UNKNOWN_OPTION_MSG;
         }
@@ -65,6 +79,21 @@ public class CheckRemindersCommand extends Command {
         return formatReminders(upcomingReminders, filter.phrase);
     }
 
+    /**
+     * Returns the tasks whose reminders fall within the requested timeframe,
+     * earliest first, without formatting them for display.
+     *
+     * @param taskList the list of tasks to check
+     * @return the matching tasks, or {@code null} if the timeframe is not recognised
+     */
+    public List<Task> findReminders(List<Task> taskList) {
+        TimeFilter filter = resolveFilter(extractMode(input), LocalDate.now());
+        if (filter == null) {
+            return null;
+        }
+        return findUpcomingReminders(taskList, LocalDateTime.now(), filter.cutoff);
+    }
+
     /**
      * Extracts the filter mode (e.g., "today", "tomorrow", "weekly", "all") from the raw input.
      */
@@ -99,11 +128,18 @@ public class CheckRemindersCommand extends Command {
      * and, if provided, before the cutoff.
      */
     private List<Task> findUpcomingReminders(List<Task> taskList, LocalDateTime now, LocalDateTime cutoff) {
-        return taskList.stream()
+        ReminderCheckEvent event = new ReminderCheckEvent();
+        event.begin();
+        List<Task> reminders = taskList.stream()
                 .filter(t -> t.getReminder().isPresent())
                 .filter(t -> isWithinTimeWindow(t, now, cutoff))
                 .sorted(Comparator.comparing(t -> t.getReminder().get().toLocalDateTime()))
                 .toList();
+        if (event.shouldCommit()) {
+            event.set(extractMode(input), taskList.size(), reminders.size());
+            event.commit();
+        }
+        return reminders;
     }
 
     /**
@@ -2,6 +2,8 @@ package morpheus.commands;
 
 import java.util.List;
 
+import morpheus.history.Operation;
+import morpheus.history.OperationLog;
 import morpheus.tasks.Task;
 import morpheus.utils.Storage;
 import morpheus.utils.Ui;
@@ -17,6 +19,7 @@ import morpheus.utils.Ui;
  * <ul>
  *   <li>The raw user input string that triggered it</li>
  *   <li>An exit flag to indicate if the program should terminate after execution</li>
+ *   <li>An optional {@link OperationLog} that records how to undo the command's changes</li>
  * </ul>
  *
  * Subclasses must implement the {@link #execute(List, Storage, Ui)} method
@@ -34,6 +37,12 @@ public abstract class Command {
      */
     private boolean isExit = false;
 
+    /**
+     * The log that mutating commands record their {@link Operation}s into.
+     * May be {@code null}, in which case changes are simply not undoable.
+     */
+    private OperationLog history;
+
     /**
      * Constructs a new {@code Command}.
      *
@@ -52,6 +61,35 @@ public abstract class Command {
      */
     public abstract String execute(List<Task> taskList, Storage storage, Ui ui);
 
+    /**
+     * Supplies the operation log that this command should record its changes into.
+     *
+     * @param history the operation log, or {@code null} to disable undo for this command
+     */
+    public void setHistory(OperationLog history) {
+        this.history = history;
+    }
+
+    /**
+     * Returns the operation log supplied to this command, if any.
+     *
+     * @return the operation log, or {@code null} if none was supplied
+     */
+    protected OperationLog getHistory() {
+        return history;
+    }
+
+    /**
+     * Records an applied operation so that it can later be undone.
+     *
+     * @param operation the operation that has just been applied
+     */
+    protected void record(Operation operation) {
+        if (history != null) {
+            history.record(operation);
+        }
+    }
+
     /**
      * Marks this command as an exit command.
      */
@@ -59,6 +97,33 @@ public abstract class Command {
         this.isExit = shouldExit;
     }
 
+    /**
+     * Returns whether this command only reads the task list.
+     * <p>
+     * Read-only commands may be run concurrently with each other and optimistically
+     * alongside writers, so they must never modify tasks, the list, or storage.
+     * </p>
+     *
+     * @return {@code true} if this command never modifies the task list, {@code false} otherwise
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns a key under which this command's response may be cached until the task list changes.
+     * <p>
+     * Two commands with the same key must produce the same response from the same tasks.
+     * Commands whose response also depends on the current time should include a time
+     * bucket in their key.
+     * </p>
+     *
+     * @return the cache key, or {@code null} if the response must not be cached
+     */
+    public String getCacheKey() {
+        return isReadOnly() ? input.trim() : null;
+    }
+
     /**
      * Returns whether this command causes the program to terminate.
      *
@@ -2,12 +2,20 @@ package morpheus.commands;
 
 import java.util.List;
 
+import morpheus.history.DeleteOperation;
 import morpheus.tasks.Task;
+import morpheus.utils.IndexSelection;
 import morpheus.utils.Storage;
 import morpheus.utils.Ui;
 
 /**
- * Represents a command that deletes a task from the task list.
+ * Represents a command that deletes one or more tasks from the task list.
+ * <p>
+ * Tasks may be selected individually or in bulk, e.g. <code>delete 2</code> or
+ * <code>delete 3,7,10-250</code>. Bulk deletions are applied in a single
+ * compaction pass over the list rather than one shifting removal per task,
+ * and the list is saved once.
+ * </p>
  */
 public class DeleteCommand extends Command {
 
@@ -15,7 +23,7 @@ public class DeleteCommand extends Command {
     private static final String INVALID_INDEX_MSG =
             "I couldn't find that task number. Try 'list' to see what's available, then pick a number from there.";
     private static final String MISSING_NUMBER_MSG =
-            "It seems I couldn't spot a task number after 'delete'. You can try something like: delete 2";
+            "It seems I couldn't spot a task number after 'delete'. You can try something like: delete 2 or delete 1-3";
 
     /**
      * Creates a new DeleteCommand.
@@ -27,16 +35,18 @@ public class DeleteCommand extends Command {
     }
 
     /**
-     * Executes the delete command by removing the specified task
+     * Executes the delete command by removing every selected task
      * from the task list.
      */
     @Override
     public String execute(List<Task> taskList, Storage storage, Ui ui) {
         try {
-            int id = parseTaskIndex();
-            Task task = taskList.remove(id);
+            int[] ids = parseTaskIndices(taskList.size());
+            DeleteOperation operation = new DeleteOperation(input, ids);
+            operation.apply(taskList);
+            record(operation);
             storage.save(taskList);
-            return ui.deleteTaskMessage(task.toString(), taskList);
+            return ui.deleteTaskMessage(operation.getRemovedTasks(), taskList);
         } catch (IndexOutOfBoundsException e) {
             return INVALID_INDEX_MSG;
         } catch (NumberFormatException e) {
@@ -44,8 +54,8 @@ public class DeleteCommand extends Command {
         }
     }
 
-    private int parseTaskIndex() {
-        String numberPart = input.substring(COMMAND_WORD.length()).trim();
-        return Integer.parseInt(numberPart) - 1; // zero-based index
+    private int[] parseTaskIndices(int taskCount) {
+        String numberPart = input.trim().substring(COMMAND_WORD.length());
+        return IndexSelection.parse(numberPart, taskCount); // zero-based indices
     }
 }
@@ -1,18 +1,24 @@
 package morpheus.commands;
 
+import java.io.IOException;
 import java.util.List;
 
 import morpheus.tasks.Task;
 import morpheus.utils.Storage;
+import morpheus.utils.TaskArchive;
 import morpheus.utils.Ui;
 
 /**
  * Represents a command that searches for tasks containing a given keyword
  * in their description.
+ * <p>
+ * <code>find --archived &lt;keyword&gt;</code> searches the archive instead of the task list.
+ * </p>
  */
 public class FindCommand extends Command {
 
     private static final String COMMAND_WORD = "find";
+    private static final String ARCHIVED_FLAG = "--archived";
     private static final String EMPTY_KEYWORD_MSG =
             "It seems like you did not finish your find request. Could you please try again?";
 
@@ -20,9 +26,25 @@ public class FindCommand extends Command {
         super(input);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns a key that ignores the keyword's case, since the search does too.
+     */
+    @Override
+    public String getCacheKey() {
+        return COMMAND_WORD + " " + parseTargetKeyword().toLowerCase();
+    }
+
     @Override
     public String execute(List<Task> taskList, Storage storage, Ui ui) {
         String target = parseTargetKeyword();
+        if (target.toLowerCase().startsWith(ARCHIVED_FLAG)) {
+            return findArchived(target.substring(ARCHIVED_FLAG.length()).trim(), storage, ui);
+        }
         if (target.isEmpty()) {
             return EMPTY_KEYWORD_MSG;
         }
@@ -31,11 +53,33 @@ public class FindCommand extends Command {
         return ui.findMessage(filteredTasks);
     }
 
+    private static String findArchived(String target, Storage storage, Ui ui) {
+        if (target.isEmpty()) {
+            return EMPTY_KEYWORD_MSG;
+        }
+        TaskArchive archive = storage.getArchive();
+        if (archive == null) {
+            return ui.archiveUnavailableMessage();
+        }
+        try {
+            return ui.findArchivedMessage(archive.find(target));
+        } catch (IOException e) {
+            return ui.archiveFailedMessage(e.getMessage());
+        }
+    }
+
     private String parseTargetKeyword() {
         return this.input.substring(COMMAND_WORD.length()).trim();
     }
 
-    private List<Task> filterTasks(List<Task> taskList, String target) {
+    /**
+     * Returns copies of the tasks whose description contains {@code target}, ignoring case.
+     *
+     * @param taskList the tasks to search
+     * @param target   the keyword to look for
+     * @return the matching tasks, in list order
+     */
+    public static List<Task> filterTasks(List<Task> taskList, String target) {
         return taskList.stream()
                 .map(Task::copy)
                 .filter(task -> task.getDescription().toLowerCase().contains(target.toLowerCase()))
@@ -1,16 +1,21 @@
 package morpheus.commands;
 
+import java.io.IOException;
 import java.util.List;
 
 import morpheus.tasks.Task;
 import morpheus.utils.Storage;
+import morpheus.utils.TaskArchive;
 import morpheus.utils.Ui;
 
 /**
  * Represents a command that lists all tasks in the current task list.
  * <p>
  * This command is triggered when the user enters the keyword:
- * <code>list</code>.
+ * <code>list</code>. Long lists can be viewed a page at a time with
+ * <code>list page &lt;number&gt; [tasks per page]</code>. Archived tasks are listed with
+ * <code>list archived [page &lt;number&gt; [tasks per page]]</code>, which reads only the
+ * requested page from the archive.
  * </p>
  *
  * The list includes details for each task such as:
@@ -25,6 +30,9 @@ import morpheus.utils.Ui;
 public class ListCommand extends Command {
 
     public static final String COMMAND_WORD = "list";
+    public static final String PAGE_KEYWORD = "page";
+    public static final String ARCHIVED_KEYWORD = "archived";
+    public static final int DEFAULT_PAGE_SIZE = 20;
 
     /**
      * Creates a new ListCommand.
@@ -35,6 +43,11 @@ public class ListCommand extends Command {
         super(input);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     /**
      * Executes the list command.
      * Delegates to the {@link Ui} to generate a formatted view of all tasks.
@@ -46,6 +59,57 @@ public class ListCommand extends Command {
      */
     @Override
     public String execute(List<Task> taskList, Storage storage, Ui ui) {
-        return ui.listMessage(taskList);
+        String[] args = input.trim().split("\\s+");
+        if (args.length == 1) {
+            return ui.listMessage(taskList);
+        }
+        if (ARCHIVED_KEYWORD.equalsIgnoreCase(args[1])) {
+            return listArchived(args, storage, ui);
+        }
+
+        // list page <n> [size]
+        if (args.length > 4 || !PAGE_KEYWORD.equalsIgnoreCase(args[1])) {
+            return ui.listPageUsageMessage();
+        }
+        try {
+            int page = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            int pageSize = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_PAGE_SIZE;
+            if (page < 1 || pageSize < 1) {
+                return ui.listPageUsageMessage();
+            }
+            return ui.listPageMessage(taskList, page, pageSize);
+        } catch (NumberFormatException e) {
+            return ui.listPageUsageMessage();
+        }
+    }
+
+    /**
+     * Shows one page of the archive: <code>list archived [page &lt;n&gt; [size]]</code>.
+     */
+    private String listArchived(String[] args, Storage storage, Ui ui) {
+        TaskArchive archive = storage.getArchive();
+        if (archive == null) {
+            return ui.archiveUnavailableMessage();
+        }
+        if (args.length > 5 || args.length > 2 && !PAGE_KEYWORD.equalsIgnoreCase(args[2])) {
+            return ui.listPageUsageMessage();
+        }
+        try {
+            int page = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+            int pageSize = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_PAGE_SIZE;
+            if (page < 1 || pageSize < 1) {
+                return ui.listPageUsageMessage();
+            }
+            int total = archive.size();
+            long from = (long) (page - 1) * pageSize;
+            List<Task> tasks = from < total
+                    ? archive.read((int) from, (int) Math.min(from + pageSize, total))
+                    : List.of();
+            return ui.archivedPageMessage(tasks, page, pageSize, total);
+        } catch (NumberFormatException e) {
+            return ui.listPageUsageMessage();
+        } catch (IOException e) {
+            return ui.archiveFailedMessage(e.getMessage());
+        }
     }
 }
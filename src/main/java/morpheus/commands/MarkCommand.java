@@ -1,13 +1,21 @@
 package morpheus.commands;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import morpheus.history.StatusOperation;
 import morpheus.tasks.Task;
+import morpheus.utils.IndexSelection;
 import morpheus.utils.Storage;
 import morpheus.utils.Ui;
 
 /**
- * Represents a command that marks a task as completed.
+ * Represents a command that marks one or more tasks as completed.
+ * <p>
+ * Tasks may be selected individually or in bulk, e.g. <code>mark 2</code>,
+ * <code>mark 1,4</code> or <code>mark 1-500</code>. The whole selection is
+ * validated before any task changes, and the list is saved once.
+ * </p>
  */
 public class MarkCommand extends Command {
 
@@ -15,7 +23,7 @@ public class MarkCommand extends Command {
     private static final String INVALID_INDEX_MSG =
             "I couldn't find that task number. Try 'list' to see what's available, then pick a number from there.";
     private static final String MISSING_NUMBER_MSG =
-            "It seems I couldn't spot a task number after 'mark'. You can try something like: mark 2";
+            "It seems I couldn't spot a task number after 'mark'. You can try something like: mark 2 or mark 1-3";
 
     /**
      * Creates a new MarkCommand.
@@ -28,16 +36,21 @@ public class MarkCommand extends Command {
 
     /**
      * Executes the mark command by updating the completion status of
-     * the specified task in the task list to "done".
+     * every selected task in the task list to "done".
      */
     @Override
     public String execute(List<Task> taskList, Storage storage, Ui ui) {
         try {
-            int id = parseTaskIndex();
-            Task task = taskList.get(id);
-            task.mark();
+            int[] ids = parseTaskIndices(taskList.size());
+            List<Task> affected = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                affected.add(taskList.get(id));
+            }
+            StatusOperation operation = new StatusOperation(input, ids, taskList, true);
+            operation.apply(taskList);
+            record(operation);
             storage.save(taskList);
-            return ui.markMessage(task.toString());
+            return ui.markMessage(affected);
         } catch (IndexOutOfBoundsException e) {
             return INVALID_INDEX_MSG;
         } catch (NumberFormatException e) {
@@ -45,8 +58,8 @@ public class MarkCommand extends Command {
         }
     }
 
-    private int parseTaskIndex() {
-        String numberPart = input.substring(COMMAND_WORD.length()).trim();
-        return Integer.parseInt(numberPart) - 1; // zero-based index
+    private int[] parseTaskIndices(int taskCount) {
+        String numberPart = input.trim().substring(COMMAND_WORD.length());
+        return IndexSelection.parse(numberPart, taskCount); // zero-based indices
     }
 }
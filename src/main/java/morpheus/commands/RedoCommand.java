@@ -0,0 +1,52 @@
+package morpheus.commands;
+
+import java.util.List;
+
+import morpheus.history.Operation;
+import morpheus.history.OperationLog;
+import morpheus.tasks.Task;
+import morpheus.utils.Storage;
+import morpheus.utils.Ui;
+
+/**
+ * Represents a command that re-applies the most recently undone change.
+ * <p>
+ * This command is triggered when the user enters the keyword:
+ * <code>redo</code>.
+ * </p>
+ *
+ * Any new change made after an <code>undo</code> clears what can be redone.
+ */
+public class RedoCommand extends Command {
+
+    private static final String NOTHING_TO_REDO_MSG =
+            "There's nothing to redo. You're already at the latest version of reality.";
+
+    /**
+     * Creates a new RedoCommand.
+     *
+     * @param input the raw user input that triggered this command
+     */
+    public RedoCommand(String input) {
+        super(input);
+    }
+
+    /**
+     * Executes the redo command by re-applying the most recently undone operation.
+     *
+     * @param taskList the list of tasks to update
+     * @param storage  the storage handler used to persist the updated list
+     * @param ui       the user interface handler responsible for the confirmation message
+     * @return a confirmation message, or a hint if there is nothing to redo
+     */
+    @Override
+    public String execute(List<Task> taskList, Storage storage, Ui ui) {
+        OperationLog history = getHistory();
+        Operation operation = history == null ? null : history.redo(taskList);
+        if (operation == null) {
+            return NOTHING_TO_REDO_MSG;
+        }
+        storage.save(taskList);
+        return ui.redoMessage(operation.getDescription());
+    }
+}
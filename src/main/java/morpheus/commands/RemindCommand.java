@@ -1,22 +1,26 @@
 package morpheus.commands;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import morpheus.history.ReminderOperation;
 import morpheus.tasks.Task;
 import morpheus.utils.CustomDateTime;
+import morpheus.utils.IndexSelection;
 import morpheus.utils.Storage;
 import morpheus.utils.Ui;
 
 /**
- * Represents a command that sets a reminder on an existing task.
+ * Represents a command that sets a reminder on one or more existing tasks.
  * <p>
  * Usage:
  * <pre>
- *     remind &lt;taskNumber&gt; &lt;date/time&gt;
+ *     remind &lt;taskNumbers&gt; &lt;date/time&gt;
  * </pre>
- * Example:
+ * Examples:
  * <pre>
  *     remind 2 12 Sep 2025, 3:00 PM
+ *     remind 1,4,7-9 12 Sep 2025, 3:00 PM
  * </pre>
  * </p>
  * A reminder is stored with the task and will be shown when checking reminders.
@@ -24,7 +28,7 @@ import morpheus.utils.Ui;
 public class RemindCommand extends Command {
 
     private static final String USAGE_MESSAGE =
-            "Usage: remind <taskNumber> <date/time>";
+            "Usage: remind <taskNumber(s)> <date/time>";
 
     /**
      * Creates a new {@code RemindCommand}.
@@ -36,7 +40,7 @@ public class RemindCommand extends Command {
     }
 
     /**
-     * Executes the remind command by setting a reminder on the specified task.
+     * Executes the remind command by setting a reminder on every selected task.
      * <p>
      * If the input is invalid (missing task number, invalid index, or invalid date/time),
      * a usage message will be returned instead.
@@ -55,8 +59,8 @@ public class RemindCommand extends Command {
             return USAGE_MESSAGE;
         }
 
-        Integer index = parseIndex(parts[1], taskList.size());
-        if (index == null) {
+        int[] indices = parseIndices(parts[1], taskList.size());
+        if (indices == null) {
             return USAGE_MESSAGE;
         }
 
@@ -67,28 +71,29 @@ public class RemindCommand extends Command {
             return USAGE_MESSAGE;
         }
 
-        Task task = taskList.get(index);
-        task.setReminder(reminderTime);
+        List<Task> affected = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            affected.add(taskList.get(index));
+        }
+        ReminderOperation operation = new ReminderOperation(input, indices, taskList, reminderTime);
+        operation.apply(taskList);
+        record(operation);
 
         storage.save(taskList);
-        return ui.reminderMessage(task.toString());
+        return ui.reminderMessage(affected);
     }
 
     /**
-     * Parses and validates the task index from the user input.
+     * Parses and validates the task selection from the user input.
      *
-     * @param indexStr  the raw index string from input
+     * @param selection the raw selection string from input, e.g. <code>1,4-6</code>
      * @param taskCount the total number of tasks
-     * @return the zero-based task index if valid, or {@code null} if invalid
+     * @return the sorted zero-based task indices if valid, or {@code null} if invalid
      */
-    private Integer parseIndex(String indexStr, int taskCount) {
+    private int[] parseIndices(String selection, int taskCount) {
         try {
-            int idx = Integer.parseInt(indexStr) - 1; // convert to zero-based index
-            if (idx < 0 || idx >= taskCount) {
-                return null;
-            }
-            return idx;
-        } catch (NumberFormatException e) {
+            return IndexSelection.parse(selection, taskCount);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
             return null;
         }
     }
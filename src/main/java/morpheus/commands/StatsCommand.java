@@ -0,0 +1,41 @@
+package morpheus.commands;
+
+import java.util.List;
+
+import morpheus.tasks.Task;
+import morpheus.utils.Metrics;
+import morpheus.utils.Storage;
+import morpheus.utils.Ui;
+
+/**
+ * Represents a command that reports how long each type of command has taken, and how
+ * much has been read from and written to the save file.
+ * <p>
+ * This command is triggered when the user enters the keyword <code>stats</code>.
+ * See {@link Metrics} for what is measured.
+ * </p>
+ */
+public class StatsCommand extends Command {
+
+    public StatsCommand(String input) {
+        super(input);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Returns {@code null}, since the statistics change without the task list changing.
+     */
+    @Override
+    public String getCacheKey() {
+        return null;
+    }
+
+    @Override
+    public String execute(List<Task> taskList, Storage storage, Ui ui) {
+        return storage.getMetrics().report();
+    }
+}
@@ -0,0 +1,53 @@
+package morpheus.commands;
+
+import java.util.List;
+
+import morpheus.history.Operation;
+import morpheus.history.OperationLog;
+import morpheus.tasks.Task;
+import morpheus.utils.Storage;
+import morpheus.utils.Ui;
+
+/**
+ * Represents a command that reverts the most recent change to the task list.
+ * <p>
+ * This command is triggered when the user enters the keyword:
+ * <code>undo</code>.
+ * </p>
+ *
+ * Only the change itself is reverted, using the {@link OperationLog} supplied
+ * by {@link morpheus.Morpheus}; the task list is then saved once.
+ */
+public class UndoCommand extends Command {
+
+    private static final String NOTHING_TO_UNDO_MSG =
+            "There's nothing left to undo. This is as far back as the Matrix goes.";
+
+    /**
+     * Creates a new UndoCommand.
+     *
+     * @param input the raw user input that triggered this command
+     */
+    public UndoCommand(String input) {
+        super(input);
+    }
+
+    /**
+     * Executes the undo command by reverting the most recently recorded operation.
+     *
+     * @param taskList the list of tasks to restore
+     * @param storage  the storage handler used to persist the restored list
+     * @param ui       the user interface handler responsible for the confirmation message
+     * @return a confirmation message, or a hint if there is nothing to undo
+     */
+    @Override
+    public String execute(List<Task> taskList, Storage storage, Ui ui) {
+        OperationLog history = getHistory();
+        Operation operation = history == null ? null : history.undo(taskList);
+        if (operation == null) {
+            return NOTHING_TO_UNDO_MSG;
+        }
+        storage.save(taskList);
+        return ui.undoMessage(operation.getDescription());
+    }
+}
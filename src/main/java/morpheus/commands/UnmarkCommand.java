@@ -1,13 +1,21 @@
 package morpheus.commands;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import morpheus.history.StatusOperation;
 import morpheus.tasks.Task;
+import morpheus.utils.IndexSelection;
 import morpheus.utils.Storage;
 import morpheus.utils.Ui;
 
 /**
- * Represents a command that marks a task as not completed.
+ * Represents a command that marks one or more tasks as not completed.
+ * <p>
+ * Tasks may be selected individually or in bulk, e.g. <code>unmark 2</code>,
+ * <code>unmark 1,4</code> or <code>unmark 1-500</code>. The whole selection is
+ * validated before any task changes, and the list is saved once.
+ * </p>
  */
 public class UnmarkCommand extends Command {
 
@@ -15,7 +23,7 @@ public class UnmarkCommand extends Command {
     private static final String INVALID_INDEX_MSG =
             "I couldn't find that task number. Try 'list' to see what's available, then pick a number from there.";
     private static final String MISSING_NUMBER_MSG =
-            "It seems I couldn't spot a task number after 'unmark'. You can try something like: unmark 2";
+            "It seems I couldn't spot a task number after 'unmark'. You can try something like: unmark 2 or unmark 1-3";
 
     /**
      * Creates a new UnmarkCommand.
@@ -28,16 +36,21 @@ public class UnmarkCommand extends Command {
 
     /**
      * Executes the unmark command by updating the completion status of
-     * the specified task in the task list to "not done".
+     * every selected task in the task list to "not done".
      */
     @Override
     public String execute(List<Task> taskList, Storage storage, Ui ui) {
         try {
-            int id = parseTaskIndex();
-            Task task = taskList.get(id);
-            task.unmark();
+            int[] ids = parseTaskIndices(taskList.size());
+            List<Task> affected = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                affected.add(taskList.get(id));
+            }
+            StatusOperation operation = new StatusOperation(input, ids, taskList, false);
+            operation.apply(taskList);
+            record(operation);
             storage.save(taskList);
-            return ui.unmarkMessage(task.toString());
+            return ui.unmarkMessage(affected);
         } catch (IndexOutOfBoundsException e) {
             return INVALID_INDEX_MSG;
         } catch (NumberFormatException e) {
@@ -45,8 +58,8 @@ public class UnmarkCommand extends Command {
         }
     }
 
-    private int parseTaskIndex() {
-        String numberPart = input.substring(COMMAND_WORD.length()).trim();
-        return Integer.parseInt(numberPart) - 1; // zero-based index
+    private int[] parseTaskIndices(int taskCount) {
+        String numberPart = input.trim().substring(COMMAND_WORD.length());
+        return IndexSelection.parse(numberPart, taskCount); // zero-based indices
     }
 }
@@ -0,0 +1,38 @@
+package morpheus.history;
+
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * Records a task being appended to the end of the task list.
+ */
+public class AddOperation extends Operation {
+    private final Task task;
+
+    /**
+     * Constructs a new {@code AddOperation}.
+     *
+     * @param description the raw user input that added the task
+     * @param task        the task that is appended
+     */
+    public AddOperation(String description, Task task) {
+        super(description);
+        this.task = task;
+    }
+
+    @Override
+    public void apply(List<Task> taskList) {
+        taskList.add(task);
+    }
+
+    @Override
+    public void revert(List<Task> taskList) {
+        taskList.remove(taskList.size() - 1);
+    }
+
+    @Override
+    public int size() {
+        return 1;
+    }
+}
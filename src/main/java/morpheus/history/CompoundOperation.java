@@ -0,0 +1,45 @@
+package morpheus.history;
+
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * Groups several operations, such as the changes made inside a committed
+ * transaction, so that they are undone and redone together.
+ */
+public class CompoundOperation extends Operation {
+    private final List<Operation> operations;
+    private final int size;
+
+    /**
+     * Constructs a new {@code CompoundOperation}.
+     *
+     * @param description a description of the grouped change
+     * @param operations  the grouped operations, in the order they were applied
+     */
+    public CompoundOperation(String description, List<Operation> operations) {
+        super(description);
+        this.operations = List.copyOf(operations);
+        this.size = this.operations.stream().mapToInt(Operation::size).sum();
+    }
+
+    @Override
+    public void apply(List<Task> taskList) {
+        for (Operation operation : operations) {
+            operation.apply(taskList);
+        }
+    }
+
+    @Override
+    public void revert(List<Task> taskList) {
+        for (int i = operations.size() - 1; i >= 0; i--) {
+            operations.get(i).revert(taskList);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
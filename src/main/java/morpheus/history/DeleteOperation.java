@@ -0,0 +1,81 @@
+package morpheus.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * Records one or more tasks being removed from the task list.
+ * <p>
+ * Both directions run as a single pass over the list: removal slides the
+ * surviving tasks left over the gaps and truncates the tail once, and
+ * restoring grows the list once and slides tasks right to reopen the gaps.
+ * </p>
+ */
+public class DeleteOperation extends Operation {
+    private final int[] indices;
+    private List<Task> removed = List.of();
+
+    /**
+     * Constructs a new {@code DeleteOperation}.
+     *
+     * @param description the raw user input that deleted the tasks
+     * @param indices     the zero-based indices to remove, sorted ascending without duplicates
+     */
+    public DeleteOperation(String description, int[] indices) {
+        super(description);
+        assert indices.length > 0 : "Delete should remove at least one task";
+        this.indices = indices;
+    }
+
+    @Override
+    public void apply(List<Task> taskList) {
+        List<Task> removedTasks = new ArrayList<>(indices.length);
+        int size = taskList.size();
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            Task task = taskList.get(read);
+            if (next < indices.length && indices[next] == read) {
+                removedTasks.add(task);
+                next++;
+            } else {
+                taskList.set(write++, task);
+            }
+        }
+        taskList.subList(write, size).clear();
+        this.removed = removedTasks;
+    }
+
+    @Override
+    public void revert(List<Task> taskList) {
+        int read = taskList.size() - 1;
+        for (int i = 0; i < indices.length; i++) {
+            taskList.add(null);
+        }
+        int write = taskList.size() - 1;
+        int next = indices.length - 1;
+        while (next >= 0) {
+            if (write == indices[next]) {
+                taskList.set(write--, removed.get(next--));
+            } else {
+                taskList.set(write--, taskList.get(read--));
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return indices.length;
+    }
+
+    /**
+     * Returns the tasks removed by the most recent {@link #apply(List)}, in list order.
+     *
+     * @return the removed tasks
+     */
+    public List<Task> getRemovedTasks() {
+        return removed;
+    }
+}
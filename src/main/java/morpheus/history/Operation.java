@@ -0,0 +1,66 @@
+package morpheus.history;
+
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * Represents a single reversible change to the task list.
+ * <p>
+ * Instead of snapshotting the whole list before every command, each mutating
+ * command records an {@code Operation} describing only what it changed. The
+ * operation can then be reverted (undo) and re-applied (redo) in time
+ * proportional to the change itself.
+ * </p>
+ *
+ * Operations assume they are applied and reverted in strict log order, so the
+ * task list is always in the same state it was in when the operation was first
+ * applied.
+ *
+ * @author Aayush
+ */
+public abstract class Operation {
+    /** The raw user input that produced this operation, used in undo/redo messages. */
+    private final String description;
+
+    /**
+     * Constructs a new {@code Operation}.
+     *
+     * @param description the raw user input that produced this operation
+     */
+    protected Operation(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Applies this operation to the task list. Used both for the original
+     * change and for redo.
+     *
+     * @param taskList the task list to modify
+     */
+    public abstract void apply(List<Task> taskList);
+
+    /**
+     * Reverts this operation, restoring the task list to its previous state.
+     *
+     * @param taskList the task list to modify
+     */
+    public abstract void revert(List<Task> taskList);
+
+    /**
+     * Returns the number of tasks this operation holds on to, used to keep
+     * the {@link OperationLog} within its memory limit.
+     *
+     * @return the number of tasks referenced by this operation
+     */
+    public abstract int size();
+
+    /**
+     * Returns the raw user input that produced this operation.
+     *
+     * @return the operation description
+     */
+    public String getDescription() {
+        return description;
+    }
+}
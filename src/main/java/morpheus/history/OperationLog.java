@@ -0,0 +1,118 @@
+package morpheus.history;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * An in-memory log of reversible {@link Operation}s backing the
+ * <code>undo</code> and <code>redo</code> commands.
+ * <p>
+ * The log is bounded by the total number of tasks its operations refer to,
+ * rather than by the number of commands, so a single <code>delete 1-100000</code>
+ * is accounted for fairly. When the limit is exceeded, the oldest undo entries
+ * are forgotten first.
+ * </p>
+ *
+ * @author Aayush
+ */
+public class OperationLog {
+    private final Deque<Operation> undoStack = new ArrayDeque<>();
+    private final Deque<Operation> redoStack = new ArrayDeque<>();
+    private final long capacity;
+    private long size;
+
+    /**
+     * Constructs a new {@code OperationLog}.
+     *
+     * @param capacity the maximum total number of tasks referenced by logged operations
+     */
+    public OperationLog(long capacity) {
+        assert capacity >= 0 : "Capacity should not be negative";
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records an operation that has just been applied. Any operations that
+     * could previously be redone are discarded.
+     *
+     * @param operation the applied operation
+     */
+    public void record(Operation operation) {
+        for (Operation discarded : redoStack) {
+            size -= discarded.size();
+        }
+        redoStack.clear();
+        undoStack.addLast(operation);
+        size += operation.size();
+        evict();
+    }
+
+    /**
+     * Reverts the most recent operation and makes it available to {@link #redo(List)}.
+     *
+     * @param taskList the task list to modify
+     * @return the reverted operation, or {@code null} if there is nothing to undo
+     */
+    public Operation undo(List<Task> taskList) {
+        Operation operation = undoStack.pollLast();
+        if (operation == null) {
+            return null;
+        }
+        operation.revert(taskList);
+        redoStack.addLast(operation);
+        return operation;
+    }
+
+    /**
+     * Re-applies the most recently undone operation.
+     *
+     * @param taskList the task list to modify
+     * @return the re-applied operation, or {@code null} if there is nothing to redo
+     */
+    public Operation redo(List<Task> taskList) {
+        Operation operation = redoStack.pollLast();
+        if (operation == null) {
+            return null;
+        }
+        operation.apply(taskList);
+        undoStack.addLast(operation);
+        return operation;
+    }
+
+    /**
+     * Forgets every operation, e.g. after a change that cannot be undone, which would leave
+     * earlier operations pointing at the wrong tasks.
+     */
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the operations that can currently be undone, oldest first.
+     *
+     * @return the applied operations in the order they were recorded
+     */
+    public List<Operation> getOperations() {
+        return List.copyOf(undoStack);
+    }
+
+    /**
+     * Returns the total number of tasks referenced by logged operations.
+     *
+     * @return the current log size
+     */
+    public long size() {
+        return size;
+    }
+
+    private void evict() {
+        while (size > capacity && !undoStack.isEmpty()) {
+            size -= undoStack.pollFirst().size();
+        }
+    }
+}
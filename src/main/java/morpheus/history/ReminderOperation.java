@@ -0,0 +1,56 @@
+package morpheus.history;
+
+import java.util.List;
+
+import morpheus.tasks.Task;
+import morpheus.utils.CustomDateTime;
+
+/**
+ * Records a reminder being set on one or more tasks.
+ * <p>
+ * Tasks are referred to by position rather than by reference, so the operation
+ * stays valid when the list is rebuilt from copies, e.g. by a committed transaction.
+ * </p>
+ */
+public class ReminderOperation extends Operation {
+    private final int[] indices;
+    private final CustomDateTime[] previous;
+    private final CustomDateTime reminder;
+
+    /**
+     * Constructs a new {@code ReminderOperation}, capturing each selected task's current reminder.
+     *
+     * @param description the raw user input that set the reminder
+     * @param indices     the zero-based indices of the affected tasks
+     * @param taskList    the task list the indices refer to
+     * @param reminder    the new reminder
+     */
+    public ReminderOperation(String description, int[] indices, List<Task> taskList, CustomDateTime reminder) {
+        super(description);
+        this.indices = indices;
+        this.reminder = reminder;
+        this.previous = new CustomDateTime[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            previous[i] = taskList.get(indices[i]).getReminder().orElse(null);
+        }
+    }
+
+    @Override
+    public void apply(List<Task> taskList) {
+        for (int index : indices) {
+            taskList.get(index).setReminder(reminder);
+        }
+    }
+
+    @Override
+    public void revert(List<Task> taskList) {
+        for (int i = 0; i < indices.length; i++) {
+            taskList.get(indices[i]).setReminder(previous[i]);
+        }
+    }
+
+    @Override
+    public int size() {
+        return indices.length;
+    }
+}
@@ -0,0 +1,63 @@
+package morpheus.history;
+
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * Records the completion status of one or more tasks being changed.
+ * <p>
+ * Tasks are referred to by position rather than by reference, so the operation
+ * stays valid when the list is rebuilt from copies, e.g. by a committed transaction.
+ * </p>
+ */
+public class StatusOperation extends Operation {
+    private final int[] indices;
+    private final boolean[] previous;
+    private final boolean isDone;
+
+    /**
+     * Constructs a new {@code StatusOperation}, capturing each selected task's current status.
+     *
+     * @param description the raw user input that changed the status
+     * @param indices     the zero-based indices of the affected tasks
+     * @param taskList    the task list the indices refer to
+     * @param isDone      the new completion status
+     */
+    public StatusOperation(String description, int[] indices, List<Task> taskList, boolean isDone) {
+        super(description);
+        this.indices = indices;
+        this.isDone = isDone;
+        this.previous = new boolean[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            previous[i] = taskList.get(indices[i]).isDone();
+        }
+    }
+
+    @Override
+    public void apply(List<Task> taskList) {
+        for (int index : indices) {
+            setStatus(taskList.get(index), isDone);
+        }
+    }
+
+    @Override
+    public void revert(List<Task> taskList) {
+        for (int i = 0; i < indices.length; i++) {
+            setStatus(taskList.get(indices[i]), previous[i]);
+        }
+    }
+
+    private static void setStatus(Task task, boolean isDone) {
+        if (isDone) {
+            task.mark();
+        } else {
+            task.unmark();
+        }
+    }
+
+    @Override
+    public int size() {
+        return indices.length;
+    }
+}
@@ -0,0 +1,46 @@
+package morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event covering the execution of one command, including waiting for the lock
+ * and saving the task list.
+ *
+ * @author Aayush
+ */
+@Name("morpheus.CommandExecute")
+@Label("Command Execute")
+@Category({"Morpheus", "Commands"})
+@Description("Execution of one command, including waiting for the lock and saving")
+@Enabled(false)
+@StackTrace(false)
+public class CommandExecuteEvent extends Event {
+    @Label("Command")
+    private String command;
+
+    @Label("Read Only")
+    private boolean readOnly;
+
+    @Label("Task Count")
+    @Description("The number of tasks in the list after the command ran")
+    private int taskCount;
+
+    /**
+     * Fills in the event's fields.
+     *
+     * @param command   the command type, e.g. "list"
+     * @param readOnly  whether the command ran without the write lock
+     * @param taskCount the number of tasks after the command ran
+     */
+    public void set(String command, boolean readOnly, int taskCount) {
+        this.command = command;
+        this.readOnly = readOnly;
+        this.taskCount = taskCount;
+    }
+}
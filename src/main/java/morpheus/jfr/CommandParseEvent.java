@@ -0,0 +1,44 @@
+package morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event covering the parsing of one line of input into a command.
+ * <p>
+ * Like every Morpheus event it is disabled unless enabled by a settings profile,
+ * such as <code>config/jfr/morpheus.jfc</code>.
+ * </p>
+ *
+ * @author Aayush
+ */
+@Name("morpheus.CommandParse")
+@Label("Command Parse")
+@Category({"Morpheus", "Commands"})
+@Description("Parsing of one line of input into a command")
+@Enabled(false)
+@StackTrace(false)
+public class CommandParseEvent extends Event {
+    @Label("Command")
+    @Description("The command type, or (invalid) if the input was not recognised")
+    private String command;
+
+    @Label("Input Length")
+    private int inputLength;
+
+    /**
+     * Fills in the event's fields.
+     *
+     * @param command     the command type, e.g. "list"
+     * @param inputLength the length of the raw input
+     */
+    public void set(String command, int inputLength) {
+        this.command = command;
+        this.inputLength = inputLength;
+    }
+}
@@ -0,0 +1,45 @@
+package morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event covering one scan of the task list for upcoming reminders.
+ *
+ * @author Aayush
+ */
+@Name("morpheus.ReminderCheck")
+@Label("Reminder Check")
+@Category({"Morpheus", "Commands"})
+@Description("Scanning the task list for upcoming reminders")
+@Enabled(false)
+@StackTrace(false)
+public class ReminderCheckEvent extends Event {
+    @Label("Mode")
+    @Description("The timeframe, e.g. today or weekly")
+    private String mode;
+
+    @Label("Tasks Scanned")
+    private int tasksScanned;
+
+    @Label("Reminders Found")
+    private int remindersFound;
+
+    /**
+     * Fills in the event's fields.
+     *
+     * @param mode           the timeframe that was checked
+     * @param tasksScanned   the number of tasks in the list
+     * @param remindersFound the number of upcoming reminders in the timeframe
+     */
+    public void set(String mode, int tasksScanned, int remindersFound) {
+        this.mode = mode;
+        this.tasksScanned = tasksScanned;
+        this.remindersFound = remindersFound;
+    }
+}
@@ -0,0 +1,51 @@
+package morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event covering one read of the save file.
+ *
+ * @author Aayush
+ */
+@Name("morpheus.StorageLoad")
+@Label("Storage Load")
+@Category({"Morpheus", "Storage"})
+@Description("Reading and decoding the save file")
+@Enabled(false)
+@StackTrace(false)
+public class StorageLoadEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Corrupted Lines")
+    private long corruptedLines;
+
+    /**
+     * Fills in the event's fields.
+     *
+     * @param path           the save file
+     * @param bytes          the size of the save file
+     * @param taskCount      the number of tasks loaded
+     * @param corruptedLines the number of lines skipped because they could not be decoded
+     */
+    public void set(String path, long bytes, int taskCount, long corruptedLines) {
+        this.path = path;
+        this.bytes = bytes;
+        this.taskCount = taskCount;
+        this.corruptedLines = corruptedLines;
+    }
+}
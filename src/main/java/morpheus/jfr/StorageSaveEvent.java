@@ -0,0 +1,52 @@
+package morpheus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JFR event covering one write of the save file.
+ *
+ * @author Aayush
+ */
+@Name("morpheus.StorageSave")
+@Label("Storage Save")
+@Category({"Morpheus", "Storage"})
+@Description("Encoding and writing the save file")
+@Enabled(false)
+@StackTrace(false)
+public class StorageSaveEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Atomic")
+    @Description("Whether the file was written to a temporary file, forced to disk and moved into place")
+    private boolean atomic;
+
+    /**
+     * Fills in the event's fields.
+     *
+     * @param path      the save file
+     * @param bytes     the number of bytes written
+     * @param taskCount the number of tasks written
+     * @param atomic    whether the file was replaced atomically
+     */
+    public void set(String path, long bytes, int taskCount, boolean atomic) {
+        this.path = path;
+        this.bytes = bytes;
+        this.taskCount = taskCount;
+        this.atomic = atomic;
+    }
+}
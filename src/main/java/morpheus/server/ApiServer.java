@@ -0,0 +1,259 @@
+package morpheus.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import morpheus.Morpheus;
+import morpheus.tasks.Task;
+import morpheus.utils.BackgroundExecutor;
+
+/**
+ * A headless HTTP/JSON front end for Morpheus, bound to the loopback interface only.
+ * <p>
+ * Every request is handled on its own (virtual, where available) thread and goes
+ * straight to one shared {@link Morpheus} instance, which serialises writers and lets
+ * readers run concurrently, so requests from many local tools can be pipelined safely.
+ * </p>
+ *
+ * <h3>Endpoints:</h3>
+ * <ul>
+ *   <li><code>POST /command</code> — body is any command, e.g. <code>todo read book</code>;
+ *       returns <code>{"response": "..."}</code></li>
+ *   <li><code>GET /tasks</code> → every task as structured JSON</li>
+ *   <li><code>GET /find?q=keyword</code> → matching tasks as structured JSON</li>
+ *   <li><code>GET /reminders?mode=today</code> → upcoming reminders as structured JSON</li>
+ * </ul>
+ *
+ * Transaction commands (<code>begin</code>, <code>commit</code>, <code>rollback</code>) are
+ * rejected with 400, since every client shares the engine and one client's transaction would
+ * otherwise take in every other client's writes.
+ *
+ * <p>
+ * A server created with a {@link TenantManager} hosts one task list per user instead. Each
+ * request then names its tenant in the <code>X-Morpheus-Tenant</code> header, and
+ * <code>GET /stats</code> reports the tenant cache's hit rate, evictions and load latency.
+ * </p>
+ */
+public class ApiServer {
+    /** The port used when none is given on the command line. */
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final String TENANT_HEADER = "X-Morpheus-Tenant";
+    private static final String TENANTS_FLAG = "--tenants";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final Morpheus morpheus;
+    private final TenantManager tenants;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server for the given Morpheus instance on a loopback port.
+     *
+     * @param morpheus the shared engine that serves every request
+     * @param port     the loopback port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public ApiServer(Morpheus morpheus, int port) throws IOException {
+        this(morpheus, null, port);
+    }
+
+    /**
+     * Creates a multi-tenant server on a loopback port. Requests are served by the engine
+     * of the tenant named in their <code>X-Morpheus-Tenant</code> header.
+     *
+     * @param tenants the manager that loads and evicts each tenant's engine
+     * @param port    the loopback port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public ApiServer(TenantManager tenants, int port) throws IOException {
+        this(null, tenants, port);
+    }
+
+    private ApiServer(Morpheus morpheus, TenantManager tenants, int port) throws IOException {
+        this.morpheus = morpheus;
+        this.tenants = tenants;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = BackgroundExecutor.newThreadPerTaskExecutor("morpheus-http");
+        server.setExecutor(executor);
+        server.createContext("/command", route(ApiServer::handleCommand));
+        server.createContext("/tasks", route(ApiServer::handleTasks));
+        server.createContext("/find", route(ApiServer::handleFind));
+        server.createContext("/reminders", route(ApiServer::handleReminders));
+        if (tenants != null) {
+            server.createContext("/stats", this::handleStats);
+        }
+    }
+
+    /**
+     * Starts serving requests in the background.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting up to a second for in-flight requests to finish.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Runs the server in the foreground until the process is terminated.
+     *
+     * @param args optional port, followed by either an optional save file path
+     *             or <code>--tenants DIRECTORY</code> to host one save file per tenant
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        // Small JSON replies otherwise wait on Nagle's algorithm and delayed ACKs (~40ms each).
+        // Set before the first server is created, which is when the JDK reads it.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ApiServer apiServer;
+        if (args.length > 2 && TENANTS_FLAG.equals(args[1])) {
+            TenantManager tenants = new TenantManager(Paths.get(args[2]), TenantManager.DEFAULT_MEMORY_BUDGET);
+            apiServer = new ApiServer(tenants, port);
+        } else {
+            String filePath = args.length > 1 ? args[1] : Morpheus.DEFAULT_FILE_PATH;
+            Morpheus morpheus = new Morpheus(filePath);
+            morpheus.getMetrics().startDumping();
+            apiServer = new ApiServer(morpheus, port);
+        }
+        apiServer.start();
+        System.out.println("Morpheus API listening on http://localhost:" + apiServer.getPort());
+    }
+
+    /**
+     * Wraps an endpoint so that it is served by the shared engine, or by the requesting tenant's engine.
+     */
+    private HttpHandler route(Endpoint endpoint) {
+        if (tenants == null) {
+            return exchange -> endpoint.handle(exchange, morpheus);
+        }
+        return exchange -> {
+            String tenantId = exchange.getRequestHeaders().getFirst(TENANT_HEADER);
+            if (!TenantManager.isValidTenantId(tenantId)) {
+                send(exchange, BAD_REQUEST, Json.error("Missing or invalid " + TENANT_HEADER + " header"));
+                return;
+            }
+            try (TenantManager.Lease lease = tenants.acquire(tenantId)) {
+                endpoint.handle(exchange, lease.getMorpheus());
+            }
+        };
+    }
+
+    private static void handleCommand(HttpExchange exchange, Morpheus morpheus) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            send(exchange, METHOD_NOT_ALLOWED, Json.error("Use POST with the command as the request body"));
+            return;
+        }
+        String input = readBody(exchange);
+        if (Morpheus.isTransactionCommand(input)) {
+            // Every client shares the engine, so one client's transaction would capture everyone's writes
+            send(exchange, BAD_REQUEST, Json.error("Transactions are not available over HTTP"));
+            return;
+        }
+        send(exchange, OK, Json.response(morpheus.getResponse(input)));
+    }
+
+    private static void handleTasks(HttpExchange exchange, Morpheus morpheus) throws IOException {
+        send(exchange, OK, Json.tasks(morpheus.getTasks()));
+    }
+
+    private static void handleFind(HttpExchange exchange, Morpheus morpheus) throws IOException {
+        String keyword = queryParameters(exchange).getOrDefault("q", "").trim();
+        if (keyword.isEmpty()) {
+            send(exchange, BAD_REQUEST, Json.error("Missing query parameter: q"));
+            return;
+        }
+        send(exchange, OK, Json.tasks(morpheus.findTasks(keyword)));
+    }
+
+    private static void handleReminders(HttpExchange exchange, Morpheus morpheus) throws IOException {
+        String mode = queryParameters(exchange).getOrDefault("mode", "all");
+        List<Task> reminders = morpheus.getReminders(mode);
+        if (reminders == null) {
+            send(exchange, BAD_REQUEST, Json.error("Unknown mode. Try all, today, tomorrow or weekly"));
+            return;
+        }
+        send(exchange, OK, Json.tasks(reminders));
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        send(exchange, OK, Json.tenantStats(tenants.getStats()));
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(decode(pair.substring(0, separator)), decode(pair.substring(separator + 1)));
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * An endpoint served by one engine.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange, Morpheus morpheus) throws IOException;
+    }
+}
@@ -0,0 +1,136 @@
+package morpheus.server;
+
+import java.util.List;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+
+/**
+ * Minimal JSON encoding for the API server's responses.
+ * <p>
+ * Only the handful of shapes the server returns are supported, which keeps the
+ * application free of third-party JSON dependencies.
+ * </p>
+ */
+public class Json {
+    private Json() {
+    }
+
+    /**
+     * Encodes a plain text command response as <code>{"response": "..."}</code>.
+     *
+     * @param response the response text
+     * @return the JSON document
+     */
+    public static String response(String response) {
+        StringBuilder sb = new StringBuilder("{\"response\":");
+        appendString(sb, response);
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Encodes an error message as <code>{"error": "..."}</code>.
+     *
+     * @param message the error message
+     * @return the JSON document
+     */
+    public static String error(String message) {
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        appendString(sb, message);
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Encodes tasks as <code>{"count": n, "tasks": [...]}</code>, numbering them from 1.
+     *
+     * @param tasks the tasks to encode
+     * @return the JSON document
+     */
+    public static String tasks(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder(64 + tasks.size() * 96);
+        sb.append("{\"count\":").append(tasks.size()).append(",\"tasks\":[");
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendTask(sb, i + 1, tasks.get(i));
+        }
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * Encodes tenant cache statistics as a flat JSON object.
+     *
+     * @param stats the statistics to encode
+     * @return the JSON document
+     */
+    public static String tenantStats(TenantManager.Stats stats) {
+        return "{\"loadedTenants\":" + stats.getLoadedTenants()
+                + ",\"usedBytes\":" + stats.getUsedBytes()
+                + ",\"memoryBudget\":" + stats.getMemoryBudget()
+                + ",\"hits\":" + stats.getHits()
+                + ",\"misses\":" + stats.getMisses()
+                + ",\"hitRate\":" + stats.getHitRate()
+                + ",\"evictions\":" + stats.getEvictions()
+                + ",\"averageLoadMillis\":" + stats.getAverageLoadMillis()
+                + ",\"maxLoadMillis\":" + stats.getMaxLoadMillis() + "}";
+    }
+
+    private static void appendTask(StringBuilder sb, int number, Task task) {
+        sb.append("{\"number\":").append(number);
+        sb.append(",\"type\":");
+        if (task instanceof DeadlineTask) {
+            DeadlineTask deadline = (DeadlineTask) task;
+            appendString(sb, "deadline");
+            appendField(sb, "by", deadline.getEndDateTime().toString());
+        } else if (task instanceof EventTask) {
+            EventTask event = (EventTask) task;
+            appendString(sb, "event");
+            appendField(sb, "from", event.getStartDateTime().toString());
+            appendField(sb, "to", event.getEndDateTime().toString());
+        } else {
+            appendString(sb, "todo");
+        }
+        appendField(sb, "description", task.getDescription());
+        sb.append(",\"done\":").append(task.isDone());
+        task.getReminder().ifPresent(reminder -> appendField(sb, "reminder", reminder.toString()));
+        sb.append('}');
+    }
+
+    private static void appendField(StringBuilder sb, String name, String value) {
+        sb.append(",\"").append(name).append("\":");
+        appendString(sb, value);
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
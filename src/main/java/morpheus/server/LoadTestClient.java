@@ -0,0 +1,120 @@
+package morpheus.server;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import morpheus.utils.BackgroundExecutor;
+
+/**
+ * A small load generator for {@link ApiServer}, reporting throughput and p50/p99 latency.
+ * <p>
+ * Usage: <code>java -cp morpheus.jar morpheus.server.LoadTestClient [url] [clients] [requestsPerClient]</code>
+ * </p>
+ * Each client sends a fixed mix of requests: mostly structured reads, with some
+ * <code>todo</code> and <code>delete</code> commands so that readers and writers interleave.
+ * The client should be pointed at a server started with a throwaway save file.
+ */
+public class LoadTestClient {
+    private static final String DEFAULT_URL = "http://localhost:" + ApiServer.DEFAULT_PORT;
+    private static final int DEFAULT_CLIENTS = 16;
+    private static final int DEFAULT_REQUESTS_PER_CLIENT = 1000;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+
+    private LoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : DEFAULT_URL;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CLIENTS;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUESTS_PER_CLIENT;
+        new LoadTestClient(url).run(clients, requests);
+    }
+
+    private void run(int clients, int requestsPerClient) throws Exception {
+        ExecutorService executor = BackgroundExecutor.newThreadPerTaskExecutor("morpheus-load");
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int clientId = c;
+            results.add(executor.submit(() -> runClient(clientId, requestsPerClient)));
+        }
+
+        long[] latencies = new long[clients * requestsPerClient];
+        int offset = 0;
+        for (Future<long[]> result : results) {
+            long[] clientLatencies = result.get();
+            System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+            offset += clientLatencies.length;
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("requests=%d clients=%d elapsed=%.2fs throughput=%.0f req/s%n",
+                latencies.length, clients, elapsed / 1e9, latencies.length / (elapsed / 1e9));
+        System.out.printf("p50=%.3fms p99=%.3fms max=%.3fms%n",
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private long[] runClient(int clientId, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            HttpRequest request = nextRequest(clientId, i);
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies[i] = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+            }
+        }
+        return latencies;
+    }
+
+    private HttpRequest nextRequest(int clientId, int i) {
+        switch (i % 10) {
+        case 0:
+            return command("todo load test " + clientId + "-" + i);
+        case 1:
+            return get("/find?q=" + URLEncoder.encode("load test " + clientId, StandardCharsets.UTF_8));
+        case 2:
+            return get("/reminders?mode=weekly");
+        case 9:
+            return command("delete 1");
+        default:
+            return get("/tasks");
+        }
+    }
+
+    private HttpRequest command(String input) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/command"))
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(input, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,344 @@
+package morpheus.server;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+import morpheus.Morpheus;
+
+/**
+ * Hosts the task lists of many users, each in its own save file inside one directory.
+ * <p>
+ * A tenant's {@link Morpheus} instance is loaded lazily on first access and then kept
+ * in memory while it is hot. The estimated footprint of all loaded tenants is kept under
+ * a memory budget by evicting the least recently used ones. A tenant is never evicted while
+ * it is in use (see {@link #acquire(String)}) or while it has an open transaction, since
+ * that transaction's changes exist only in memory. Any other unsaved changes, e.g. from a
+ * deferred write policy, are flushed before the tenant is dropped, so evicting a tenant
+ * never loses data.
+ * </p>
+ *
+ * Loading happens outside the manager's lock, so a slow load only delays requests for
+ * that one tenant; concurrent first requests for the same tenant share a single load.
+ * Evicted tenants are likewise flushed outside the lock. Until its flush is done, an evicted
+ * tenant is remembered, and a request that loads it again first waits for the flush, so it
+ * never reads a save file that is behind.
+ */
+public class TenantManager {
+    /** The memory budget used when none is given, overridable with -Dmorpheus.tenants.budget (in bytes). */
+    public static final long DEFAULT_MEMORY_BUDGET = Long.getLong("morpheus.tenants.budget", 64L * 1024 * 1024);
+
+    /** Rough cost of a loaded tenant with no tasks: the engine, its undo log and bookkeeping. */
+    private static final long TENANT_OVERHEAD_BYTES = 4 * 1024;
+    /** Rough cost of one task: the task, its description and date objects. */
+    private static final long TASK_BYTES = 256;
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String FILE_EXTENSION = ".txt";
+
+    private final Path directory;
+    private final long memoryBudget;
+    /** Loaded tenants in access order, least recently used first. Guarded by {@code this}. */
+    private final LinkedHashMap<String, Tenant> tenants = new LinkedHashMap<>(16, 0.75f, true);
+    /** Evicted tenants whose unsaved changes are still being flushed. Guarded by {@code this}. */
+    private final Map<String, Tenant> evicting = new HashMap<>();
+
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long loads;
+    private long totalLoadNanos;
+    private long maxLoadNanos;
+
+    /**
+     * Creates a manager that keeps each tenant's tasks in <code>directory/&lt;tenant&gt;.txt</code>.
+     *
+     * @param directory    the directory holding every tenant's save file
+     * @param memoryBudget the estimated number of bytes loaded tenants may use before cold ones are evicted
+     */
+    public TenantManager(Path directory, long memoryBudget) {
+        this.directory = directory;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Returns whether {@code tenantId} is a valid tenant name: 1 to 64 letters, digits, '_' or '-'.
+     *
+     * @param tenantId the name to check
+     * @return {@code true} if the name can safely be used as a file name
+     */
+    public static boolean isValidTenantId(String tenantId) {
+        return tenantId != null && TENANT_ID.matcher(tenantId).matches();
+    }
+
+    /**
+     * Returns the tenant's engine, loading it if needed, and pins it in memory until the lease is closed.
+     * <p>
+     * Use with try-with-resources:
+     * <code>try (TenantManager.Lease lease = manager.acquire("alice")) { lease.getMorpheus()... }</code>
+     * </p>
+     *
+     * @param tenantId the tenant to acquire
+     * @return a lease on the tenant's engine
+     * @throws IllegalArgumentException if the tenant name is invalid
+     */
+    public Lease acquire(String tenantId) {
+        if (!isValidTenantId(tenantId)) {
+            throw new IllegalArgumentException("Invalid tenant name: " + tenantId);
+        }
+
+        Tenant tenant;
+        Tenant evicted = null;
+        boolean isLoader = false;
+        synchronized (this) {
+            tenant = tenants.get(tenantId);
+            if (tenant == null) {
+                tenant = new Tenant(tenantId);
+                tenants.put(tenantId, tenant);
+                evicted = evicting.get(tenantId);
+                misses++;
+                isLoader = true;
+            } else {
+                hits++;
+            }
+            tenant.leases++;
+        }
+
+        if (isLoader) {
+            if (evicted != null) {
+                evicted.flushed.join();
+            }
+            load(tenantId, tenant);
+        }
+        try {
+            return new Lease(tenant, tenant.morpheus.join());
+        } catch (RuntimeException e) {
+            release(tenant);
+            throw e;
+        }
+    }
+
+    private void load(String tenantId, Tenant tenant) {
+        long start = System.nanoTime();
+        try {
+            Morpheus morpheus = new Morpheus(directory.resolve(tenantId + FILE_EXTENSION).toString());
+            morpheus.getTaskCount(); // loads the task list now, so that its cost is measured here
+            long elapsed = System.nanoTime() - start;
+            synchronized (this) {
+                loads++;
+                totalLoadNanos += elapsed;
+                maxLoadNanos = Math.max(maxLoadNanos, elapsed);
+            }
+            tenant.morpheus.complete(morpheus);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                tenants.remove(tenantId, tenant);
+            }
+            tenant.morpheus.completeExceptionally(e);
+        }
+    }
+
+    private void release(Tenant tenant) {
+        long footprint = tenant.morpheus.isCompletedExceptionally()
+                ? 0 : estimateFootprint(tenant.morpheus.join());
+        List<Tenant> evicted;
+        synchronized (this) {
+            tenant.leases--;
+            if (tenants.get(tenant.id) == tenant) {
+                usedBytes += footprint - tenant.footprint;
+                tenant.footprint = footprint;
+            }
+            evicted = evictColdTenants();
+        }
+        for (Tenant victim : evicted) {
+            flush(victim);
+        }
+    }
+
+    /**
+     * Removes least recently used tenants until the loaded ones fit the memory budget, and
+     * marks them as evicting. Tenants that are in use or mid-transaction are skipped.
+     *
+     * @return the removed tenants, which the caller must {@link #flush(Tenant) flush} outside the lock
+     */
+    private List<Tenant> evictColdTenants() {
+        List<Tenant> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Tenant>> iterator = tenants.entrySet().iterator();
+        while (usedBytes > memoryBudget && iterator.hasNext()) {
+            Tenant tenant = iterator.next().getValue();
+            if (tenant.leases > 0 || tenant.morpheus.join().hasOpenTransaction()) {
+                continue;
+            }
+            iterator.remove();
+            evicting.put(tenant.id, tenant);
+            evicted.add(tenant);
+            usedBytes -= tenant.footprint;
+            evictions++;
+        }
+        return evicted;
+    }
+
+    /**
+     * Writes an evicted tenant's unsaved changes, then lets requests waiting to load it again go ahead.
+     */
+    private void flush(Tenant tenant) {
+        try {
+            tenant.morpheus.join().flush();
+        } finally {
+            synchronized (this) {
+                evicting.remove(tenant.id, tenant);
+            }
+            tenant.flushed.complete(null);
+        }
+    }
+
+    private static long estimateFootprint(Morpheus morpheus) {
+        return TENANT_OVERHEAD_BYTES + morpheus.getTaskCount() * TASK_BYTES;
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the current hit, miss, eviction and load counters
+     */
+    public synchronized Stats getStats() {
+        return new Stats(tenants.size(), usedBytes, memoryBudget, hits, misses, evictions, loads,
+                totalLoadNanos, maxLoadNanos);
+    }
+
+    /**
+     * A loaded (or loading) tenant. Mutable fields are guarded by the manager.
+     */
+    private static class Tenant {
+        private final String id;
+        private final CompletableFuture<Morpheus> morpheus = new CompletableFuture<>();
+        /** Completed once the tenant has been evicted and its unsaved changes written. */
+        private final CompletableFuture<Void> flushed = new CompletableFuture<>();
+        private int leases;
+        private long footprint;
+
+        private Tenant(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Keeps a tenant pinned in memory until closed.
+     */
+    public class Lease implements AutoCloseable {
+        private final Tenant tenant;
+        private final Morpheus morpheus;
+        private boolean isClosed;
+
+        private Lease(Tenant tenant, Morpheus morpheus) {
+            this.tenant = tenant;
+            this.morpheus = morpheus;
+        }
+
+        /**
+         * Returns the tenant's engine. It must not be used after the lease is closed.
+         *
+         * @return the tenant's {@link Morpheus} instance
+         */
+        public Morpheus getMorpheus() {
+            return morpheus;
+        }
+
+        /**
+         * Releases the tenant, allowing it to be evicted once it is cold.
+         */
+        @Override
+        public void close() {
+            if (!isClosed) {
+                isClosed = true;
+                release(tenant);
+            }
+        }
+    }
+
+    /**
+     * An immutable snapshot of the manager's cache statistics.
+     */
+    public static class Stats {
+        private final int loadedTenants;
+        private final long usedBytes;
+        private final long memoryBudget;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long loads;
+        private final long totalLoadNanos;
+        private final long maxLoadNanos;
+
+        private Stats(int loadedTenants, long usedBytes, long memoryBudget, long hits, long misses,
+                long evictions, long loads, long totalLoadNanos, long maxLoadNanos) {
+            this.loadedTenants = loadedTenants;
+            this.usedBytes = usedBytes;
+            this.memoryBudget = memoryBudget;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.loads = loads;
+            this.totalLoadNanos = totalLoadNanos;
+            this.maxLoadNanos = maxLoadNanos;
+        }
+
+        public int getLoadedTenants() {
+            return loadedTenants;
+        }
+
+        public long getUsedBytes() {
+            return usedBytes;
+        }
+
+        public long getMemoryBudget() {
+            return memoryBudget;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Returns the fraction of accesses that found the tenant already loaded.
+         *
+         * @return the hit rate between 0 and 1, or 0 if there were no accesses yet
+         */
+        public double getHitRate() {
+            long accesses = hits + misses;
+            return accesses == 0 ? 0 : (double) hits / accesses;
+        }
+
+        /**
+         * Returns the mean time taken to load a tenant from disk.
+         *
+         * @return the average load latency in milliseconds, or 0 if nothing was loaded yet
+         */
+        public double getAverageLoadMillis() {
+            return loads == 0 ? 0 : totalLoadNanos / 1e6 / loads;
+        }
+
+        /**
+         * Returns the slowest tenant load so far.
+         *
+         * @return the maximum load latency in milliseconds
+         */
+        public double getMaxLoadMillis() {
+            return maxLoadNanos / 1e6;
+        }
+    }
+}
@@ -42,22 +42,32 @@ public class DeadlineTask extends Task {
         this.endDateTime = endDateTime;
     }
 
+    /**
+     * Returns the deadline of this task.
+     *
+     * @return the deadline date and time
+     */
+    public CustomDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
     /**
      * Creates a deep copy of this Deadline task.
      * <p>
      * The returned copy has the same description, completion status,
-     * and deadline date-time as the original, but is an independent object.
+     * and deadline date-time as the original, along with any reminder, but is an independent object.
      * </p>
      *
      * @return a new {@link DeadlineTask} with the same values as this task
      */
     @Override
     public Task copy() {
-        return new DeadlineTask(
+        Task copy = new DeadlineTask(
                 this.description,
                 this.isDone,
                 this.endDateTime
         );
+        return copyExtrasTo(copy);
     }
 
     /**
@@ -67,7 +77,7 @@ public class DeadlineTask extends Task {
      * @return the encoded string representation of this Deadline task
      */
     @Override
-    public String encode() {
+    protected String createEncoding() {
         String base = "D | " + (this.isDone ? "1" : "0") + " | "
                 + clean(description) + " | " + this.endDateTime.toString();
         if (reminder != null) {
@@ -77,17 +87,16 @@ public class DeadlineTask extends Task {
     }
 
     /**
-     * Returns a user-friendly string representation of the Deadline task.
+     * Appends a user-friendly representation of the Deadline task.
      * Example: <code>[D] [ ] Submit project (by: 28 Aug 2025, 8:00 PM)</code>
      *
-     * @return a string representation of this Deadline task
+     * @param sb the buffer to append to
+     * @return {@code sb}
      */
     @Override
-    public String toString() {
-        String base = String.format("[D] %s (by: %s)", super.toString(), this.endDateTime.toString());
-        if (reminder != null) {
-            base += String.format(" ⏰ %s", reminder.toString());
-        }
-        return base;
+    public StringBuilder appendTo(StringBuilder sb) {
+        super.appendTo(sb.append("[D] "));
+        sb.append(" (by: ").append(this.endDateTime.toString()).append(')');
+        return appendReminder(sb);
     }
 }
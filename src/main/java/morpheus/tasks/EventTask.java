@@ -48,6 +48,24 @@ public class EventTask extends Task {
         this.endDateTime = endDateTime;
     }
 
+    /**
+     * Returns the start of this event.
+     *
+     * @return the starting date and time
+     */
+    public CustomDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    /**
+     * Returns the end of this event.
+     *
+     * @return the ending date and time
+     */
+    public CustomDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
     /**
      * Encodes the Event task into a string format suitable for storage.
      * The format is:
@@ -56,7 +74,7 @@ public class EventTask extends Task {
      * @return the encoded string representation of this Event task
      */
     @Override
-    public String encode() {
+    protected String createEncoding() {
         String base = "E | " + (this.isDone ? "1" : "0") + " | "
                 + clean(description) + " | "
                 + this.startDateTime.toString() + " | " + this.endDateTime.toString();
@@ -70,36 +88,34 @@ public class EventTask extends Task {
      * Creates a deep copy of this Event task.
      * <p>
      * The returned copy has the same description, completion status,
-     * start time, and end time as the original, but is an independent object.
+     * start time, and end time as the original, along with any reminder, but is an independent object.
      * </p>
      *
      * @return a new {@link EventTask} with the same values as this task
      */
     @Override
     public Task copy() {
-        return new EventTask(
+        Task copy = new EventTask(
                 this.description,
                 this.isDone,
                 this.startDateTime,
                 this.endDateTime
         );
+        return copyExtrasTo(copy);
     }
 
     /**
-     * Returns a user-friendly string representation of the Event task.
+     * Appends a user-friendly representation of the Event task.
      * Example: <code>[E] [ ] Meeting (from: 24 Apr 2025, 1:00 PM to: 24 Apr 2025, 3:00 PM)</code>
      *
-     * @return a string representation of this Event task
+     * @param sb the buffer to append to
+     * @return {@code sb}
      */
     @Override
-    public String toString() {
-        String base = String.format("[E] %s (from: %s to: %s)",
-                super.toString(),
-                this.startDateTime.toString(),
-                this.endDateTime.toString());
-        if (reminder != null) {
-            base += String.format(" ⏰ %s", reminder.toString());
-        }
-        return base;
+    public StringBuilder appendTo(StringBuilder sb) {
+        super.appendTo(sb.append("[E] "));
+        sb.append(" (from: ").append(this.startDateTime.toString())
+                .append(" to: ").append(this.endDateTime.toString()).append(')');
+        return appendReminder(sb);
     }
 }
@@ -1,5 +1,6 @@
 package morpheus.tasks;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import morpheus.utils.CustomDateTime;
@@ -24,6 +25,12 @@ import morpheus.utils.CustomDateTime;
  * Tasks are immutable in type (once created as a {@link ToDoTask}, it cannot
  * change into another type) but mutable in state (status, reminder, etc.).
  *
+ * Since tasks rarely change, the display text and the save file encoding are cached.
+ * Every state change bumps a version number, which marks the cached output as stale,
+ * so it is only rebuilt the next time it is needed. Each cache entry records the
+ * version it was built from; an entry built concurrently with a change can therefore
+ * never be mistaken for a fresh one.
+ *
  * @author Aayush
  */
 public abstract class Task {
@@ -37,6 +44,11 @@ public abstract class Task {
     /** An optional reminder for this task, represented as a {@link CustomDateTime}. */
     protected CustomDateTime reminder;
 
+    /** Incremented by every state change; cached output built from an older version is stale. */
+    private volatile int version;
+    private Cached<String> rendered;
+    private Cached<byte[]> encoded;
+
     /**
      * Constructs a new task with the given description.
      * The task is initially marked as not done.
@@ -68,14 +80,32 @@ public abstract class Task {
         return this.isDone ? "X" : " ";
     }
 
+    /**
+     * Returns whether this task is completed.
+     *
+     * @return {@code true} if the task is done, {@code false} otherwise
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /** Marks this task as completed. */
     public void mark() {
         this.isDone = true;
+        invalidate();
     }
 
     /** Marks this task as not completed. */
     public void unmark() {
         this.isDone = false;
+        invalidate();
+    }
+
+    /**
+     * Marks the cached display text and encoding as stale. Must be called after every state change.
+     */
+    protected void invalidate() {
+        version++;
     }
 
     /**
@@ -97,13 +127,48 @@ public abstract class Task {
     /**
      * Encodes this task into a storage-friendly string representation.
      * <p>
-     * Subclasses should override this method to provide
-     * their own serialization format.
+     * This decodes the cached {@link #encodeUtf8()} bytes, which the save file is written from.
+     * Subclasses provide their serialization format by overriding {@link #createEncoding()}.
+     * </p>
+     *
+     * @return the encoded representation of this task, or {@code null} if it has none
+     */
+    public final String encode() {
+        byte[] bytes = encodeUtf8();
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the save file encoding of this task as UTF-8 bytes, without a line separator.
+     * <p>
+     * The bytes are cached until the task changes, so saving a list re-encodes only the
+     * tasks that changed since the last save. Callers must not modify the returned array.
+     * </p>
+     *
+     * @return the cached encoding, or {@code null} if this task has no encoding
+     */
+    public byte[] encodeUtf8() {
+        int current = version;
+        Cached<byte[]> cached = encoded;
+        if (cached != null && cached.version == current) {
+            return cached.value;
+        }
+        String encoding = createEncoding();
+        byte[] bytes = encoding == null ? null : encoding.getBytes(StandardCharsets.UTF_8);
+        encoded = new Cached<>(current, bytes);
+        return bytes;
+    }
+
+    /**
+     * Builds the storage-friendly string representation of this task.
+     * <p>
+     * Subclasses should override this method to provide their own serialization
+     * format; {@link #encode()} and {@link #encodeUtf8()} cache its result.
      * </p>
      *
      * @return the encoded representation of this task, or {@code null} by default
      */
-    public String encode() {
+    protected String createEncoding() {
         return null;
     }
 
@@ -114,6 +179,7 @@ public abstract class Task {
      */
     public void setReminder(CustomDateTime reminder) {
         this.reminder = reminder;
+        invalidate();
     }
 
     /**
@@ -146,21 +212,89 @@ public abstract class Task {
      */
     public abstract Task copy();
 
+    /**
+     * Gives {@code copy} this task's reminder and cached output, then returns it.
+     * Subclasses call this from {@link #copy()} after creating a copy with the same fields.
+     *
+     * @param copy a new task with the same type, description, status and dates as this one
+     * @return {@code copy}
+     */
+    protected Task copyExtrasTo(Task copy) {
+        copy.reminder = this.reminder;
+        int current = version;
+        Cached<String> cachedText = rendered;
+        Cached<byte[]> cachedEncoding = encoded;
+        if (cachedText != null && cachedText.version == current) {
+            copy.rendered = new Cached<>(copy.version, cachedText.value);
+        }
+        if (cachedEncoding != null && cachedEncoding.version == current) {
+            copy.encoded = new Cached<>(copy.version, cachedEncoding.value);
+        }
+        return copy;
+    }
+
+    /**
+     * Appends the status and description of this task to {@code sb}, e.g. <code>[X] Read book</code>.
+     * <p>
+     * Subclasses override this to add their type, dates and reminder, so that long task
+     * lists can be rendered into one buffer without building a string per task.
+     * </p>
+     *
+     * @param sb the buffer to append to
+     * @return {@code sb}
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append('[').append(getStatusIcon()).append("] ").append(description);
+    }
+
+    /**
+     * Appends the reminder, if any, in the form <code> ⏰ 12 Sep 2025, 3:00 PM</code>.
+     *
+     * @param sb the buffer to append to
+     * @return {@code sb}
+     */
+    protected StringBuilder appendReminder(StringBuilder sb) {
+        if (reminder != null) {
+            sb.append(" ⏰ ").append(reminder.toString());
+        }
+        return sb;
+    }
+
     /**
      * Returns a string representation of this task,
      * including its status, description, and reminder (if any).
      * <p>
      * Example without reminder:
-     * <pre>[X] Read book</pre>
+     * <pre>[T] [X] Read book</pre>
      * Example with reminder:
-     * <pre>[ ] Meet friends ⏰ 12 Sep 2025, 3:00 PM</pre>
+     * <pre>[T] [ ] Meet friends ⏰ 12 Sep 2025, 3:00 PM</pre>
      * </p>
      *
      * @return a string representation of this task
+     * @see #appendTo(StringBuilder)
      */
     @Override
     public String toString() {
-        String base = String.format("[%s] %s", getStatusIcon(), description);
-        return base;
+        int current = version;
+        Cached<String> cached = rendered;
+        if (cached != null && cached.version == current) {
+            return cached.value;
+        }
+        String text = appendTo(new StringBuilder()).toString();
+        rendered = new Cached<>(current, text);
+        return text;
+    }
+
+    /**
+     * Output cached for one version of a task. Immutable, so it can be shared safely between threads.
+     */
+    private static final class Cached<T> {
+        private final int version;
+        private final T value;
+
+        private Cached(int version, T value) {
+            this.version = version;
+            this.value = value;
+        }
     }
 }
@@ -38,14 +38,14 @@ public class ToDoTask extends Task {
      * Creates a deep copy of this ToDo task.
      * <p>
      * The returned copy has the same description and completion status
-     * as the original, but is an independent object.
+     * as the original, along with any reminder, but is an independent object.
      * </p>
      *
      * @return a new {@link ToDoTask} with the same values as this task
      */
     @Override
     public Task copy() {
-        return new ToDoTask(this.description, this.isDone);
+        return copyExtrasTo(new ToDoTask(this.description, this.isDone));
     }
 
     /**
@@ -55,7 +55,7 @@ public class ToDoTask extends Task {
      * @return the encoded string representation of this ToDo task
      */
     @Override
-    public String encode() {
+    protected String createEncoding() {
 
         String base = "T | " + (this.isDone ? "1" : "0") + " | " + clean(description);
         if (reminder != null) {
@@ -65,17 +65,15 @@ public class ToDoTask extends Task {
     }
 
     /**
-     * Returns a user-friendly string representation of the ToDo task.
+     * Appends a user-friendly representation of the ToDo task.
      * Example: <code>[T] [ ] Finish homework</code>
      *
-     * @return a string representation of this ToDo task
+     * @param sb the buffer to append to
+     * @return {@code sb}
      */
     @Override
-    public String toString() {
-        String base = String.format("[T] %s", super.toString());
-        if (reminder != null) {
-            base += String.format(" ⏰ %s", reminder.toString());
-        }
-        return base;
+    public StringBuilder appendTo(StringBuilder sb) {
+        super.appendTo(sb.append("[T] "));
+        return appendReminder(sb);
     }
 }
@@ -0,0 +1,90 @@
+package morpheus.tools;
+
+import java.util.Arrays;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+import javafx.stage.Stage;
+import morpheus.Message;
+import morpheus.MessageCell;
+
+/**
+ * Measures frame times of the GUI conversation view while it scrolls through a long conversation.
+ * <p>
+ * A window is filled with 50,000 messages (or the number given as the first argument) and
+ * then scrolled from top to bottom, a few rows per frame. The time between consecutive
+ * frames is recorded, and the average, p99 and worst frame times are printed along with
+ * the heap in use, before the window closes.
+ * </p>
+ *
+ * Usage: <code>java -cp morpheus.jar morpheus.tools.ConversationViewBenchmark [messages]</code>
+ */
+public class ConversationViewBenchmark extends Application {
+    private static final int DEFAULT_MESSAGES = 50_000;
+    private static final int FRAMES = 600;
+    private static final int WARM_UP_FRAMES = 30;
+    private static final String REPLY = "Here's your task list, Neo. Let's see what reality you want to shape today.\n"
+            + "1. [T] [ ] read book\n2. [D] [ ] return book (by: 6 Jun 2025)\n3. [E] [X] project meeting";
+
+    @Override
+    public void start(Stage stage) {
+        int count = getParameters().getRaw().isEmpty()
+                ? DEFAULT_MESSAGES : Integer.parseInt(getParameters().getRaw().get(0));
+        ObservableList<Message> messages = FXCollections.observableArrayList();
+        for (int i = 0; i < count; i += 2) {
+            messages.add(Message.fromUser("list " + i));
+            messages.add(Message.fromMorpheus(REPLY));
+        }
+
+        Image userImage = new Image(getClass().getResourceAsStream("/images/neo.png"));
+        Image morpheusImage = new Image(getClass().getResourceAsStream("/images/morpheus.png"));
+        ListView<Message> list = new ListView<>(messages);
+        list.setCellFactory(view -> new MessageCell(userImage, morpheusImage));
+        stage.setScene(new Scene(list, 800, 600));
+        stage.show();
+
+        int rowsPerFrame = Math.max(1, messages.size() / FRAMES);
+        long[] frameNanos = new long[FRAMES];
+        new AnimationTimer() {
+            private int frame = -WARM_UP_FRAMES;
+            private long previous;
+
+            @Override
+            public void handle(long now) {
+                if (frame > 0) {
+                    frameNanos[frame - 1] = now - previous;
+                }
+                previous = now;
+                if (++frame > FRAMES) {
+                    stop();
+                    report(count, frameNanos);
+                    Platform.exit();
+                    return;
+                }
+                list.scrollTo(Math.min(Math.max(0, frame) * rowsPerFrame, messages.size() - 1));
+            }
+        }.start();
+    }
+
+    private static void report(int messages, long[] frameNanos) {
+        long[] sorted = frameNanos.clone();
+        Arrays.sort(sorted);
+        double average = Arrays.stream(sorted).average().orElse(0) / 1e6;
+        double p99 = sorted[(int) (sorted.length * 0.99)] / 1e6;
+        double worst = sorted[sorted.length - 1] / 1e6;
+        Runtime runtime = Runtime.getRuntime();
+        long heapMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        System.out.printf("%,d messages: frame time avg %.2f ms, p99 %.2f ms, max %.2f ms; heap in use %d MB%n",
+                messages, average, p99, worst, heapMb);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
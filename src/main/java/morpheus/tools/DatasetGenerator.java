@@ -0,0 +1,509 @@
+package morpheus.tools;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates large, realistic save files and command transcripts for benchmarks and tests.
+ * <p>
+ * Output is fully determined by the seed and the options, and is streamed as it is
+ * generated, so inputs of any size (including several gigabytes) can be reproduced
+ * exactly on another machine. The options control:
+ * </p>
+ * <ul>
+ *   <li>the ratio of todos, deadlines and events, and the fraction of tasks that are done</li>
+ *   <li>the fraction of tasks with a reminder</li>
+ *   <li>the vocabulary of descriptions, whose words follow a Zipf distribution like real text</li>
+ *   <li>the fraction of dates written in formats other than the one Morpheus saves, drawn
+ *       from every format {@link morpheus.utils.CustomDateTime} accepts</li>
+ *   <li>the fraction of lines that are deliberately corrupted</li>
+ * </ul>
+ *
+ * Save files use the save file format, one task per line. Transcripts are commands as a
+ * user would type them, ending with <code>bye</code>, and can be replayed with
+ * <code>--pipe</code> or {@link PipeBenchmark}.
+ *
+ * Usage: <code>java -cp morpheus.jar morpheus.tools.DatasetGenerator save|transcript FILE COUNT
+ * [--seed N] [--mix TODO:DEADLINE:EVENT] [--done F] [--reminders F] [--vocabulary N] [--zipf S]
+ * [--formats F] [--corrupt F] [--start YYYY-MM-DD] [--days N]</code>, where <code>FILE</code>
+ * may be <code>-</code> for standard output.
+ *
+ * @author Aayush
+ */
+public class DatasetGenerator {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_DESCRIPTION_WORDS = 5;
+    /** The most frequent words, so that generated descriptions read like real ones. */
+    private static final String[] COMMON_WORDS = {
+        "read", "book", "return", "project", "meeting", "gym", "assignment", "groceries", "call", "mum",
+        "essay", "lecture", "tutorial", "report", "dentist", "laundry", "flight", "budget", "review", "plan",
+    };
+    /** Syllables that make up the rest of the vocabulary. */
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "be", "da", "fi", "go",
+        "ha", "ju", "ke", "li", "mo", "nu", "pa", "re", "si", "to", "wa", "ze",
+    };
+    private static final DateTimeFormatter SAVED_FORMAT =
+            DateTimeFormatter.ofPattern("d MMM yyyy, h:mm a", Locale.ENGLISH);
+    private static final DateTimeFormatter LONG_DATE_FORMAT = DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH);
+    /** Numeric date formats; the last {@link #YEARLESS_FORMATS} are read as dates in the current year. */
+    private static final DateTimeFormatter[] DATE_FORMATS = formatters(
+            "d/M/yyyy", "d-M-yyyy", "d.M.yyyy", "d/M/yy", "ddMMyy", "ddMMyyyy", "d/M", "d-M", "d.M");
+    private static final int YEARLESS_FORMATS = 3;
+    private static final DateTimeFormatter[] TIME_FORMATS = formatters(
+            "HH:mm", "HH.mm", "HHmm", "Hmm", "h:mm a", "h.mm a", "ha", "hha");
+    private static final String[] CORRUPT_SAVE_LINES = {
+        "X | 0 | unknown task type",
+        "D | 0 | deadline without a date",
+        "E | 1 | event without an end | 1 Jan 2026, 9:00 AM",
+        "D | 0 | impossible date | 31/31/2026",
+        "T",
+    };
+    private static final String[] CORRUPT_COMMANDS = {
+        "abc", "todo", "deadline essay /by someday", "event party /from 9pm", "mark zero", "remind 1", "delete -1",
+    };
+    private static final String[] REMINDER_MODES = {"", " today", " tomorrow", " weekly", " all"};
+
+    private final SplittableRandom random;
+    private int[] mix = {40, 30, 30};
+    private double doneRatio = 0.3;
+    private double reminderDensity = 0.1;
+    private double otherFormatRatio = 0.2;
+    private double corruptRatio = 0;
+    private LocalDate startDate = LocalDate.of(2026, 1, 1);
+    private int days = 730;
+    private double[] wordWeights;
+
+    /**
+     * Creates a generator with the default options: 40% todos, 30% deadlines and 30% events,
+     * 30% done, 10% with a reminder, a vocabulary of 10,000 words with a Zipf exponent of 1,
+     * 20% of dates in other formats, no corrupted lines, and dates in 2026 and 2027.
+     *
+     * @param seed the seed that, together with the options, determines the output
+     */
+    public DatasetGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+        setVocabulary(10_000, 1.0);
+    }
+
+    /**
+     * Sets the relative weights of todos, deadlines and events.
+     *
+     * @param todos     the weight of todos
+     * @param deadlines the weight of deadlines
+     * @param events    the weight of events
+     * @return this generator
+     */
+    public DatasetGenerator setMix(int todos, int deadlines, int events) {
+        if (todos < 0 || deadlines < 0 || events < 0 || todos + deadlines + events == 0) {
+            throw new IllegalArgumentException("The task mix needs non-negative weights that are not all 0");
+        }
+        this.mix = new int[] {todos, deadlines, events};
+        return this;
+    }
+
+    public DatasetGenerator setDoneRatio(double doneRatio) {
+        this.doneRatio = checkRatio(doneRatio);
+        return this;
+    }
+
+    public DatasetGenerator setReminderDensity(double reminderDensity) {
+        this.reminderDensity = checkRatio(reminderDensity);
+        return this;
+    }
+
+    /**
+     * Sets the fraction of dates written in one of the other accepted formats instead of
+     * the format Morpheus saves, e.g. <code>12/9/25 1500</code> instead of <code>12 Sep 2025, 3:00 PM</code>.
+     *
+     * @param otherFormatRatio a fraction between 0 and 1
+     * @return this generator
+     */
+    public DatasetGenerator setOtherFormatRatio(double otherFormatRatio) {
+        this.otherFormatRatio = checkRatio(otherFormatRatio);
+        return this;
+    }
+
+    public DatasetGenerator setCorruptRatio(double corruptRatio) {
+        this.corruptRatio = checkRatio(corruptRatio);
+        return this;
+    }
+
+    /**
+     * Sets the range that generated dates fall in.
+     *
+     * @param startDate the earliest date
+     * @param days      the number of days after {@code startDate} that dates are spread over
+     * @return this generator
+     */
+    public DatasetGenerator setDates(LocalDate startDate, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Dates must be spread over at least one day");
+        }
+        this.startDate = startDate;
+        this.days = days;
+        return this;
+    }
+
+    /**
+     * Sets the vocabulary that descriptions are drawn from. The word of rank {@code k} is
+     * chosen with a probability proportional to <code>1 / k<sup>exponent</sup></code>.
+     *
+     * @param size     the number of distinct words
+     * @param exponent the Zipf exponent; 0 makes every word equally likely
+     * @return this generator
+     */
+    public DatasetGenerator setVocabulary(int size, double exponent) {
+        if (size < 1 || size > COMMON_WORDS.length + SYLLABLES.length * SYLLABLES.length * SYLLABLES.length) {
+            throw new IllegalArgumentException("Unsupported vocabulary size: " + size);
+        }
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        this.wordWeights = cumulative;
+        return this;
+    }
+
+    /**
+     * Writes a save file of {@code lines} lines, one task per line apart from corrupted lines.
+     *
+     * @param out   where the save file is written
+     * @param lines the number of lines to write
+     * @return the number of lines that were deliberately corrupted
+     * @throws IOException if writing fails
+     */
+    public long writeSaveFile(Writer out, long lines) throws IOException {
+        StringBuilder sb = new StringBuilder(256);
+        long corrupted = 0;
+        for (long i = 0; i < lines; i++) {
+            sb.setLength(0);
+            if (random.nextDouble() < corruptRatio) {
+                sb.append(CORRUPT_SAVE_LINES[random.nextInt(CORRUPT_SAVE_LINES.length)]);
+                corrupted++;
+            } else {
+                appendSavedTask(sb);
+            }
+            out.append(sb).append('\n');
+        }
+        return corrupted;
+    }
+
+    /**
+     * Writes a transcript of {@code commands} commands, the last of which is <code>bye</code>.
+     * <p>
+     * About half of the commands add tasks, each followed by <code>mark</code> or
+     * <code>remind</code> according to the done ratio and reminder density. The rest
+     * are <code>list</code>, <code>find</code>, <code>reminders</code>, <code>unmark</code>
+     * and <code>delete</code>, with task numbers that are always in range, apart from
+     * corrupted commands.
+     * </p>
+     *
+     * @param out      where the transcript is written
+     * @param commands the number of commands to write, including the final <code>bye</code>
+     * @return the number of commands that were deliberately corrupted
+     * @throws IOException if writing fails
+     */
+    public long writeTranscript(Writer out, long commands) throws IOException {
+        StringBuilder sb = new StringBuilder(256);
+        long tasks = 0;
+        long corrupted = 0;
+        long written = 0;
+        while (written < commands - 1) {
+            sb.setLength(0);
+            double choice = random.nextDouble();
+            if (random.nextDouble() < corruptRatio) {
+                sb.append(CORRUPT_COMMANDS[random.nextInt(CORRUPT_COMMANDS.length)]).append('\n');
+                corrupted++;
+                written++;
+            } else if (tasks == 0 || choice < 0.5) {
+                tasks++;
+                written += appendAddCommands(sb, tasks, commands - 1 - written);
+            } else if (choice < 0.65) {
+                sb.append(random.nextInt(4) == 0 ? "list page " + (1 + random.nextInt(5)) : "list").append('\n');
+                written++;
+            } else if (choice < 0.8) {
+                sb.append("find ").append(nextWord()).append('\n');
+                written++;
+            } else if (choice < 0.9) {
+                sb.append("reminders").append(REMINDER_MODES[random.nextInt(REMINDER_MODES.length)]).append('\n');
+                written++;
+            } else if (choice < 0.95) {
+                sb.append("unmark ").append(nextTaskNumber(tasks)).append('\n');
+                written++;
+            } else {
+                sb.append("delete ").append(nextTaskNumber(tasks)).append('\n');
+                tasks--;
+                written++;
+            }
+            out.append(sb);
+        }
+        if (commands > 0) {
+            out.append("bye\n");
+        }
+        return corrupted;
+    }
+
+    /**
+     * Appends an add command for task number {@code taskNumber}, followed by <code>mark</code>
+     * and <code>remind</code> commands for it as the options dictate, up to {@code limit} commands.
+     */
+    private long appendAddCommands(StringBuilder sb, long taskNumber, long limit) {
+        LocalDateTime start = nextDateTime();
+        switch (nextType()) {
+        case 0:
+            sb.append("todo ");
+            appendDescription(sb);
+            break;
+        case 1:
+            sb.append("deadline ");
+            appendDescription(sb);
+            sb.append(" /by ");
+            appendTypedDate(sb, start, true, true);
+            break;
+        default:
+            sb.append("event ");
+            appendDescription(sb);
+            // Without a year, an event over new year would end before it starts
+            sb.append(" /from ");
+            appendTypedDate(sb, start, false, true);
+            sb.append(" /to ");
+            appendEventEnd(sb, start, false);
+            break;
+        }
+        sb.append('\n');
+        long written = 1;
+        if (written < limit && random.nextDouble() < doneRatio) {
+            sb.append("mark ").append(taskNumber).append('\n');
+            written++;
+        }
+        if (written < limit && random.nextDouble() < reminderDensity) {
+            sb.append("remind ").append(taskNumber).append(' ');
+            appendTypedDate(sb, start.minusHours(1 + random.nextInt(24)), true, true);
+            sb.append('\n');
+            written++;
+        }
+        return written;
+    }
+
+    private void appendSavedTask(StringBuilder sb) {
+        int type = nextType();
+        sb.append(type == 0 ? "T" : type == 1 ? "D" : "E").append(" | ");
+        sb.append(random.nextDouble() < doneRatio ? '1' : '0').append(" | ");
+        appendDescription(sb);
+        LocalDateTime start = nextDateTime();
+        if (type >= 1) {
+            sb.append(" | ");
+            appendSavedDate(sb, start, true);
+        }
+        if (type == 2) {
+            sb.append(" | ");
+            appendEventEnd(sb, start, true);
+        }
+        if (random.nextDouble() < reminderDensity) {
+            sb.append(" | REMINDER: ");
+            appendSavedDate(sb, start.minusHours(1 + random.nextInt(24)), true);
+        }
+    }
+
+    private int nextType() {
+        int pick = random.nextInt(mix[0] + mix[1] + mix[2]);
+        return pick < mix[0] ? 0 : pick < mix[0] + mix[1] ? 1 : 2;
+    }
+
+    private void appendDescription(StringBuilder sb) {
+        int words = 1 + random.nextInt(MAX_DESCRIPTION_WORDS);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(nextWord());
+        }
+    }
+
+    private String nextWord() {
+        double target = random.nextDouble() * wordWeights[wordWeights.length - 1];
+        int index = Arrays.binarySearch(wordWeights, target);
+        return word(index >= 0 ? index : -index - 1);
+    }
+
+    /**
+     * Returns the word of the given rank, starting from 0: first the common words,
+     * then made-up words of two or three syllables.
+     */
+    static String word(int rank) {
+        if (rank < COMMON_WORDS.length) {
+            return COMMON_WORDS[rank];
+        }
+        int n = rank - COMMON_WORDS.length;
+        int base = SYLLABLES.length;
+        String word = SYLLABLES[n % base] + SYLLABLES[(n / base) % base];
+        return n < base * base ? word : word + SYLLABLES[(n / (base * base)) % base];
+    }
+
+    private LocalDateTime nextDateTime() {
+        return startDate.plusDays(random.nextInt(days)).atTime(7 + random.nextInt(15), random.nextInt(4) * 15);
+    }
+
+    /**
+     * Appends a date as saved by Morpheus, or in another accepted format that has a year, since a
+     * date without one is read in the current year and the file would load differently every year.
+     */
+    private void appendSavedDate(StringBuilder sb, LocalDateTime dateTime, boolean allowDateOnly) {
+        if (random.nextDouble() < otherFormatRatio) {
+            appendOtherFormat(sb, dateTime, false, allowDateOnly);
+        } else {
+            sb.append(SAVED_FORMAT.format(dateTime));
+        }
+    }
+
+    /** Appends a date as a user might type it: usually numeric, occasionally spelled out. */
+    private void appendTypedDate(StringBuilder sb, LocalDateTime dateTime, boolean allowYearless,
+            boolean allowDateOnly) {
+        if (random.nextDouble() < otherFormatRatio) {
+            appendOtherFormat(sb, dateTime, allowYearless, allowDateOnly);
+        } else {
+            sb.append(DATE_FORMATS[0].format(dateTime)).append(' ').append(TIME_FORMATS[2].format(dateTime));
+        }
+    }
+
+    /**
+     * Appends the end of an event that starts at {@code start}. An end on the same day keeps its
+     * time, since a date without one is the start of the day and would come before the start.
+     */
+    private void appendEventEnd(StringBuilder sb, LocalDateTime start, boolean isSaved) {
+        LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+        boolean allowDateOnly = !end.toLocalDate().equals(start.toLocalDate());
+        if (isSaved) {
+            appendSavedDate(sb, end, allowDateOnly);
+        } else {
+            appendTypedDate(sb, end, false, allowDateOnly);
+        }
+    }
+
+    private void appendOtherFormat(StringBuilder sb, LocalDateTime dateTime, boolean allowYearless,
+            boolean allowDateOnly) {
+        int dateFormats = allowYearless ? DATE_FORMATS.length : DATE_FORMATS.length - YEARLESS_FORMATS;
+        int format = random.nextInt(dateFormats + (allowDateOnly ? 2 : 1));
+        if (format == dateFormats) {
+            sb.append(SAVED_FORMAT.format(dateTime));
+        } else if (format == dateFormats + 1) {
+            sb.append(LONG_DATE_FORMAT.format(dateTime));
+        } else {
+            sb.append(DATE_FORMATS[format].format(dateTime));
+            int time = random.nextInt(allowDateOnly ? TIME_FORMATS.length + 1 : TIME_FORMATS.length);
+            if (time < TIME_FORMATS.length) {
+                sb.append(' ').append(TIME_FORMATS[time].format(dateTime));
+            }
+        }
+    }
+
+    private static DateTimeFormatter[] formatters(String... patterns) {
+        return Arrays.stream(patterns)
+                .map(pattern -> DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH))
+                .toArray(DateTimeFormatter[]::new);
+    }
+
+    private long nextTaskNumber(long tasks) {
+        return 1 + random.nextLong(tasks);
+    }
+
+    private static double checkRatio(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Expected a fraction between 0 and 1, got " + ratio);
+        }
+        return ratio;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length % 2 == 0) {
+            System.err.println("Usage: DatasetGenerator save|transcript FILE COUNT [--option value]...");
+            System.exit(2);
+        }
+        long seed = 42;
+        String[] options = Arrays.copyOfRange(args, 3, args.length);
+        for (int i = 0; i < options.length; i += 2) {
+            if (options[i].equals("--seed")) {
+                seed = Long.parseLong(options[i + 1]);
+            }
+        }
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        int vocabulary = 10_000;
+        double exponent = 1.0;
+        for (int i = 0; i < options.length; i += 2) {
+            String value = options[i + 1];
+            switch (options[i]) {
+            case "--seed":
+                break;
+            case "--mix":
+                String[] weights = value.split(":");
+                generator.setMix(Integer.parseInt(weights[0]), Integer.parseInt(weights[1]),
+                        Integer.parseInt(weights[2]));
+                break;
+            case "--done":
+                generator.setDoneRatio(Double.parseDouble(value));
+                break;
+            case "--reminders":
+                generator.setReminderDensity(Double.parseDouble(value));
+                break;
+            case "--vocabulary":
+                vocabulary = Integer.parseInt(value);
+                break;
+            case "--zipf":
+                exponent = Double.parseDouble(value);
+                break;
+            case "--formats":
+                generator.setOtherFormatRatio(Double.parseDouble(value));
+                break;
+            case "--corrupt":
+                generator.setCorruptRatio(Double.parseDouble(value));
+                break;
+            case "--start":
+                generator.setDates(LocalDate.parse(value), generator.days);
+                break;
+            case "--days":
+                generator.setDates(generator.startDate, Integer.parseInt(value));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + options[i]);
+            }
+        }
+        generator.setVocabulary(vocabulary, exponent);
+
+        String kind = args[0];
+        long count = Long.parseLong(args[2]);
+        long start = System.nanoTime();
+        long corrupted;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(args[1].equals("-")
+                ? new FileOutputStream(FileDescriptor.out)
+                : Files.newOutputStream(Paths.get(args[1])), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            switch (kind) {
+            case "save":
+                corrupted = generator.writeSaveFile(out, count);
+                break;
+            case "transcript":
+                corrupted = generator.writeTranscript(out, count);
+                break;
+            default:
+                throw new IllegalArgumentException("Expected 'save' or 'transcript', got " + kind);
+            }
+        }
+        System.err.printf("Wrote %,d lines (%,d corrupted) in %.2f s%n",
+                count, corrupted, (System.nanoTime() - start) / 1e9);
+    }
+}
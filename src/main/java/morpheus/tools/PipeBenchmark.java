@@ -0,0 +1,88 @@
+package morpheus.tools;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+import morpheus.Morpheus;
+import morpheus.Pipe;
+import morpheus.utils.Storage;
+
+/**
+ * Measures how many commands per second {@link Pipe} processes.
+ * <p>
+ * The workload is the <code>text-ui-test</code> transcript (without its final <code>bye</code>)
+ * repeated {@code scale} times, 10<sup>5</sup> by default, and ended with one <code>bye</code>.
+ * Responses are encoded as they would be for standard output and then discarded, and the
+ * tasks are saved to a temporary file using the chosen write policy.
+ * </p>
+ *
+ * Usage: <code>java -cp morpheus.jar morpheus.tools.PipeBenchmark [scale] [policy] [transcript]</code>
+ */
+public class PipeBenchmark {
+    private static final int DEFAULT_SCALE = 100_000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** A copy of text-ui-test/input.txt, used when no transcript file is given. */
+    private static final List<String> DEFAULT_TRANSCRIPT = List.of(
+            "event Go Gym /from Monday 2pm /to 3pm",
+            "deadline Assignment /by Friday 9pm",
+            "todo Meet Friends",
+            "mark 3",
+            "list",
+            "mark 2",
+            "unmark 2",
+            "delete 1",
+            "abc");
+    private static final String EXIT = "bye";
+
+    private PipeBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SCALE;
+        Storage.WritePolicy policy = args.length > 1
+                ? Storage.WritePolicy.valueOf(args[1].toUpperCase(Locale.ROOT))
+                : Storage.WritePolicy.DEFERRED;
+        List<String> transcript = args.length > 2 ? Files.readAllLines(Paths.get(args[2])) : DEFAULT_TRANSCRIPT;
+        String input = scaleTranscript(transcript, scale);
+
+        Path file = Files.createTempFile("morpheus-pipe-benchmark", ".txt");
+        try {
+            Morpheus morpheus = new Morpheus(new Storage(file.toString(), policy));
+            BufferedReader in = new BufferedReader(new StringReader(input), BUFFER_SIZE);
+            Writer out = new BufferedWriter(
+                    new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+
+            long start = System.nanoTime();
+            long commands = new Pipe(morpheus, in, out).run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%,d commands in %.2f s with %s saves: %,.0f commands/s%n",
+                    commands, seconds, policy.name().toLowerCase(Locale.ROOT), commands / seconds);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String scaleTranscript(List<String> transcript, int scale) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < scale; i++) {
+            for (String line : transcript) {
+                if (!EXIT.equals(line.trim())) {
+                    sb.append(line).append('\n');
+                }
+            }
+        }
+        return sb.append(EXIT).append('\n').toString();
+    }
+}
@@ -0,0 +1,42 @@
+package morpheus.tools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import morpheus.utils.SaveFileScanner;
+
+/**
+ * Checks the checksum of every task in a save file and reports how many are damaged.
+ * <p>
+ * With <code>--repair</code>, damaged tasks are moved to the quarantine file next to the save
+ * file, as {@link morpheus.utils.Storage#load()} would do. Without it nothing is changed, and
+ * the exit status is 1 if any task is damaged, so the check can be scripted.
+ * </p>
+ *
+ * Usage: <code>java -cp morpheus.jar morpheus.tools.RecoveryScan [--repair] FILE</code>
+ *
+ * @author Aayush
+ */
+public class RecoveryScan {
+    private RecoveryScan() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean isRepairing = args.length == 2 && "--repair".equals(args[0]);
+        if (args.length != (isRepairing ? 2 : 1)) {
+            throw new IllegalArgumentException("Usage: RecoveryScan [--repair] FILE");
+        }
+        Path saveFile = Paths.get(args[args.length - 1]);
+        SaveFileScanner.Report report = isRepairing ? SaveFileScanner.repair(saveFile) : SaveFileScanner.scan(saveFile);
+        System.out.println(report);
+        if (report.getDamaged() == 0) {
+            return;
+        }
+        if (isRepairing) {
+            System.out.println("Damaged tasks moved to " + SaveFileScanner.quarantinePathFor(saveFile));
+        } else {
+            System.exit(1);
+        }
+    }
+}
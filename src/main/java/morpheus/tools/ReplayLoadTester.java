@@ -0,0 +1,261 @@
+package morpheus.tools;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import morpheus.Morpheus;
+import morpheus.utils.BackgroundExecutor;
+import morpheus.utils.LatencyHistogram;
+import morpheus.utils.Metrics;
+import morpheus.utils.Storage;
+
+/**
+ * Replays command transcripts from many concurrent sessions, to size hardware for a shared deployment.
+ * <p>
+ * Every session runs on its own thread (a virtual thread where available) and replays its
+ * transcript as fast as it can, either against its own {@link Morpheus} instance and save
+ * file, or against one engine shared by all sessions. Save files live in a temporary
+ * directory that is deleted afterwards. The report gives throughput, latency percentiles
+ * and the bytes written to save files per command.
+ * </p>
+ *
+ * Transcripts are either read from a file, which every session replays, or generated with
+ * {@link DatasetGenerator}, a different one per session. <code>bye</code> lines are skipped.
+ *
+ * Usage: <code>java -cp morpheus.jar morpheus.tools.ReplayLoadTester [--sessions N] [--shared]
+ * [--transcript FILE | --commands N] [--seed N] [--policy immediate|deferred|periodic]</code>
+ *
+ * @author Aayush
+ */
+public class ReplayLoadTester {
+    private static final int DEFAULT_SESSIONS = 16;
+    private static final int DEFAULT_COMMANDS = 2000;
+    private static final String EXIT = "bye";
+
+    private final int sessions;
+    private final boolean isShared;
+    private final Storage.WritePolicy writePolicy;
+
+    /**
+     * Creates a load tester.
+     *
+     * @param sessions    the number of concurrent sessions
+     * @param isShared    whether all sessions use one engine and save file, rather than one each
+     * @param writePolicy when sessions' save files are written
+     */
+    public ReplayLoadTester(int sessions, boolean isShared, Storage.WritePolicy writePolicy) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("At least one session is needed");
+        }
+        this.sessions = sessions;
+        this.isShared = isShared;
+        this.writePolicy = writePolicy;
+    }
+
+    /**
+     * Generates one transcript per session with {@link DatasetGenerator}.
+     *
+     * @param sessions the number of transcripts
+     * @param commands the number of commands in each transcript
+     * @param seed     the seed of the first transcript; later ones use the following seeds
+     * @return the transcripts, without their final <code>bye</code>
+     */
+    public static List<List<String>> generateTranscripts(int sessions, int commands, long seed) {
+        List<List<String>> transcripts = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            StringWriter out = new StringWriter();
+            try {
+                new DatasetGenerator(seed + i).writeTranscript(out, commands + 1L);
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // a StringWriter never throws
+            }
+            transcripts.add(withoutExit(List.of(out.toString().split("\n"))));
+        }
+        return transcripts;
+    }
+
+    /**
+     * Replays the transcripts, session {@code i} replaying transcript {@code i % transcripts.size()}.
+     *
+     * @param transcripts the commands to replay
+     * @return the measurements
+     * @throws IOException          if the temporary directory cannot be created or deleted
+     * @throws InterruptedException if interrupted while waiting for the sessions
+     */
+    public Report run(List<List<String>> transcripts) throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("morpheus-replay");
+        ExecutorService executor = BackgroundExecutor.newThreadPerTaskExecutor("morpheus-replay");
+        try {
+            List<Morpheus> engines = new ArrayList<>(sessions);
+            Morpheus shared = isShared ? newEngine(directory.resolve("shared.txt")) : null;
+            for (int i = 0; i < sessions; i++) {
+                engines.add(isShared ? shared : newEngine(directory.resolve("session-" + i + ".txt")));
+            }
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            CountDownLatch startSignal = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                Morpheus engine = engines.get(i);
+                List<String> transcript = withoutExit(transcripts.get(i % transcripts.size()));
+                results.add(executor.submit(() -> replay(engine, transcript, latencies, startSignal)));
+            }
+
+            long bytesBefore = bytesWritten(engines);
+            long start = System.nanoTime();
+            startSignal.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            engines.stream().distinct().forEach(Morpheus::flush);
+            long elapsed = System.nanoTime() - start;
+
+            return new Report(sessions, isShared, latencies, elapsed, bytesWritten(engines) - bytesBefore);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A session failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            deleteRecursively(directory);
+        }
+    }
+
+    private Morpheus newEngine(Path file) {
+        return new Morpheus(new Storage(file.toString(), writePolicy));
+    }
+
+    /**
+     * Returns the bytes written so far by the save files of the given engines, counting a shared engine once.
+     */
+    private static long bytesWritten(List<Morpheus> engines) {
+        return engines.stream().distinct().map(Morpheus::getMetrics).mapToLong(Metrics::getBytesWritten).sum();
+    }
+
+    private static Void replay(Morpheus engine, List<String> transcript, LatencyHistogram latencies,
+            CountDownLatch startSignal) throws InterruptedException {
+        startSignal.await();
+        for (String command : transcript) {
+            long start = System.nanoTime();
+            engine.getResponse(command);
+            latencies.record(System.nanoTime() - start);
+        }
+        return null;
+    }
+
+    private static List<String> withoutExit(List<String> transcript) {
+        return transcript.stream()
+                .filter(line -> !line.isBlank() && !EXIT.equalsIgnoreCase(line.trim()))
+                .collect(Collectors.toList());
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int sessions = DEFAULT_SESSIONS;
+        boolean isShared = false;
+        Path transcriptFile = null;
+        int commands = DEFAULT_COMMANDS;
+        long seed = 42;
+        Storage.WritePolicy policy = Storage.WritePolicy.IMMEDIATE;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--sessions":
+                sessions = Integer.parseInt(args[++i]);
+                break;
+            case "--shared":
+                isShared = true;
+                break;
+            case "--transcript":
+                transcriptFile = Paths.get(args[++i]);
+                break;
+            case "--commands":
+                commands = Integer.parseInt(args[++i]);
+                break;
+            case "--seed":
+                seed = Long.parseLong(args[++i]);
+                break;
+            case "--policy":
+                policy = Storage.WritePolicy.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<List<String>> transcripts = transcriptFile != null
+                ? List.of(Files.readAllLines(transcriptFile))
+                : generateTranscripts(sessions, commands, seed);
+        Report report = new ReplayLoadTester(sessions, isShared, policy).run(transcripts);
+        System.out.println(report);
+    }
+
+    /**
+     * The measurements of one run.
+     */
+    public static class Report {
+        private final int sessions;
+        private final boolean isShared;
+        private final LatencyHistogram latencies;
+        private final long elapsedNanos;
+        private final long bytesWritten;
+
+        private Report(int sessions, boolean isShared, LatencyHistogram latencies, long elapsedNanos,
+                long bytesWritten) {
+            this.sessions = sessions;
+            this.isShared = isShared;
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            this.bytesWritten = bytesWritten;
+        }
+
+        public long getCommands() {
+            return latencies.getCount();
+        }
+
+        public double getThroughput() {
+            return getCommands() / (elapsedNanos / 1e9);
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public double getBytesWrittenPerCommand() {
+            return getCommands() == 0 ? 0 : (double) bytesWritten / getCommands();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%,d commands from %d %s session(s) in %.2f s: %,.0f commands/s%n"
+                            + "latency p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms%n"
+                            + "save files: %,d bytes written, %,.0f bytes per command",
+                    getCommands(), sessions, isShared ? "shared" : "isolated", elapsedNanos / 1e9, getThroughput(),
+                    latencies.getValueAtPercentile(50) / 1e6, latencies.getValueAtPercentile(90) / 1e6,
+                    latencies.getValueAtPercentile(99) / 1e6, latencies.getValueAtPercentile(99.9) / 1e6,
+                    latencies.getMax() / 1e6, bytesWritten, getBytesWrittenPerCommand());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package morpheus.tools;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import morpheus.utils.StartupProfiler;
+
+/**
+ * Measures time-to-first-frame and time-to-interactive of the GUI over repeated cold starts.
+ * <p>
+ * Each run starts a fresh JVM with <code>-Dmorpheus.startup.report=true</code> in a temporary
+ * folder holding a generated save file of 10,000 tasks (or the number given with
+ * <code>--tasks</code>), and reads the start-up phases it reports on standard error. The run
+ * ends once the window is interactive, i.e. the welcome message and reminders are shown.
+ * After one warm-up run, the median and worst time of every phase are printed, measured
+ * from JVM launch. With <code>--cli</code> the terminal REPL is measured instead, up to its
+ * first prompt.
+ * </p>
+ *
+ * Usage: <code>java -cp morpheus.jar morpheus.tools.StartupBenchmark [--runs N] [--tasks N] [--cli]</code>
+ *
+ * @author Aayush
+ */
+public class StartupBenchmark {
+    private static final int DEFAULT_RUNS = 10;
+    private static final long DEFAULT_TASKS = 10_000;
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final String LAST_PHASE = "interactive";
+    /** Named rather than referenced, so that this class never loads JavaFX. */
+    private static final String LAUNCHER = "morpheus.Launcher";
+    private static final Pattern PHASE = Pattern.compile(Pattern.quote(StartupProfiler.PREFIX) + "(.+) at (\\d+) ms");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = DEFAULT_RUNS;
+        long tasks = DEFAULT_TASKS;
+        boolean isCli = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--runs":
+                runs = Integer.parseInt(args[++i]);
+                break;
+            case "--tasks":
+                tasks = Long.parseLong(args[++i]);
+                break;
+            case "--cli":
+                isCli = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Path directory = Files.createTempDirectory("morpheus-startup");
+        try {
+            Path saveFile = directory.resolve("data").resolve("morpheus.txt");
+            Files.createDirectories(saveFile.getParent());
+            try (Writer out = Files.newBufferedWriter(saveFile, StandardCharsets.UTF_8)) {
+                new DatasetGenerator(42).writeSaveFile(out, tasks);
+            }
+
+            List<String> command = new ArrayList<>(List.of(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-D" + StartupProfiler.REPORT_PROPERTY + "=true",
+                    "-cp", System.getProperty("java.class.path"),
+                    LAUNCHER));
+            if (isCli) {
+                command.add("--cli");
+            }
+
+            startOnce(command, directory); // warm-up, e.g. for the OS file cache
+            Map<String, List<Long>> phases = new LinkedHashMap<>();
+            for (int run = 0; run < runs; run++) {
+                startOnce(command, directory).forEach((phase, millis) ->
+                        phases.computeIfAbsent(phase, key -> new ArrayList<>()).add(millis));
+            }
+            report(runs, tasks, phases);
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts Morpheus once and returns the time of every phase it reported, in milliseconds
+     * since JVM launch, stopping it once it is interactive.
+     */
+    private static Map<String, Long> startOnce(List<String> command, Path directory)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        process.getOutputStream().close(); // the REPL ends at the end of its input
+        CompletableFuture.delayedExecutor(TIMEOUT_SECONDS, TimeUnit.SECONDS).execute(process::destroyForcibly);
+
+        Map<String, Long> phases = new LinkedHashMap<>();
+        try (BufferedReader err = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = err.readLine()) != null) {
+                Matcher matcher = PHASE.matcher(line);
+                if (!matcher.find()) {
+                    continue;
+                }
+                phases.put(matcher.group(1), Long.parseLong(matcher.group(2)));
+                if (LAST_PHASE.equals(matcher.group(1))) {
+                    break;
+                }
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+        return phases;
+    }
+
+    private static void report(int runs, long tasks, Map<String, List<Long>> phases) {
+        System.out.printf("%d cold starts with %,d tasks, in ms since JVM launch:%n", runs, tasks);
+        for (Map.Entry<String, List<Long>> entry : phases.entrySet()) {
+            List<Long> millis = new ArrayList<>(entry.getValue());
+            Collections.sort(millis);
+            System.out.printf("%-16s median %6d   max %6d%n",
+                    entry.getKey(), millis.get(millis.size() / 2), millis.get(millis.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package morpheus.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor used to run Morpheus work off the calling thread,
+ * e.g. off the JavaFX application thread.
+ * <p>
+ * On runtimes that support virtual threads (Java 21+), every task gets its own
+ * virtual thread. On older runtimes a cached pool of daemon platform threads is
+ * used instead, so background work never keeps the application alive on exit.
+ * </p>
+ *
+ * @author Aayush
+ */
+public class BackgroundExecutor {
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private BackgroundExecutor() {
+    }
+
+    /**
+     * Returns the shared background executor.
+     *
+     * @return an executor that runs each task on a virtual thread when available
+     */
+    public static ExecutorService get() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Creates a new executor that runs each task on its own thread, preferring virtual threads.
+     *
+     * @param name the prefix used for platform thread names when virtual threads are unavailable
+     * @return a new thread-per-task executor
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String name) {
+        try {
+            // Looked up reflectively so the code still compiles and runs on Java 17
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonThreads(name));
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        return newThreadPerTaskExecutor("morpheus-worker");
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
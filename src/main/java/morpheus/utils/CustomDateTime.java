@@ -343,6 +343,26 @@ public class CustomDateTime implements Comparable<CustomDateTime> {
         return hour12 + ":" + String.format("%02d", m) + " " + ampm;
     }
 
+    /**
+     * Returns the minute of the day, or -1 if there is no time; used to store dates in binary form.
+     */
+    int getMinuteOfDay() {
+        return hasTime ? hour * 60 + minute : -1;
+    }
+
+    LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Restores a date-time from its date and {@link #getMinuteOfDay() minute of the day}.
+     */
+    static CustomDateTime of(LocalDate date, int minuteOfDay) {
+        return minuteOfDay < 0
+                ? new CustomDateTime(date)
+                : new CustomDateTime(date, minuteOfDay / 60, minuteOfDay % 60);
+    }
+
     /**
      * Convert this {@code CustomDateTime} to a {@link LocalDateTime}.
      *
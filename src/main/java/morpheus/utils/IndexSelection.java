@@ -0,0 +1,55 @@
+package morpheus.utils;
+
+import java.util.BitSet;
+
+/**
+ * Parses task number selections such as <code>3</code>, <code>3,7</code> or
+ * <code>3,7,10-250</code> into zero-based task indices.
+ * <p>
+ * Selections are validated against the size of the task list before any index
+ * is materialised, so a typo such as <code>1-999999</code> is rejected up front
+ * instead of allocating a huge selection. The returned indices are always
+ * sorted in ascending order with duplicates removed, which lets callers apply
+ * bulk changes in a single pass over the task list.
+ * </p>
+ *
+ * @author Aayush
+ */
+public class IndexSelection {
+    private static final String LIST_SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = "-";
+
+    private IndexSelection() {
+    }
+
+    /**
+     * Parses a one-based selection string into sorted, distinct zero-based indices.
+     *
+     * @param selection the raw selection, e.g. <code>3,7,10-250</code>
+     * @param taskCount the number of tasks currently in the list
+     * @return the selected zero-based indices in ascending order
+     * @throws NumberFormatException if the selection is empty or malformed
+     * @throws IndexOutOfBoundsException if any selected task number does not exist
+     */
+    public static int[] parse(String selection, int taskCount) {
+        String compact = selection.replaceAll("\\s+", "");
+        if (compact.isEmpty()) {
+            throw new NumberFormatException("Empty task selection");
+        }
+
+        BitSet selected = new BitSet(taskCount);
+        for (String part : compact.split(LIST_SEPARATOR, -1)) {
+            int separator = part.indexOf(RANGE_SEPARATOR, 1);
+            int from = Integer.parseInt(separator < 0 ? part : part.substring(0, separator));
+            int to = separator < 0 ? from : Integer.parseInt(part.substring(separator + 1));
+            if (from > to) {
+                throw new NumberFormatException("Descending range: " + part);
+            }
+            if (from < 1 || to > taskCount) {
+                throw new IndexOutOfBoundsException("Task number out of range: " + part);
+            }
+            selected.set(from - 1, to);
+        }
+        return selected.stream().toArray();
+    }
+}
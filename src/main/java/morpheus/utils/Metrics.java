@@ -0,0 +1,210 @@
+package morpheus.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects how long commands and save file reads and writes take, for the <code>stats</code> command.
+ * <p>
+ * Latencies are kept per command type in {@link LatencyHistogram}s. The number of bytes read
+ * and written and the number of corrupted save file lines skipped are counted as well. Each
+ * {@link Storage} has its own metrics, which the {@code Morpheus} instance using it records its
+ * commands in, so one tenant's <code>stats</code> never shows another's. Counters are updated
+ * without locks.
+ * </p>
+ *
+ * If <code>-Dmorpheus.stats.file=PATH</code> is set, front ends that serve a single task list
+ * also write the report to that file every minute, or as often as
+ * <code>-Dmorpheus.stats.interval</code> (in milliseconds) says; see {@link #startDumping()}.
+ *
+ * @author Aayush
+ */
+public class Metrics {
+    private static final String DUMP_FILE = System.getProperty("morpheus.stats.file");
+    private static final long DUMP_INTERVAL_MILLIS = Long.getLong("morpheus.stats.interval", 60_000L);
+    private static final String HEADER = "Here's how things have been running in the Matrix:";
+    private static final String ROW_FORMAT = "%-10s %8s %10s %10s %10s %10s%n";
+
+    private final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private final ClassValue<LatencyHistogram> commandsByClass = new ClassValue<>() {
+        @Override
+        protected LatencyHistogram computeValue(Class<?> type) {
+            return forCommand(commandName(type));
+        }
+    };
+    private final LatencyHistogram loads = new LatencyHistogram();
+    private final LatencyHistogram saves = new LatencyHistogram();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder corruptedLines = new LongAdder();
+
+    /**
+     * Returns the latency histogram of the command with the given name, e.g. "begin".
+     *
+     * @param name the command word
+     * @return the histogram that latencies of that command are recorded in
+     */
+    public LatencyHistogram forCommand(String name) {
+        return commands.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the latency histogram of commands of the given class, named after the class,
+     * e.g. "list" for {@code ListCommand}. Cheaper than looking the histogram up by name.
+     *
+     * @param type the command class
+     * @return the histogram that latencies of that command are recorded in
+     */
+    public LatencyHistogram forCommand(Class<?> type) {
+        return commandsByClass.get(type);
+    }
+
+    /**
+     * Records a read of the save file.
+     *
+     * @param nanos the time taken to read and decode the file
+     * @param bytes the size of the file
+     */
+    public void recordLoad(long nanos, long bytes) {
+        loads.record(nanos);
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Records a write of the save file.
+     *
+     * @param nanos the time taken to encode and write the file
+     * @param bytes the number of bytes written
+     */
+    public void recordSave(long nanos, long bytes) {
+        saves.record(nanos);
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Records that a corrupted line of the save file was skipped.
+     */
+    public void recordCorruptedLine() {
+        corruptedLines.increment();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getCorruptedLines() {
+        return corruptedLines.sum();
+    }
+
+    /**
+     * Returns a table of the latencies of every command type that has run, and of save file
+     * reads and writes, followed by the I/O counters.
+     *
+     * @return the report shown by the <code>stats</code> command
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder(HEADER).append("\n\n");
+        sb.append(String.format(ROW_FORMAT, "command", "count", "mean", "p50", "p99", "max"));
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(commands).entrySet()) {
+            appendRow(sb, entry.getKey(), entry.getValue());
+        }
+        appendRow(sb, "(load)", loads);
+        appendRow(sb, "(save)", saves);
+        sb.append('\n')
+                .append(String.format("Save file: %s read, %s written, %,d corrupted line(s) skipped",
+                        formatBytes(getBytesRead()), formatBytes(getBytesWritten()), getCorruptedLines()));
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String name, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        if (count == 0) {
+            return;
+        }
+        sb.append(String.format(ROW_FORMAT, name, String.format("%,d", count),
+                formatNanos((long) histogram.getMean()), formatNanos(histogram.getValueAtPercentile(50)),
+                formatNanos(histogram.getValueAtPercentile(99)), formatNanos(histogram.getMax())));
+    }
+
+    /**
+     * Formats a duration with three significant digits, e.g. "850 ns", "12.3 µs" or "4.56 ms".
+     */
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        }
+        String[] units = {"µs", "ms", "s"};
+        double value = nanos / 1_000.0;
+        int unit = 0;
+        while (value >= 1_000 && unit < units.length - 1) {
+            value /= 1_000;
+            unit++;
+        }
+        String pattern = value >= 100 ? "%.0f %s" : value >= 10 ? "%.1f %s" : "%.2f %s";
+        return String.format(Locale.ROOT, pattern, value, units[unit]);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    /**
+     * Names a command class after its command word, e.g. "remind" for {@code RemindCommand}.
+     *
+     * @param type the command class
+     * @return the name that the command's latencies are reported under
+     */
+    public static String commandName(Class<?> type) {
+        String name = type.getSimpleName().replaceFirst("Command$", "").toLowerCase(Locale.ROOT);
+        return name.equals("checkreminders") ? "reminders" : name;
+    }
+
+    /**
+     * Starts writing the report to the file named by <code>-Dmorpheus.stats.file</code> in the
+     * background, if it is set.
+     */
+    public void startDumping() {
+        if (DUMP_FILE != null) {
+            scheduleDumps(Paths.get(DUMP_FILE), DUMP_INTERVAL_MILLIS);
+        }
+    }
+
+    private void scheduleDumps(Path file, long intervalMillis) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "morpheus-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> dump(file), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void dump(Path file) {
+        try {
+            Files.writeString(file, LocalDateTime.now() + "\n" + report() + "\n", StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("[WARN] Could not write stats file: " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package morpheus.utils;
 
 import morpheus.commands.AddCommand;
+import morpheus.commands.ArchiveCommand;
 import morpheus.commands.ByeCommand;
 import morpheus.commands.CheckRemindersCommand;
 import morpheus.commands.Command;
@@ -8,7 +9,10 @@ import morpheus.commands.DeleteCommand;
 import morpheus.commands.FindCommand;
 import morpheus.commands.ListCommand;
 import morpheus.commands.MarkCommand;
+import morpheus.commands.RedoCommand;
 import morpheus.commands.RemindCommand;
+import morpheus.commands.StatsCommand;
+import morpheus.commands.UndoCommand;
 import morpheus.commands.UnmarkCommand;
 /**
  * Parses raw user input into corresponding {@link Command} objects.
@@ -23,9 +27,13 @@ import morpheus.commands.UnmarkCommand;
  * <ul>
  *   <li><code>bye</code> → {@link ByeCommand}</li>
  *   <li><code>list</code> → {@link ListCommand}</li>
- *   <li><code>mark {taskNumber}</code> → {@link MarkCommand}</li>
- *   <li><code>unmark {taskNumber}</code> → {@link UnmarkCommand}</li>
- *   <li><code>delete {taskNumber}</code> → {@link DeleteCommand}</li>
+ *   <li><code>mark {taskNumbers}</code> → {@link MarkCommand}</li>
+ *   <li><code>unmark {taskNumbers}</code> → {@link UnmarkCommand}</li>
+ *   <li><code>delete {taskNumbers}</code> → {@link DeleteCommand}</li>
+ *   <li><code>undo</code> → {@link UndoCommand}</li>
+ *   <li><code>redo</code> → {@link RedoCommand}</li>
+ *   <li><code>stats</code> → {@link StatsCommand}</li>
+ *   <li><code>archive [days]</code> → {@link ArchiveCommand}</li>
  *   <li><code>todo {...}</code> → {@link AddCommand}</li>
  *   <li><code>deadline {...} /by {...}</code> → {@link AddCommand}</li>
  *   <li><code>event {...} /from {...} /to {...}</code> → {@link AddCommand}</li>
@@ -57,6 +65,10 @@ public class Parser {
         case "delete": return new DeleteCommand(input);
         case "remind": return new RemindCommand(input);
         case "reminders": return new CheckRemindersCommand(input);
+        case "undo": return new UndoCommand(input);
+        case "redo": return new RedoCommand(input);
+        case "stats": return new StatsCommand(input);
+        case "archive": return new ArchiveCommand(input);
         case "event":
         case "todo":
         case "deadline":
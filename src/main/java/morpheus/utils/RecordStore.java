@@ -0,0 +1,668 @@
+package morpheus.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+/**
+ * Keeps every task in a fixed-size slot of a random-access record file, so that most changes
+ * are written in place, for the {@link Storage.Layout#RECORDS} layout.
+ * <p>
+ * A slot holds a task's status, type, dates and reminder, the position of its description in
+ * a separate heap file, to which descriptions are only ever appended, and a CRC32C checksum. The slots are chained
+ * in list order through a "next" field, starting from the head slot named in the header.
+ * A write compares every task with the slot it was last written to and writes only the bytes
+ * that differ: marking or unmarking a task is a one-byte write of its status, and deleting one
+ * frees its slot and relinks the slot before it. Freed slots are reused by later additions.
+ * </p>
+ *
+ * Writes are ordered so that a crash part-way leaves a state that can be recovered: new slots
+ * are filled before they are linked in, and deleted slots are freed before they are unlinked.
+ * Every open walks the whole file, and repairs the chain if it is broken, points at free slots
+ * or misses used ones (e.g. a new task that was never linked in, which is put at the end).
+ * Slots whose checksum does not match are moved to the save file's quarantine file (see
+ * {@link SaveFileScanner}) and freed. Once more than half of the heap holds descriptions no
+ * slot uses any more, both files are rewritten compactly under a new heap generation, which
+ * the header names, so the old files stay valid until the new header has been moved into place.
+ *
+ * @author Aayush
+ */
+final class RecordStore implements TaskStore {
+    /** Appended to the save file's name to name the record file, e.g. <code>morpheus.txt.records</code>. */
+    static final String SUFFIX = ".records";
+    private static final String HEAP_SUFFIX = ".heap.";
+
+    private static final int MAGIC = 0x4D525052; // "MRPR"
+    private static final int FORMAT_VERSION = 2;
+    /** Version 1 slots had no checksum; such files are read and then rewritten in the current format. */
+    private static final int CHECKSUMLESS_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int SLOT_BYTES = 44;
+    private static final int CHECKSUMLESS_SLOT_BYTES = 40;
+    private static final int HEAD_POSITION = 16;
+    private static final int NONE = -1;
+    private static final long MIN_COMPACTION_BYTES = 1 << 16;
+
+    // Slot layout
+    static final int STATUS = 0;
+    private static final int TYPE = 1;
+    private static final int FLAGS = 2;
+    private static final int NEXT = 4;
+    private static final int FIRST_DATE = 8;
+    private static final int SECOND_DATE = 14;
+    private static final int REMINDER_DATE = 20;
+    private static final int HEAP_OFFSET = 28;
+    private static final int HEAP_LENGTH = 36;
+    private static final int CHECKSUM = 40;
+
+    static final byte FREE = 0;
+    static final byte OPEN = 1;
+    static final byte DONE = 2;
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final byte REMINDER_FLAG = 1;
+
+    private final Path saveFile;
+    private final Path file;
+    private final Metrics metrics;
+
+    private FileChannel records;
+    private int slotBytes = SLOT_BYTES;
+    private FileChannel heap;
+    private long heapGeneration;
+    private long heapSize;
+    private int head = NONE;
+    /** Every slot in the file, in slot order; {@code null} for free slots. */
+    private final List<Slot> slots = new ArrayList<>();
+    private final Map<Task, Integer> slotsByTask = new IdentityHashMap<>();
+    /** Free slots, lowest first, rebuilt from the slots' status on every open. */
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    RecordStore(Path saveFile, Metrics metrics) {
+        this.saveFile = saveFile;
+        this.file = saveFile.resolveSibling(saveFile.getFileName() + SUFFIX);
+        this.metrics = metrics;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Reads every slot, repairing the chain of slots first if it is inconsistent.
+     *
+     * @return the number of bytes read
+     */
+    @Override
+    public synchronized long load(List<Task> tasks) throws IOException {
+        close();
+        if (!exists()) {
+            return 0;
+        }
+        records = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = readFully(records, HEADER_BYTES, 0);
+        int version = header.getInt(4);
+        if (header.getInt(0) != MAGIC || (version != FORMAT_VERSION && version != CHECKSUMLESS_VERSION)) {
+            close();
+            throw new IOException("Unknown record file format in " + file);
+        }
+        slotBytes = version == FORMAT_VERSION ? SLOT_BYTES : CHECKSUMLESS_SLOT_BYTES;
+        heapGeneration = header.getLong(8);
+        head = header.getInt(HEAD_POSITION);
+        heap = FileChannel.open(heapPath(heapGeneration),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        heapSize = heap.size();
+        deleteOtherHeaps();
+
+        long recordBytes = records.size() - HEADER_BYTES;
+        int capacity = (int) (recordBytes / slotBytes);
+        if (recordBytes % slotBytes != 0) {
+            // A slot added to the end was cut short
+            records.truncate(HEADER_BYTES + (long) capacity * slotBytes);
+        }
+        ByteBuffer all = readFully(records, capacity * slotBytes, HEADER_BYTES);
+        ByteBuffer descriptions = readFully(heap, Math.toIntExact(heapSize), 0);
+
+        long liveHeapBytes = 0;
+        List<String> damaged = new ArrayList<>();
+        List<Integer> damagedSlots = new ArrayList<>();
+        for (int i = 0; i < capacity; i++) {
+            byte[] record = bytes(all, i * slotBytes, slotBytes);
+            Slot slot = decodeSlot(record, descriptions, true);
+            if (slot == null && record[STATUS] != FREE) {
+                damaged.add(describeDamaged(i, record, descriptions));
+                damagedSlots.add(i);
+            }
+            slots.add(slot);
+            if (slot != null) {
+                liveHeapBytes += slot.heapLength;
+            }
+        }
+
+        if (!damaged.isEmpty()) {
+            // Quarantined before they are freed, so a crash in between loses nothing
+            SaveFileScanner.quarantine(saveFile, damaged);
+            for (int s : damagedSlots) {
+                writeByte(s, STATUS, FREE);
+                metrics.recordCorruptedLine();
+            }
+            System.err.println("[WARN] Moved " + damaged.size() + " damaged task record(s) from " + file
+                    + " to " + SaveFileScanner.quarantinePathFor(saveFile));
+        }
+
+        List<Task> loaded = new ArrayList<>();
+        for (int s : recoverOrder()) {
+            Slot slot = slots.get(s);
+            loaded.add(slot.task);
+            slotsByTask.put(slot.task, s);
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (slots.get(i) == null) {
+                freeSlots.add(i);
+            }
+        }
+        long bytes = HEADER_BYTES + (long) capacity * slotBytes + heapSize;
+        if (slotBytes != SLOT_BYTES || (heapSize > MIN_COMPACTION_BYTES && liveHeapBytes < heapSize / 2)) {
+            rewrite(loaded, true);
+        }
+        tasks.addAll(loaded);
+        return bytes;
+    }
+
+    /**
+     * Returns the quarantine line for a damaged slot: the task it holds if it can still be
+     * decoded, or else the raw slot in hex.
+     */
+    private static String describeDamaged(int s, byte[] record, ByteBuffer descriptions) {
+        Slot slot = decodeSlot(record, descriptions, false);
+        if (slot != null) {
+            return slot.task.encode();
+        }
+        StringBuilder sb = new StringBuilder("# damaged record in slot ").append(s).append(':');
+        for (byte b : record) {
+            sb.append(String.format(" %02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Walks the chain from the head, and relinks it if it is broken, runs through free slots,
+     * or misses used slots.
+     *
+     * @return the used slots in list order
+     */
+    private List<Integer> recoverOrder() throws IOException {
+        List<Integer> order = new ArrayList<>();
+        BitSet visited = new BitSet(slots.size());
+        boolean isDamaged = false;
+        for (int s = head; s != NONE; ) {
+            if (s < 0 || s >= slots.size() || visited.get(s)) {
+                isDamaged = true; // out of range or a cycle
+                break;
+            }
+            visited.set(s);
+            Slot slot = slots.get(s);
+            if (slot == null) {
+                isDamaged = true; // freed but not yet unlinked
+                s = readInt(s, NEXT);
+                continue;
+            }
+            order.add(s);
+            s = slot.next;
+        }
+        for (int s = 0; s < slots.size(); s++) {
+            if (slots.get(s) != null && !visited.get(s)) {
+                isDamaged = true; // filled but not yet linked in
+                order.add(s);
+            }
+        }
+        if (isDamaged) {
+            System.err.println("[WARN] Repaired the order of task records in " + file);
+            relink(order.stream().mapToInt(Integer::intValue).toArray());
+            records.force(true);
+        }
+        return order;
+    }
+
+    /**
+     * Brings the record file in line with {@code tasks}, writing only the bytes that changed.
+     *
+     * @return the number of bytes written
+     */
+    @Override
+    public synchronized long write(List<Task> tasks, boolean isDurable) throws IOException {
+        if (records == null) {
+            return rewrite(tasks, isDurable);
+        }
+        int[] slotOf = matchSlots(tasks);
+        long bytes = 0;
+
+        // New tasks are stored before anything links to them...
+        for (int i = 0; i < tasks.size(); i++) {
+            if (slotOf[i] == NONE) {
+                slotOf[i] = freeSlots.isEmpty() ? slots.size() : freeSlots.poll();
+                bytes += store(slotOf[i], tasks.get(i));
+            }
+        }
+        // ...and deleted ones are freed before they are unlinked, so a crash in between is recoverable
+        BitSet isUsed = new BitSet(slots.size());
+        for (int s : slotOf) {
+            isUsed.set(s);
+        }
+        List<Integer> freed = new ArrayList<>();
+        for (int s = 0; s < slots.size(); s++) {
+            Slot slot = slots.get(s);
+            if (slot != null && !isUsed.get(s)) {
+                writeByte(s, STATUS, FREE);
+                bytes++;
+                slotsByTask.remove(slot.task);
+                slots.set(s, null);
+                freed.add(s);
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            bytes += update(slotOf[i], tasks.get(i));
+        }
+        bytes += relink(slotOf);
+        freeSlots.addAll(freed);
+
+        if (isDurable) {
+            heap.force(true);
+            records.force(true);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the slot every task was last written to, or {@link #NONE} for new tasks.
+     * Tasks are matched by identity, or else by encoding, e.g. for copies of stored tasks.
+     */
+    private int[] matchSlots(List<Task> tasks) {
+        int[] slotOf = new int[tasks.size()];
+        BitSet isTaken = new BitSet(slots.size());
+        boolean hasUnmatched = false;
+        for (int i = 0; i < tasks.size(); i++) {
+            Integer s = slotsByTask.get(tasks.get(i));
+            if (s != null && !isTaken.get(s)) {
+                slotOf[i] = s;
+                isTaken.set(s);
+            } else {
+                slotOf[i] = NONE;
+                hasUnmatched = true;
+            }
+        }
+        if (!hasUnmatched) {
+            return slotOf;
+        }
+        Map<String, Deque<Integer>> untaken = new HashMap<>();
+        for (int s = 0; s < slots.size(); s++) {
+            if (slots.get(s) != null && !isTaken.get(s)) {
+                untaken.computeIfAbsent(slots.get(s).task.encode(), k -> new ArrayDeque<>()).add(s);
+            }
+        }
+        for (int i = 0; i < tasks.size() && !untaken.isEmpty(); i++) {
+            Deque<Integer> candidates = slotOf[i] == NONE ? untaken.get(tasks.get(i).encode()) : null;
+            if (candidates != null && !candidates.isEmpty()) {
+                slotOf[i] = candidates.poll();
+            }
+        }
+        return slotOf;
+    }
+
+    /**
+     * Writes a new task to a free or new slot, unlinked.
+     */
+    private long store(int s, Task task) throws IOException {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        long offset = appendToHeap(description);
+        Slot slot = new Slot(task, encodeRecord(task, NONE, offset, description), offset, description.length);
+        writeAt(records, ByteBuffer.wrap(slot.record), slotPosition(s));
+        if (s == slots.size()) {
+            slots.add(slot);
+        } else {
+            slots.set(s, slot);
+        }
+        slotsByTask.put(task, s);
+        return slotBytes + description.length;
+    }
+
+    /**
+     * Rewrites the bytes of a slot that differ from {@code task}, e.g. only the status after a mark.
+     */
+    private long update(int s, Task task) throws IOException {
+        Slot slot = slots.get(s);
+        byte[] encoded = task.encodeUtf8();
+        if (slot.task == task && slot.encoding == encoded) {
+            return 0; // unchanged since it was last written
+        }
+        long bytes = 0;
+        if (slot.task != task) {
+            slotsByTask.remove(slot.task);
+            slotsByTask.put(task, s);
+        }
+        slot.task = task;
+        slot.encoding = encoded;
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        if (!task.getDescription().equals(slot.description)) {
+            slot.heapOffset = appendToHeap(description);
+            slot.heapLength = description.length;
+            slot.description = task.getDescription();
+            bytes += description.length;
+        }
+        byte[] record = encodeRecord(task, slot.next, slot.heapOffset, description);
+        int from = 0;
+        while (from < SLOT_BYTES && record[from] == slot.record[from]) {
+            from++;
+        }
+        if (from == SLOT_BYTES) {
+            return bytes;
+        }
+        int to = SLOT_BYTES;
+        while (record[to - 1] == slot.record[to - 1]) {
+            to--;
+        }
+        writeAt(records, ByteBuffer.wrap(record, from, to - from), slotPosition(s) + from);
+        slot.record = record;
+        return bytes + to - from;
+    }
+
+    /**
+     * Points the head and every slot's next field along {@code order}, writing only the links that change.
+     */
+    private long relink(int[] order) throws IOException {
+        long bytes = 0;
+        int newHead = order.length == 0 ? NONE : order[0];
+        if (newHead != head) {
+            writeAt(records, ByteBuffer.allocate(Integer.BYTES).putInt(0, newHead), HEAD_POSITION);
+            head = newHead;
+            bytes += Integer.BYTES;
+        }
+        for (int i = 0; i < order.length; i++) {
+            Slot slot = slots.get(order[i]);
+            int next = i + 1 < order.length ? order[i + 1] : NONE;
+            if (slot.next != next) {
+                writeAt(records, ByteBuffer.allocate(Integer.BYTES).putInt(0, next), slotPosition(order[i]) + NEXT);
+                slot.next = next;
+                ByteBuffer.wrap(slot.record).putInt(NEXT, next);
+                bytes += Integer.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes {@code tasks} to a new record file and heap of the next generation, and then
+     * moves the record file into place.
+     *
+     * @return the number of bytes written
+     */
+    private long rewrite(List<Task> tasks, boolean isDurable) throws IOException {
+        close();
+        long generation = heapGeneration + 1;
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long bytes = 0;
+        try (FileChannel newHeap = FileChannel.open(heapPath(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             FileChannel newRecords = FileChannel.open(temp,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(FORMAT_VERSION).putLong(generation).putInt(tasks.isEmpty() ? NONE : 0);
+            header.clear();
+            writeAt(newRecords, header, 0);
+            long offset = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+                writeAt(newHeap, ByteBuffer.wrap(description), offset);
+                int next = i + 1 < tasks.size() ? i + 1 : NONE;
+                writeAt(newRecords, ByteBuffer.wrap(encodeRecord(task, next, offset, description)),
+                        HEADER_BYTES + (long) i * SLOT_BYTES);
+                offset += description.length;
+            }
+            bytes = HEADER_BYTES + (long) tasks.size() * SLOT_BYTES + offset;
+            if (isDurable) {
+                newHeap.force(true);
+                newRecords.force(true);
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        // Reopened so that the slots refer to the tasks being kept
+        load(new ArrayList<>());
+        for (int s = 0; s < tasks.size(); s++) {
+            Slot slot = slots.get(s);
+            slotsByTask.remove(slot.task);
+            slot.task = tasks.get(s);
+            slot.encoding = slot.task.encodeUtf8();
+            slotsByTask.put(slot.task, s);
+        }
+        return bytes;
+    }
+
+    synchronized void close() throws IOException {
+        if (records != null) {
+            records.close();
+            records = null;
+        }
+        if (heap != null) {
+            heap.close();
+            heap = null;
+        }
+        slots.clear();
+        slotsByTask.clear();
+        freeSlots.clear();
+        head = NONE;
+    }
+
+    private Path heapPath(long generation) {
+        return file.resolveSibling(file.getFileName() + HEAP_SUFFIX + generation);
+    }
+
+    private void deleteOtherHeaps() throws IOException {
+        String current = heapPath(heapGeneration).getFileName().toString();
+        try (DirectoryStream<Path> heaps = Files.newDirectoryStream(file.toAbsolutePath().getParent(),
+                file.getFileName() + HEAP_SUFFIX + "*")) {
+            for (Path path : heaps) {
+                if (!path.getFileName().toString().equals(current)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private long appendToHeap(byte[] description) throws IOException {
+        long offset = heapSize;
+        writeAt(heap, ByteBuffer.wrap(description), offset);
+        heapSize += description.length;
+        return offset;
+    }
+
+    private long slotPosition(int s) {
+        return HEADER_BYTES + (long) s * slotBytes;
+    }
+
+    private void writeByte(int s, int field, byte value) throws IOException {
+        writeAt(records, ByteBuffer.wrap(new byte[] {value}), slotPosition(s) + field);
+    }
+
+    private int readInt(int s, int field) throws IOException {
+        return readFully(records, Integer.BYTES, slotPosition(s) + field).getInt(0);
+    }
+
+    private static void writeAt(FileChannel channel, ByteBuffer bytes, long position) throws IOException {
+        long at = position;
+        while (bytes.hasRemaining()) {
+            at += channel.write(bytes, at);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Record file ended unexpectedly");
+            }
+        }
+        return buffer.clear();
+    }
+
+    static byte[] encodeRecord(Task task, int next, long heapOffset, byte[] description) {
+        ByteBuffer record = ByteBuffer.allocate(SLOT_BYTES);
+        record.put(STATUS, task.isDone() ? DONE : OPEN);
+        if (task instanceof DeadlineTask) {
+            record.put(TYPE, DEADLINE);
+            putDateTime(record, FIRST_DATE, ((DeadlineTask) task).getEndDateTime());
+        } else if (task instanceof EventTask) {
+            record.put(TYPE, EVENT);
+            putDateTime(record, FIRST_DATE, ((EventTask) task).getStartDateTime());
+            putDateTime(record, SECOND_DATE, ((EventTask) task).getEndDateTime());
+        } else {
+            record.put(TYPE, TODO);
+        }
+        Optional<CustomDateTime> reminder = task.getReminder();
+        if (reminder.isPresent()) {
+            record.put(FLAGS, REMINDER_FLAG);
+            putDateTime(record, REMINDER_DATE, reminder.get());
+        }
+        record.putInt(NEXT, next);
+        record.putLong(HEAP_OFFSET, heapOffset);
+        record.putInt(HEAP_LENGTH, description.length);
+        record.putInt(CHECKSUM, checksumOf(record.array(), description));
+        return record.array();
+    }
+
+    /**
+     * Returns the CRC32C checksum of a slot and its description. The status and next fields
+     * are left out, so that marking a task or relinking its slot stays a single small write;
+     * a damaged status is still caught because only a few values are valid, and a damaged link
+     * by the walk on open.
+     */
+    private static int checksumOf(byte[] record, byte[] description) {
+        CRC32C crc = new CRC32C();
+        crc.update(record, TYPE, NEXT - TYPE);
+        crc.update(record, FIRST_DATE, CHECKSUM - FIRST_DATE);
+        crc.update(description, 0, description.length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Decodes a used slot.
+     *
+     * @param isVerified whether to check the slot's checksum, if it has one
+     * @return the slot, or {@code null} if it is free or damaged
+     */
+    private static Slot decodeSlot(byte[] bytes, ByteBuffer heapBytes, boolean isVerified) {
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+        byte status = record.get(STATUS);
+        long offset = record.getLong(HEAP_OFFSET);
+        int length = record.getInt(HEAP_LENGTH);
+        if ((status != OPEN && status != DONE) || length < 0 || offset < 0 || offset + length > heapBytes.limit()) {
+            return null;
+        }
+        try {
+            byte[] descriptionBytes = bytes(heapBytes, (int) offset, length);
+            if (isVerified && bytes.length == SLOT_BYTES
+                    && record.getInt(CHECKSUM) != checksumOf(bytes, descriptionBytes)) {
+                return null;
+            }
+            String description = new String(descriptionBytes, StandardCharsets.UTF_8);
+            boolean isDone = status == DONE;
+            Task task;
+            switch (record.get(TYPE)) {
+            case TODO:
+                task = new ToDoTask(description, isDone);
+                break;
+            case DEADLINE:
+                task = new DeadlineTask(description, isDone, getDateTime(record, FIRST_DATE));
+                break;
+            case EVENT:
+                task = new EventTask(description, isDone,
+                        getDateTime(record, FIRST_DATE), getDateTime(record, SECOND_DATE));
+                break;
+            default:
+                return null;
+            }
+            if ((record.get(FLAGS) & REMINDER_FLAG) != 0) {
+                task.setReminder(getDateTime(record, REMINDER_DATE));
+            }
+            Slot slot = new Slot(task, bytes, offset, length);
+            slot.next = record.getInt(NEXT);
+            return slot;
+        } catch (RuntimeException e) {
+            return null; // e.g. a date out of range
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private static void putDateTime(ByteBuffer record, int position, CustomDateTime dateTime) {
+        record.putInt(position, (int) dateTime.getDate().toEpochDay());
+        record.putShort(position + Integer.BYTES, (short) dateTime.getMinuteOfDay());
+    }
+
+    private static CustomDateTime getDateTime(ByteBuffer record, int position) {
+        LocalDate date = LocalDate.ofEpochDay(record.getInt(position));
+        return CustomDateTime.of(date, record.getShort(position + Integer.BYTES));
+    }
+
+    /**
+     * A used slot, with the task and record it was last written with.
+     */
+    private static final class Slot {
+        private Task task;
+        private byte[] encoding;
+        private String description;
+        private byte[] record;
+        private long heapOffset;
+        private int heapLength;
+        private int next;
+
+        Slot(Task task, byte[] record, long heapOffset, int heapLength) {
+            this.task = task;
+            this.encoding = task.encodeUtf8();
+            this.description = task.getDescription();
+            this.record = record;
+            this.heapOffset = heapOffset;
+            this.heapLength = heapLength;
+            this.next = ByteBuffer.wrap(record).getInt(NEXT);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package morpheus.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A small least-recently-used cache of responses to read-only commands.
+ * <p>
+ * Each response is stored with the version of the task store it was computed from, and is
+ * only returned while the store is still at that version; any change to the task list
+ * makes every cached response stale at once, without having to clear the cache. A stale
+ * entry is simply overwritten the next time its command is run.
+ * </p>
+ *
+ * The cache is safe to use from several threads. Its capacity can be set with
+ * <code>-Dmorpheus.responseCache.size</code>; a capacity of 0 disables caching.
+ *
+ * @author Aayush
+ */
+public class ResponseCache {
+    /** The number of responses kept when no other capacity is given. */
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("morpheus.responseCache.size", 128);
+
+    private final int capacity;
+    private final Map<String, Entry> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache holding at most {@code capacity} responses.
+     *
+     * @param capacity the maximum number of responses kept; 0 disables caching
+     */
+    public ResponseCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached response to a command, if it was computed at the given version.
+     *
+     * @param key     the command's cache key, or {@code null} if it cannot be cached
+     * @param version the current version of the task store
+     * @return the cached response, or {@code null} on a miss
+     */
+    public synchronized String get(String key, long version) {
+        if (key == null || capacity == 0) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version != version) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response;
+    }
+
+    /**
+     * Caches a command's response, replacing any response computed at another version.
+     *
+     * @param key      the command's cache key, or {@code null} if it cannot be cached
+     * @param version  the version of the task store the response was computed from
+     * @param response the response to cache
+     */
+    public synchronized void put(String key, long version, String response) {
+        if (key == null || capacity == 0) {
+            return;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version < version) {
+            entries.put(key, new Entry(version, response));
+        }
+    }
+
+    /**
+     * Returns the number of responses currently held, including stale ones.
+     *
+     * @return the number of cached responses
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the fraction of lookups that were answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if nothing has been looked up yet
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final String response;
+
+        Entry(long version, String response) {
+            this.version = version;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package morpheus.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Checks the checksum of every record in a save file, and moves damaged records to a quarantine file.
+ * <p>
+ * Every line written to the save file ends in <code>" | #"</code> and the CRC32C checksum of the
+ * rest of the line as 8 hex digits. A scan splits the file into lines and checks each checksum
+ * on the raw bytes, read in large buffers, without decoding any task, so it runs at about the
+ * speed the file can be read. Lines without a checksum, e.g. added by hand or written by an
+ * older version, cannot be checked this way and are left to the decoder.
+ * </p>
+ *
+ * Damaged lines are never dropped. {@link #repair(Path)} appends them unchanged to a
+ * quarantine file next to the save file (e.g. <code>morpheus.txt.quarantine</code>), where they
+ * can be fixed by hand and moved back, and then rewrites the save file without them.
+ *
+ * Run it by hand with {@link morpheus.tools.RecoveryScan}.
+ *
+ * @author Aayush
+ */
+public final class SaveFileScanner {
+    /** Appended to the save file's name to name its quarantine file, e.g. <code>morpheus.txt.quarantine</code>. */
+    static final String QUARANTINE_SUFFIX = ".quarantine";
+
+    private static final byte[] CHECKSUM_MARKER = " | #".getBytes(StandardCharsets.US_ASCII);
+    private static final int CHECKSUM_DIGITS = 8;
+    private static final int CHECKSUM_BYTES = CHECKSUM_MARKER.length + CHECKSUM_DIGITS;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int LINE_SEPARATOR = '\n';
+
+    private SaveFileScanner() {
+    }
+
+    /**
+     * The outcome of a scan.
+     */
+    public static final class Report {
+        private long records;
+        private long verified;
+        private long damaged;
+        private long bytes;
+        private long nanos;
+
+        /**
+         * Returns the number of non-blank lines scanned.
+         *
+         * @return the number of records
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * Returns the number of records whose checksum matched.
+         *
+         * @return the number of verified records
+         */
+        public long getVerified() {
+            return verified;
+        }
+
+        /**
+         * Returns the number of records without a checksum, which only decoding can check.
+         *
+         * @return the number of unchecked records
+         */
+        public long getUnchecked() {
+            return records - verified - damaged;
+        }
+
+        /**
+         * Returns the number of records whose checksum did not match.
+         *
+         * @return the number of damaged records
+         */
+        public long getDamaged() {
+            return damaged;
+        }
+
+        @Override
+        public String toString() {
+            double millis = nanos / 1e6;
+            return String.format("%,d records in %,d bytes scanned in %.1f ms (%.0f MB/s): "
+                            + "%,d verified, %,d without a checksum, %,d damaged",
+                    records, bytes, millis, millis == 0 ? 0 : bytes / 1e3 / millis,
+                    verified, getUnchecked(), damaged);
+        }
+    }
+
+    /**
+     * Writes records, each followed by its checksum and a line separator.
+     */
+    static final class RecordWriter {
+        private static final byte[] NO_PREFIX = new byte[0];
+
+        private final OutputStream out;
+        private final CRC32C crc = new CRC32C();
+        private final byte[] suffix = new byte[CHECKSUM_BYTES + 1];
+
+        RecordWriter(OutputStream out) {
+            this.out = out;
+            System.arraycopy(CHECKSUM_MARKER, 0, suffix, 0, CHECKSUM_MARKER.length);
+            suffix[CHECKSUM_BYTES] = LINE_SEPARATOR;
+        }
+
+        /**
+         * Writes one encoded task as a line.
+         *
+         * @return the number of bytes written
+         */
+        int write(byte[] encoded) throws IOException {
+            return write(NO_PREFIX, encoded);
+        }
+
+        /**
+         * Writes one encoded task as a line, after a prefix that the checksum also covers.
+         *
+         * @return the number of bytes written
+         */
+        int write(byte[] prefix, byte[] encoded) throws IOException {
+            crc.reset();
+            crc.update(prefix, 0, prefix.length);
+            crc.update(encoded, 0, encoded.length);
+            int value = (int) crc.getValue();
+            for (int i = 0; i < CHECKSUM_DIGITS; i++) {
+                suffix[CHECKSUM_MARKER.length + i] = HEX_DIGITS[(value >>> (28 - 4 * i)) & 0xF];
+            }
+            out.write(prefix);
+            out.write(encoded);
+            out.write(suffix);
+            return prefix.length + encoded.length + suffix.length;
+        }
+    }
+
+    /**
+     * Returns a line without its checksum, if it has one. The checksum is not checked.
+     */
+    static String stripChecksum(String line) {
+        int start = line.length() - CHECKSUM_BYTES;
+        if (start < 0 || !line.startsWith(" | #", start)) {
+            return line;
+        }
+        for (int i = start + CHECKSUM_MARKER.length; i < line.length(); i++) {
+            if (Character.digit(line.charAt(i), 16) < 0) {
+                return line;
+            }
+        }
+        return line.substring(0, start);
+    }
+
+    /**
+     * Returns whether a line's checksum matches the rest of it. Lines without a checksum are taken as intact.
+     */
+    static boolean isIntact(String line) {
+        String content = stripChecksum(line);
+        if (content.length() == line.length()) {
+            return true;
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length);
+        int expected = Integer.parseUnsignedInt(line.substring(content.length() + CHECKSUM_MARKER.length), 16);
+        return (int) crc.getValue() == expected;
+    }
+
+    /**
+     * Returns the quarantine file of a save file.
+     *
+     * @param saveFile the save file
+     * @return the file damaged records of {@code saveFile} are moved to
+     */
+    public static Path quarantinePathFor(Path saveFile) {
+        return saveFile.resolveSibling(saveFile.getFileName() + QUARANTINE_SUFFIX);
+    }
+
+    /**
+     * Checks the checksum of every record in a save file, changing nothing.
+     *
+     * @param saveFile the save file to check
+     * @return the number of records checked and found damaged
+     * @throws IOException if the file cannot be read
+     */
+    public static Report scan(Path saveFile) throws IOException {
+        return scan(saveFile, new BitSet());
+    }
+
+    /**
+     * Moves every record whose checksum does not match from the save file to the quarantine file.
+     *
+     * @param saveFile the save file to repair
+     * @return what the scan found
+     * @throws IOException if the file cannot be read or rewritten
+     */
+    public static Report repair(Path saveFile) throws IOException {
+        BitSet damagedLines = new BitSet();
+        Report report = scan(saveFile, damagedLines);
+        if (report.damaged == 0) {
+            return report;
+        }
+
+        Path temp = saveFile.resolveSibling(saveFile.getFileName() + ".tmp");
+        try (FileChannel in = FileChannel.open(saveFile, StandardOpenOption.READ);
+             FileChannel kept = FileChannel.open(temp,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             FileChannel quarantine = FileChannel.open(quarantinePathFor(saveFile),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             OutputStream keptOut = new BufferedOutputStream(Channels.newOutputStream(kept), BUFFER_SIZE);
+             OutputStream quarantineOut = new BufferedOutputStream(Channels.newOutputStream(quarantine))) {
+            forEachLine(in, (bytes, from, to, line) -> {
+                if (to == from) {
+                    return;
+                }
+                OutputStream out = damagedLines.get((int) line) ? quarantineOut : keptOut;
+                out.write(bytes, from, to - from);
+                out.write(LINE_SEPARATOR);
+            });
+            // The damaged records are safe before the save file lets go of them
+            quarantineOut.flush();
+            quarantine.force(true);
+            keptOut.flush();
+            kept.force(true);
+        }
+        try {
+            Files.move(temp, saveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, saveFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return report;
+    }
+
+    /**
+     * Appends lines to the quarantine file of a save file, forcing them to disk.
+     *
+     * @param saveFile the save file the lines came from
+     * @param lines    the damaged lines
+     * @throws IOException if the quarantine file cannot be written
+     */
+    public static void quarantine(Path saveFile, List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        lines.forEach(line -> sb.append(line).append('\n'));
+        try (FileChannel channel = FileChannel.open(quarantinePathFor(saveFile),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+    }
+
+    private static Report scan(Path saveFile, BitSet damagedLines) throws IOException {
+        Report report = new Report();
+        long start = System.nanoTime();
+        CRC32C crc = new CRC32C();
+        try (FileChannel in = FileChannel.open(saveFile, StandardOpenOption.READ)) {
+            report.bytes = in.size();
+            forEachLine(in, (bytes, from, to, line) -> {
+                if (to == from) {
+                    return;
+                }
+                report.records++;
+                int checksumStart = to - CHECKSUM_BYTES;
+                if (checksumStart < from || !hasChecksumAt(bytes, checksumStart)) {
+                    return;
+                }
+                crc.reset();
+                crc.update(bytes, from, checksumStart - from);
+                if ((int) crc.getValue() == readChecksum(bytes, checksumStart + CHECKSUM_MARKER.length)) {
+                    report.verified++;
+                } else {
+                    report.damaged++;
+                    damagedLines.set(Math.toIntExact(line));
+                }
+            });
+        }
+        report.nanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private static boolean hasChecksumAt(byte[] bytes, int position) {
+        for (int i = 0; i < CHECKSUM_MARKER.length; i++) {
+            if (bytes[position + i] != CHECKSUM_MARKER[i]) {
+                return false;
+            }
+        }
+        for (int i = position + CHECKSUM_MARKER.length; i < position + CHECKSUM_BYTES; i++) {
+            if (hexValue(bytes[i]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readChecksum(byte[] bytes, int position) {
+        int value = 0;
+        for (int i = 0; i < CHECKSUM_DIGITS; i++) {
+            value = value << 4 | hexValue(bytes[position + i]);
+        }
+        return value;
+    }
+
+    private static int hexValue(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Receives one line of the file, without its line separator and surrounding whitespace.
+     */
+    private interface LineVisitor {
+        void visit(byte[] bytes, int from, int to, long line) throws IOException;
+    }
+
+    /**
+     * Reads a file in large buffers and passes every line to {@code visitor}, numbered from 0.
+     */
+    private static void forEachLine(FileChannel in, LineVisitor visitor) throws IOException {
+        byte[] bytes = new byte[BUFFER_SIZE];
+        int filled = 0;
+        long line = 0;
+        boolean isEnd = false;
+        while (!isEnd) {
+            int read = in.read(ByteBuffer.wrap(bytes, filled, bytes.length - filled));
+            isEnd = read < 0;
+            filled += Math.max(read, 0);
+            int start = 0;
+            for (int i = 0; i < filled; i++) {
+                if (bytes[i] == LINE_SEPARATOR) {
+                    visitTrimmed(visitor, bytes, start, i, line++);
+                    start = i + 1;
+                }
+            }
+            if (isEnd && start < filled) {
+                visitTrimmed(visitor, bytes, start, filled, line++);
+                start = filled;
+            }
+            // Keeps the start of a line that continues in the next read
+            System.arraycopy(bytes, start, bytes, 0, filled - start);
+            filled -= start;
+            if (filled == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2); // a line longer than the buffer
+            }
+        }
+    }
+
+    private static void visitTrimmed(LineVisitor visitor, byte[] bytes, int from, int to, long line)
+            throws IOException {
+        int start = from;
+        int end = to;
+        while (start < end && isWhitespace(bytes[start])) {
+            start++;
+        }
+        while (end > start && isWhitespace(bytes[end - 1])) {
+            end--;
+        }
+        visitor.visit(bytes, start, end, line);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
@@ -0,0 +1,502 @@
+package morpheus.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+
+/**
+ * Keeps the task list in one segment file per month, plus a manifest, for the partitioned storage layout.
+ * <p>
+ * Deadlines are filed under the month they are due and events under the month they start.
+ * Todos have no date, so they share one "undated" segment. Segment files hold tasks in the
+ * save file format, in list order, each after its position in the whole list. Positions only
+ * need to increase along the list, so they are spaced apart and a task keeps its position
+ * until the tasks around it are reordered: adding or deleting a task does not move any other.
+ * Loading merges the segments by position. The manifest only names the current file of every
+ * segment, so it stays as small as the number of segments.
+ * </p>
+ *
+ * A write only rewrites the segments whose tasks changed, comparing each task's cached
+ * encoding and position with what the segment held. Changed segments go to new files named
+ * after the next generation. The manifest is then replaced in one atomic move, and only then
+ * are the old files deleted. A crash therefore leaves the previous generation intact, and
+ * files from an unfinished write are cleaned up on the next load.
+ *
+ * @author Aayush
+ */
+final class SegmentStore implements TaskStore {
+    /** Appended to the save file's name to name the segment directory, e.g. <code>morpheus.txt.segments</code>. */
+    static final String DIRECTORY_SUFFIX = ".segments";
+    static final String UNDATED = "undated";
+
+    private static final String MANIFEST = "manifest";
+    private static final String FORMAT = "morpheus-segments 2";
+    private static final String GENERATION = "generation";
+    private static final String SEGMENT = "segment";
+    private static final String SEGMENT_EXTENSION = ".txt";
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** The gap left between the positions of consecutive tasks, so tasks can be inserted between them. */
+    private static final long POSITION_SPACING = 1 << 16;
+    private static final long NO_POSITION = -1;
+
+    private final Path saveFile;
+    private final Path directory;
+    private final Metrics metrics;
+    /** What every segment held when it was last read or written, by segment key. */
+    private Map<String, Segment> segments = new HashMap<>();
+    /** The position of every task as last read or written. */
+    private Map<Task, Long> positions = new IdentityHashMap<>();
+    private long generation;
+
+    SegmentStore(Path saveFile, Metrics metrics) {
+        this.saveFile = saveFile;
+        this.directory = saveFile.resolveSibling(saveFile.getFileName() + DIRECTORY_SUFFIX);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns whether the segment directory holds a manifest, i.e. the list has been partitioned.
+     */
+    @Override
+    public boolean exists() {
+        return Files.exists(directory.resolve(MANIFEST));
+    }
+
+    /**
+     * Returns the segment a task is filed under: the month of its due date or start, or {@link #UNDATED}.
+     */
+    static String keyOf(Task task) {
+        if (task instanceof DeadlineTask) {
+            return YearMonth.from(((DeadlineTask) task).getEndDateTime().toLocalDateTime()).toString();
+        }
+        if (task instanceof EventTask) {
+            return YearMonth.from(((EventTask) task).getStartDateTime().toLocalDateTime()).toString();
+        }
+        return UNDATED;
+    }
+
+    /**
+     * Reads every segment and appends the tasks to {@code tasks} in list order.
+     *
+     * @return the number of bytes read
+     */
+    @Override
+    public synchronized long load(List<Task> tasks) throws IOException {
+        Files.createDirectories(directory);
+        if (!exists()) {
+            return 0;
+        }
+        readManifest();
+        deleteUnreferencedFiles();
+
+        long bytes = 0;
+        List<Positioned> decoded = new ArrayList<>();
+        List<String> damaged = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            bytes += segment.read(damaged);
+            decoded.addAll(segment.decode(damaged));
+        }
+        // Each segment is already in order, so this mostly merges sorted runs
+        decoded.sort(Comparator.comparingLong(entry -> entry.position));
+        positions = new IdentityHashMap<>();
+        for (Positioned entry : decoded) {
+            tasks.add(entry.task);
+            positions.put(entry.task, entry.position);
+        }
+        if (!damaged.isEmpty()) {
+            // Rewritten straight away, so the damaged lines are only ever quarantined once
+            SaveFileScanner.quarantine(saveFile, damaged);
+            damaged.forEach(line -> metrics.recordCorruptedLine());
+            System.err.println("[WARN] Moved " + damaged.size() + " damaged task(s) to "
+                    + SaveFileScanner.quarantinePathFor(saveFile));
+            write(tasks, true);
+        }
+        return bytes;
+    }
+
+    /**
+     * Brings the segments in line with {@code tasks}, rewriting only the segments that changed.
+     *
+     * @param isDurable whether to force new files to disk before the manifest points at them
+     * @return the number of bytes written, 0 if nothing changed
+     */
+    @Override
+    public synchronized long write(List<Task> tasks, boolean isDurable) throws IOException {
+        Files.createDirectories(directory);
+        long[] assigned = assignPositions(tasks);
+        Map<String, Segment> contents = new LinkedHashMap<>();
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Task task : tasks) {
+            sizes.merge(keyOf(task), 1, Integer::sum);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            String key = keyOf(task);
+            Segment segment = contents.computeIfAbsent(key, k -> new Segment(k, null, sizes.get(k)));
+            segment.lines[segment.size] = task.encodeUtf8();
+            segment.positions[segment.size] = assigned[i];
+            segment.size++;
+        }
+
+        long nextGeneration = generation + 1;
+        Map<String, Segment> next = new HashMap<>();
+        List<Path> obsolete = new ArrayList<>();
+        long bytes = 0;
+        for (Segment content : contents.values()) {
+            Segment previous = segments.get(content.key);
+            if (previous != null && previous.holds(content)) {
+                next.put(content.key, previous);
+                continue;
+            }
+            Segment segment = new Segment(content.key, content.key + "." + nextGeneration + SEGMENT_EXTENSION, 0);
+            segment.lines = content.lines;
+            segment.positions = content.positions;
+            segment.size = content.size;
+            bytes += segment.write(isDurable);
+            next.put(segment.key, segment);
+            if (previous != null) {
+                obsolete.add(previous.path());
+            }
+        }
+        for (Segment segment : segments.values()) {
+            if (!next.containsKey(segment.key)) {
+                obsolete.add(segment.path());
+            }
+        }
+        positions = new IdentityHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            positions.put(tasks.get(i), assigned[i]);
+        }
+        if (bytes == 0 && obsolete.isEmpty() && exists()) {
+            return 0;
+        }
+
+        bytes += writeManifest(nextGeneration, next, isDurable);
+        generation = nextGeneration;
+        segments = next;
+        for (Path path : obsolete) {
+            Files.deleteIfExists(path);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns a position for every task that increases along the list. Tasks keep the position
+     * they were last read or written with where that is in order, so that their segments need
+     * not be rewritten; the others get new positions between those of their neighbours. Only if
+     * there is no room left between two neighbours is every task given a new position.
+     */
+    private long[] assignPositions(List<Task> tasks) {
+        int n = tasks.size();
+        long[] previous = new long[n];
+        for (int i = 0; i < n; i++) {
+            previous[i] = positions.getOrDefault(tasks.get(i), NO_POSITION);
+        }
+        boolean[] isKept = longestIncreasing(previous);
+
+        long[] assigned = new long[n];
+        long lower = 0;
+        int i = 0;
+        while (i < n) {
+            if (isKept[i]) {
+                assigned[i] = previous[i];
+                lower = previous[i];
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < n && !isKept[end]) {
+                end++;
+            }
+            int count = end - i;
+            long step = end < n ? (previous[end] - lower) / (count + 1) : POSITION_SPACING;
+            if (step == 0) {
+                for (int k = 0; k < n; k++) {
+                    assigned[k] = (k + 1) * POSITION_SPACING;
+                }
+                return assigned;
+            }
+            for (int k = 0; k < count; k++) {
+                assigned[i + k] = lower + (k + 1) * step;
+            }
+            lower = assigned[end - 1];
+            i = end;
+        }
+        return assigned;
+    }
+
+    /**
+     * Marks the longest strictly increasing run of known positions, which can all be kept.
+     */
+    private static boolean[] longestIncreasing(long[] values) {
+        int n = values.length;
+        int[] tails = new int[n];
+        int[] before = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            if (values[i] == NO_POSITION) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[tails[middle]] < values[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            before[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] isKept = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = before[i]) {
+            isKept[i] = true;
+        }
+        return isKept;
+    }
+
+    private void readManifest() throws IOException {
+        Map<String, Segment> read = new HashMap<>();
+        long readGeneration = 0;
+        List<String> lines = Files.readAllLines(directory.resolve(MANIFEST), StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !FORMAT.equals(lines.get(0))) {
+            throw new IOException("Unknown segment manifest format in " + directory);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            String[] parts = line.trim().split(" ");
+            try {
+                switch (parts[0]) {
+                case GENERATION:
+                    readGeneration = Long.parseLong(parts[1]);
+                    break;
+                case SEGMENT:
+                    read.put(parts[1], new Segment(parts[1], parts[2], 0));
+                    break;
+                default:
+                    if (!line.isBlank()) {
+                        throw new IOException("Unexpected line in segment manifest: " + line);
+                    }
+                }
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                throw new IOException("Damaged line in segment manifest: " + line);
+            }
+        }
+        generation = readGeneration;
+        segments = read;
+    }
+
+    private long writeManifest(long newGeneration, Map<String, Segment> newSegments, boolean isDurable)
+            throws IOException {
+        StringBuilder sb = new StringBuilder(FORMAT).append('\n');
+        sb.append(GENERATION).append(' ').append(newGeneration).append('\n');
+        for (Segment segment : new TreeMap<>(newSegments).values()) {
+            sb.append(SEGMENT).append(' ').append(segment.key).append(' ').append(segment.fileName).append('\n');
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        Path manifest = directory.resolve(MANIFEST);
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes));
+            if (isDurable) {
+                channel.force(true);
+            }
+        }
+        try {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return bytes.length;
+    }
+
+    /**
+     * Deletes segment files left behind by a write that did not reach its manifest.
+     */
+    private void deleteUnreferencedFiles() throws IOException {
+        List<String> referenced = new ArrayList<>(List.of(MANIFEST));
+        segments.values().forEach(segment -> referenced.add(segment.fileName));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_EXTENSION)) {
+            for (Path path : files) {
+                if (!referenced.contains(path.getFileName().toString())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * One segment file and the encoded lines it held when last read or written, with their positions.
+     */
+    private final class Segment {
+        private final String key;
+        private final String fileName;
+        private byte[][] lines;
+        private long[] positions;
+        private int size;
+        /** Whether the file holds lines that were not read, so that it must be rewritten. */
+        private boolean isDamaged;
+
+        Segment(String key, String fileName, int capacity) {
+            this.key = key;
+            this.fileName = fileName;
+            this.lines = new byte[capacity][];
+            this.positions = new long[capacity];
+        }
+
+        Path path() {
+            return directory.resolve(fileName);
+        }
+
+        /**
+         * Returns whether this segment already holds exactly the lines of {@code other}. Cached
+         * encodings are usually the very same arrays, so most tasks are compared by reference alone.
+         */
+        boolean holds(Segment other) {
+            if (isDamaged || other.size != size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (other.positions[i] != positions[i]
+                        || other.lines[i] != lines[i] && !Arrays.equals(other.lines[i], lines[i])) {
+                    return false;
+                }
+                lines[i] = other.lines[i]; // compare by reference next time
+            }
+            return true;
+        }
+
+        /**
+         * Reads the lines of the file without their positions and checksums.
+         *
+         * @param damaged receives the lines whose checksum does not match, or that have no position
+         */
+        long read(List<String> damaged) throws IOException {
+            List<byte[]> readLines = new ArrayList<>();
+            List<Long> readPositions = new ArrayList<>();
+            long bytes = Files.size(path());
+            isDamaged = false;
+            try (BufferedReader reader = Files.newBufferedReader(path(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    int space = line.indexOf(' ');
+                    long position = parsePosition(line, space);
+                    if (position != NO_POSITION && SaveFileScanner.isIntact(line)) {
+                        readLines.add(SaveFileScanner.stripChecksum(line).substring(space + 1)
+                                .getBytes(StandardCharsets.UTF_8));
+                        readPositions.add(position);
+                    } else {
+                        // Quarantined without the position, as a line that can go back into a save file
+                        damaged.add(position == NO_POSITION ? line : line.substring(space + 1));
+                        isDamaged = true;
+                    }
+                }
+            }
+            size = readLines.size();
+            lines = readLines.toArray(new byte[0][]);
+            positions = readPositions.stream().mapToLong(Long::longValue).toArray();
+            return bytes;
+        }
+
+        /**
+         * Decodes the lines read.
+         *
+         * @param damaged receives the lines that cannot be decoded
+         */
+        List<Positioned> decode(List<String> damaged) {
+            List<Positioned> tasks = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String text = new String(lines[i], StandardCharsets.UTF_8);
+                Optional<Task> task = Storage.decodeTask(text);
+                if (task.isPresent()) {
+                    tasks.add(new Positioned(task.get(), positions[i]));
+                } else {
+                    damaged.add(text);
+                    isDamaged = true;
+                }
+            }
+            return tasks;
+        }
+
+        long write(boolean isDurable) throws IOException {
+            long bytes = 0;
+            try (FileChannel channel = FileChannel.open(path(),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+                SaveFileScanner.RecordWriter records = new SaveFileScanner.RecordWriter(out);
+                for (int i = 0; i < size; i++) {
+                    byte[] position = (positions[i] + " ").getBytes(StandardCharsets.US_ASCII);
+                    bytes += records.write(position, lines[i]);
+                }
+                out.flush();
+                if (isDurable) {
+                    channel.force(true);
+                }
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Returns the position at the start of a segment line, or {@link #NO_POSITION} if it has none.
+     */
+    private static long parsePosition(String line, int space) {
+        if (space <= 0) {
+            return NO_POSITION;
+        }
+        try {
+            long position = Long.parseLong(line.substring(0, space));
+            return position < 0 ? NO_POSITION : position;
+        } catch (NumberFormatException e) {
+            return NO_POSITION;
+        }
+    }
+
+    /**
+     * A task read from a segment, with its position in the list.
+     */
+    private static final class Positioned {
+        private final Task task;
+        private final long position;
+
+        Positioned(Task task, long position) {
+            this.task = task;
+            this.position = position;
+        }
+    }
+}
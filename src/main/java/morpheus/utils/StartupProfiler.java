@@ -0,0 +1,55 @@
+package morpheus.utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Times the phases of start-up, from JVM launch to the first prompt or the first usable window.
+ * <p>
+ * Entry points call {@link #mark(String)} as each phase ends. With
+ * <code>-Dmorpheus.startup.report=true</code>, every mark prints one line to standard error
+ * giving the time since the JVM started, the time since the previous mark and the number
+ * of classes loaded so far, e.g.
+ * <code>[startup] first frame at 412 ms (+95 ms), 2,310 classes loaded</code>.
+ * Without the property, marks cost a single branch and no management classes are loaded.
+ * </p>
+ *
+ * @author Aayush
+ */
+public class StartupProfiler {
+    /** The system property that turns the report on. */
+    public static final String REPORT_PROPERTY = "morpheus.startup.report";
+    /** The prefix of every report line, so that tools can pick them out of standard error. */
+    public static final String PREFIX = "[startup] ";
+
+    private static final boolean IS_ENABLED = Boolean.getBoolean(REPORT_PROPERTY);
+
+    private static long jvmStartNanos;
+    private static long previousNanos;
+
+    private StartupProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * Records that a start-up phase has ended, printing its timing if the report is enabled.
+     *
+     * @param phase a short name for the phase, e.g. "tasks loaded"
+     */
+    public static synchronized void mark(String phase) {
+        if (!IS_ENABLED) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (jvmStartNanos == 0) {
+            jvmStartNanos = now - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+            previousNanos = jvmStartNanos;
+        }
+        int classes = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        System.err.printf("%s%s at %d ms (+%d ms), %,d classes loaded%n", PREFIX, phase,
+                (now - jvmStartNanos) / 1_000_000, (now - previousNanos) / 1_000_000, classes);
+        previousNanos = now;
+    }
+}
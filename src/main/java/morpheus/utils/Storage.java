@@ -1,21 +1,35 @@
 package morpheus.utils;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
 
+import morpheus.jfr.StorageLoadEvent;
+import morpheus.jfr.StorageSaveEvent;
 import morpheus.tasks.DeadlineTask;
 import morpheus.tasks.EventTask;
 import morpheus.tasks.Task;
@@ -24,20 +38,100 @@ import morpheus.tasks.ToDoTask;
 
 /**
  * Handles reading and writing of task data to a persistent file.
+ * <p>
+ * By default every {@link #save(List)} rewrites the file straight away. For bulk
+ * processing a {@link WritePolicy} can defer those writes, in which case the latest
+ * task list is kept pending until {@link #flush()} (or the next periodic write).
+ * </p>
+ *
+ * The time taken and bytes moved by every read and write are recorded in {@link Metrics},
+ * and each read and write also emits a JFR event ({@link StorageLoadEvent}, {@link StorageSaveEvent}).
+ *
+ * Every line of the save file ends in a CRC32C checksum of the task on it. Tasks whose
+ * checksum does not match, or that cannot be decoded, are moved to a quarantine file by
+ * {@link #load()} rather than dropped; see {@link SaveFileScanner}.
+ *
+ * A binary {@link TaskSnapshot} of the tasks is kept next to the save file, which the next
+ * {@link #load()} uses instead of decoding the text if the save file has not changed since.
+ * It is written after the text has been decoded and by {@link #flush()}, not by every save.
+ *
+ * The other {@link Layout layouts} keep the tasks in a {@link TaskStore} instead, which
+ * writes only what changed: the months that changed for {@link Layout#PARTITIONED}, or the
+ * changed bytes of fixed-size task records for {@link Layout#RECORDS}.
  */
 public class Storage {
+    /**
+     * When {@link #save(List)} actually writes to disk.
+     */
+    public enum WritePolicy {
+        /** Every save is written immediately. */
+        IMMEDIATE,
+        /** Saves are only written by {@link #flush()}, e.g. at the end of a stream of commands. */
+        DEFERRED,
+        /** Saves are written at most once per save interval; the latest one is kept for {@link #flush()}. */
+        PERIODIC
+    }
+
+    /**
+     * How the tasks are laid out on disk.
+     */
+    public enum Layout {
+        /** All tasks in the save file, one per line. */
+        SINGLE_FILE,
+        /**
+         * One segment file per month of the tasks' dates in a folder next to the save file.
+         * An existing save file is migrated into segments on the first load.
+         */
+        PARTITIONED,
+        /**
+         * One fixed-size record per task in a random-access file next to the save file, updated in place.
+         * An existing save file is migrated into records on the first load.
+         */
+        RECORDS
+    }
+
+    /** Minimum time between periodic writes, overridable with -Dmorpheus.storage.saveInterval (in ms). */
+    private static final long SAVE_INTERVAL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("morpheus.storage.saveInterval", 1000L));
 
     private static final String TODO_CODE = "T";
     private static final String DEADLINE_CODE = "D";
     private static final String EVENT_CODE = "E";
     private static final String DONE_CODE = "1";
 
+    /** Whether a binary snapshot is kept next to the save file; turn off with -Dmorpheus.storage.snapshot=false. */
+    private static final boolean USE_SNAPSHOTS =
+            Boolean.parseBoolean(System.getProperty("morpheus.storage.snapshot", "true"));
+
+    /** The layout used unless one is given, set with -Dmorpheus.storage.layout=partitioned or records. */
+    private static final Layout DEFAULT_LAYOUT = parseLayout(System.getProperty("morpheus.storage.layout", ""));
+    /** Appended to the save file's name once it has been migrated into another layout. */
+    private static final String MIGRATED_SUFFIX = ".migrated";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private static final DateTimeFormatter INPUT_FORMATTER =
             DateTimeFormatter.ofPattern("d MMM yyyy, h:mm a", Locale.ENGLISH);
     private static final DateTimeFormatter OUTPUT_FORMATTER =
             DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
 
     private final Path file;
+    private final WritePolicy writePolicy;
+    /** How long this storage's loads and saves take, and the commands of the {@code Morpheus} using it. */
+    private final Metrics metrics;
+    /** Where the tasks are kept, or {@code null} if they are kept in the save file. */
+    private final TaskStore store;
+
+    /** Created on first use; see {@link #getArchive()}. */
+    private TaskArchive archive;
+
+    /** The latest task list passed to {@link #save(List)} that has not been written yet, or {@code null}. */
+    private List<Task> pendingTasks;
+    /** The task list last written to the save file, if its snapshot has not been written yet, or {@code null}. */
+    private List<Task> unsnapshottedTasks;
+    private long unsnapshottedBytes;
+    private int unsnapshottedChecksum;
+    private long lastWriteNanos = System.nanoTime() - SAVE_INTERVAL_NANOS;
 
     /**
      * Creates a new {@code Storage} object that manages persistence of tasks
@@ -52,18 +146,118 @@ public class Storage {
      * @param filePath the path to the save file where tasks will be stored
      */
     public Storage(String filePath) {
+        this(filePath, WritePolicy.IMMEDIATE);
+    }
+
+    /**
+     * Creates a new {@code Storage} object for the given file that writes saves according to {@code writePolicy}.
+     *
+     * @param filePath    the path to the save file where tasks will be stored
+     * @param writePolicy when saves are written to disk
+     */
+    public Storage(String filePath, WritePolicy writePolicy) {
+        this(filePath, writePolicy, DEFAULT_LAYOUT);
+    }
+
+    /**
+     * Creates a new {@code Storage} object for the given file with the given on-disk layout.
+     *
+     * @param filePath    the path to the save file; other layouts keep their files next to it
+     * @param writePolicy when saves are written to disk
+     * @param layout      how the tasks are laid out on disk
+     */
+    public Storage(String filePath, WritePolicy writePolicy, Layout layout) {
         Path p = toPath(filePath);
+        this.metrics = new Metrics();
+        this.store = createStore(layout, p, metrics);
         try {
-            checkFile(p);
+            if (store == null) {
+                checkFile(p);
+            } else if (p.getParent() != null) {
+                Files.createDirectories(p.getParent());
+            }
         } catch (IOException e) {
             System.err.println("[WARN] Could not initialize file: " + e.getMessage());
         }
         this.file = p;
+        this.writePolicy = writePolicy;
+    }
+
+    private Storage(Metrics metrics) {
+        this.file = null;
+        this.writePolicy = WritePolicy.IMMEDIATE;
+        this.metrics = metrics;
+        this.store = null;
+    }
+
+    private static TaskStore createStore(Layout layout, Path saveFile, Metrics metrics) {
+        switch (layout) {
+        case PARTITIONED:
+            return new SegmentStore(saveFile, metrics);
+        case RECORDS:
+            return new RecordStore(saveFile, metrics);
+        default:
+            return null;
+        }
+    }
+
+    private static Layout parseLayout(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+        case "partitioned":
+            return Layout.PARTITIONED;
+        case "records":
+            return Layout.RECORDS;
+        default:
+            return Layout.SINGLE_FILE;
+        }
+    }
+
+    /**
+     * Creates a {@code Storage} that is not backed by any file. Loading returns an
+     * empty list and saving does nothing, which lets commands run against a
+     * private working copy (e.g. inside a transaction) without touching disk.
+     *
+     * @return a storage handler that keeps nothing on disk
+     */
+    public static Storage inMemory() {
+        return inMemory(new Metrics());
+    }
+
+    /**
+     * Creates a {@code Storage} that is not backed by any file and reports to the given metrics,
+     * e.g. those of the storage whose tasks a transaction works on.
+     *
+     * @param metrics the metrics that <code>stats</code> shows for this storage
+     * @return a storage handler that keeps nothing on disk
+     */
+    public static Storage inMemory(Metrics metrics) {
+        return new Storage(metrics);
+    }
+
+    /**
+     * Returns the metrics of this storage's loads and saves, which its {@code Morpheus} also records commands in.
+     *
+     * @return the metrics shown by <code>stats</code>
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the archive of completed tasks kept next to the save file.
+     *
+     * @return the archive, or {@code null} if this storage is not backed by a file
+     */
+    public synchronized TaskArchive getArchive() {
+        if (archive == null && file != null) {
+            archive = new TaskArchive(file);
+        }
+        return archive;
     }
 
     private static Path toPath(String filePath) {
-        String[] parts = filePath.split("/");
-        return Paths.get(parts[0], Arrays.copyOfRange(parts, 1, parts.length));
+        // Paths.get accepts '/' separators on every platform and keeps absolute paths absolute
+        return Paths.get(filePath);
     }
 
     /**
@@ -71,15 +265,35 @@ public class Storage {
      */
     public List<Task> load() {
         List<Task> taskList = new ArrayList<>();
+        if (file == null) {
+            return taskList;
+        }
+        long start = System.nanoTime();
+        StorageLoadEvent event = new StorageLoadEvent();
+        event.begin();
+        if (store != null) {
+            return loadStore(start, event);
+        }
         try {
             checkFile(file);
-            try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-                br.lines()
-                        .map(String::trim)
-                        .filter(s -> !s.isEmpty())
-                        .map(Storage::decodeTask)
-                        .flatMap(Optional::stream)
-                        .forEach(taskList::add);
+            long bytes = Files.size(file);
+            Optional<List<Task>> snapshot = USE_SNAPSHOTS ? TaskSnapshot.read(file) : Optional.empty();
+            if (snapshot.isPresent()) {
+                taskList = snapshot.get();
+                metrics.recordLoad(System.nanoTime() - start, bytes);
+                commitLoadEvent(event, bytes, taskList.size(), 0);
+                return taskList;
+            }
+
+            CRC32C checksum = new CRC32C();
+            long corrupted = readSaveFile(taskList, checksum);
+            metrics.recordLoad(System.nanoTime() - start, bytes);
+            commitLoadEvent(event, bytes, taskList.size(), corrupted);
+            if (corrupted > 0) {
+                // Leaves the damaged lines in quarantine only, so they are not moved there again
+                saveAtomically(taskList);
+            } else {
+                writeSnapshot(taskList, Files.size(file), checksum);
             }
         } catch (IOException e) {
             System.err.println("[WARN] Could not read save file: " + e.getMessage());
@@ -88,23 +302,290 @@ public class Storage {
     }
 
     /**
-     * Saves the given list of tasks to the save file.
+     * Decodes the save file into {@code taskList}. Lines whose checksum does not match, or
+     * that cannot be decoded, are moved to the quarantine file instead of being dropped.
+     *
+     * @param checksum updated with the contents of the save file once damaged lines are removed
+     * @return the number of damaged lines, some of which may still be in the save file
+     */
+    private long readSaveFile(List<Task> taskList, Checksum checksum) throws IOException {
+        SaveFileScanner.Report report = SaveFileScanner.repair(file);
+        for (long i = 0; i < report.getDamaged(); i++) {
+            metrics.recordCorruptedLine();
+        }
+        List<String> undecodable = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                new CheckedInputStream(Files.newInputStream(file), checksum), StandardCharsets.UTF_8),
+                BUFFER_SIZE)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Optional<Task> task = decodeTask(SaveFileScanner.stripChecksum(line));
+                if (task.isPresent()) {
+                    taskList.add(task.get());
+                } else {
+                    metrics.recordCorruptedLine();
+                    undecodable.add(line);
+                }
+            }
+        }
+        SaveFileScanner.quarantine(file, undecodable);
+        long damaged = report.getDamaged() + undecodable.size();
+        if (damaged > 0) {
+            System.err.println("[WARN] Moved " + damaged + " damaged task(s) to "
+                    + SaveFileScanner.quarantinePathFor(file));
+        }
+        return damaged;
+    }
+
+    /**
+     * Loads the tasks from the store, first migrating the save file into it if it has not been yet.
+     */
+    private List<Task> loadStore(long start, StorageLoadEvent event) {
+        List<Task> taskList = new ArrayList<>();
+        try {
+            if (!store.exists() && Files.exists(file)) {
+                return migrate(start, event);
+            }
+            long bytes = store.load(taskList);
+            metrics.recordLoad(System.nanoTime() - start, bytes);
+            commitLoadEvent(event, bytes, taskList.size(), 0);
+        } catch (IOException e) {
+            System.err.println("[WARN] Could not read save file: " + e.getMessage());
+        }
+        return taskList;
+    }
+
+    /**
+     * Moves the tasks in the save file into the store. The save file is only renamed out of
+     * the way once the store is safely on disk, so an interrupted migration starts over.
+     */
+    private List<Task> migrate(long start, StorageLoadEvent event) throws IOException {
+        List<Task> taskList = new ArrayList<>();
+        long bytes = Files.size(file);
+        long corrupted = readSaveFile(taskList, new CRC32C());
+        metrics.recordLoad(System.nanoTime() - start, bytes);
+        commitLoadEvent(event, bytes, taskList.size(), corrupted);
+
+        store.write(taskList, true);
+        moveAtomically(file, file.resolveSibling(file.getFileName() + MIGRATED_SUFFIX));
+        Files.deleteIfExists(TaskSnapshot.pathFor(file));
+        return taskList;
+    }
+
+    /**
+     * Saves the given list of tasks to the save file, or keeps it pending if the write policy defers writes.
+     * <p>
+     * A pending list is written as it is at the time of the write, so callers must pass
+     * the live task list rather than a temporary copy.
+     * </p>
      */
     public void save(List<Task> tasks) {
+        if (file == null) {
+            return;
+        }
+        if (writePolicy == WritePolicy.DEFERRED
+                || writePolicy == WritePolicy.PERIODIC && System.nanoTime() - lastWriteNanos < SAVE_INTERVAL_NANOS) {
+            pendingTasks = tasks;
+            return;
+        }
+        write(tasks);
+    }
+
+    /**
+     * Writes the pending task list, if any, to the save file, and then the snapshot of the save file
+     * if it is behind. Call it before exiting, so that the next start can read the snapshot.
+     */
+    public void flush() {
+        if (pendingTasks != null) {
+            write(pendingTasks);
+        }
+        writeDeferredSnapshot();
+    }
+
+    /**
+     * Returns whether a save is pending because the write policy deferred it.
+     *
+     * @return {@code true} if the save file is behind the latest saved task list
+     */
+    public boolean hasPendingChanges() {
+        return pendingTasks != null;
+    }
+
+    private void write(List<Task> tasks) {
+        pendingTasks = null;
+        lastWriteNanos = System.nanoTime();
+        StorageSaveEvent event = new StorageSaveEvent();
+        event.begin();
+        if (store != null) {
+            writeStore(tasks, event, false);
+            return;
+        }
         try {
             checkFile(file);
-            try (BufferedWriter bw = Files.newBufferedWriter(
-                    file, StandardCharsets.UTF_8,
+            long bytes;
+            CRC32C checksum = new CRC32C();
+            try (OutputStream out = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    file,
                     StandardOpenOption.TRUNCATE_EXISTING,
-                    StandardOpenOption.WRITE)) {
+                    StandardOpenOption.WRITE), BUFFER_SIZE), checksum)) {
+                bytes = writeTasks(out, tasks);
+            }
+            metrics.recordSave(System.nanoTime() - lastWriteNanos, bytes);
+            commitSaveEvent(event, bytes, tasks.size(), false);
+            deferSnapshot(tasks, bytes, checksum);
+        } catch (IOException e) {
+            System.err.println("[WARN] Could not write save file: " + e.getMessage());
+        }
+    }
 
-                for (Task t : tasks) {
-                    bw.write(t.encode());
-                    bw.newLine();
-                }
+    /**
+     * Saves the given list of tasks durably and atomically.
+     * <p>
+     * The tasks are written to a temporary file next to the save file, forced to disk,
+     * and then moved over the save file in one step, so a crash leaves either the old
+     * or the new contents but never a partially written file.
+     * </p>
+     *
+     * @return {@code false} if the tasks could not be written, in which case the save file is unchanged
+     */
+    public boolean saveAtomically(List<Task> tasks) {
+        if (file == null) {
+            return true;
+        }
+        lastWriteNanos = System.nanoTime();
+        StorageSaveEvent event = new StorageSaveEvent();
+        event.begin();
+        if (store != null) {
+            // Each store orders its writes so that a crash part-way can be recovered from on the next load
+            boolean isSaved = writeStore(tasks, event, true);
+            if (isSaved) {
+                pendingTasks = null;
             }
+            return isSaved;
+        }
+        try {
+            checkFile(file);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            long bytes;
+            CRC32C checksum = new CRC32C();
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 OutputStream out = new CheckedOutputStream(
+                         new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), checksum)) {
+
+                bytes = writeTasks(out, tasks);
+                out.flush();
+                channel.force(true);
+            }
+            moveAtomically(temp, file);
+            // A deferred save is only dropped once this one has replaced it
+            pendingTasks = null;
+            metrics.recordSave(System.nanoTime() - lastWriteNanos, bytes);
+            commitSaveEvent(event, bytes, tasks.size(), true);
+            deferSnapshot(tasks, bytes, checksum);
+            return true;
+        } catch (IOException e) {
+            System.err.println("[WARN] Could not write save file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean writeStore(List<Task> tasks, StorageSaveEvent event, boolean isDurable) {
+        try {
+            long bytes = store.write(tasks, isDurable);
+            metrics.recordSave(System.nanoTime() - lastWriteNanos, bytes);
+            commitSaveEvent(event, bytes, tasks.size(), isDurable);
+            return true;
         } catch (IOException e) {
             System.err.println("[WARN] Could not write save file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes one encoded task per line, followed by its checksum. Each task caches its encoded
+     * bytes, so only tasks that changed since they were last saved are encoded again.
+     *
+     * @return the number of bytes written
+     */
+    private static long writeTasks(OutputStream out, List<Task> tasks) throws IOException {
+        SaveFileScanner.RecordWriter records = new SaveFileScanner.RecordWriter(out);
+        long bytes = 0;
+        for (Task t : tasks) {
+            bytes += records.write(t.encodeUtf8());
+        }
+        return bytes;
+    }
+
+    private void commitLoadEvent(StorageLoadEvent event, long bytes, int taskCount, long corrupted) {
+        if (event.shouldCommit()) {
+            event.set(file.toString(), bytes, taskCount, corrupted);
+            event.commit();
+        }
+    }
+
+    /**
+     * Remembers that the snapshot is behind the save file, which now holds {@code tasks}. The
+     * snapshot is only written by {@link #flush()}, so a save costs one file write, not two.
+     */
+    private void deferSnapshot(List<Task> tasks, long bytes, Checksum checksum) {
+        unsnapshottedTasks = tasks;
+        unsnapshottedBytes = bytes;
+        unsnapshottedChecksum = (int) checksum.getValue();
+    }
+
+    /**
+     * Writes the snapshot deferred by the last save, if the list still holds what was saved.
+     * A live list may have changed since without being saved again; its tasks' cached encodings
+     * are checked against the save file's checksum rather than read back from disk.
+     */
+    private void writeDeferredSnapshot() {
+        List<Task> tasks = unsnapshottedTasks;
+        unsnapshottedTasks = null;
+        if (tasks == null || !USE_SNAPSHOTS) {
+            return;
+        }
+        CRC32C checksum = new CRC32C();
+        try (OutputStream out = new CheckedOutputStream(OutputStream.nullOutputStream(), checksum)) {
+            if (writeTasks(out, tasks) == unsnapshottedBytes && (int) checksum.getValue() == unsnapshottedChecksum) {
+                writeSnapshot(tasks, unsnapshottedBytes, checksum);
+            }
+        } catch (IOException e) {
+            System.err.println("[WARN] Could not write snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the snapshot with one of {@code tasks}, just read from or written to the save file.
+     * A snapshot that cannot be written is only a missed speed-up, so failures are just logged.
+     */
+    private void writeSnapshot(List<Task> tasks, long bytes, Checksum checksum) {
+        if (!USE_SNAPSHOTS) {
+            return;
+        }
+        try {
+            TaskSnapshot.write(file, tasks, bytes, (int) checksum.getValue());
+        } catch (IOException e) {
+            System.err.println("[WARN] Could not write snapshot: " + e.getMessage());
+        }
+    }
+
+    private void commitSaveEvent(StorageSaveEvent event, long bytes, int taskCount, boolean isAtomic) {
+        if (event.shouldCommit()) {
+            event.set(file.toString(), bytes, taskCount, isAtomic);
+            event.commit();
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
@@ -113,8 +594,9 @@ public class Storage {
      * so that tasks can always be persisted between sessions.
      */
     private void checkFile(Path file) throws IOException {
-        if (Files.notExists(file.getParent())) {
-            Files.createDirectories(file.getParent());
+        Path parent = file.getParent();
+        if (parent != null && Files.notExists(parent)) {
+            Files.createDirectories(parent);
         }
         if (Files.notExists(file)) {
             Files.createFile(file);
@@ -122,50 +604,57 @@ public class Storage {
     }
 
     /**
-     * Decodes a line of text from the save file into a {@link Task}.
+     * Decodes a line of text from the save file into a {@link Task}, warning if it cannot be.
      */
-    private static Optional<Task> decodeTask(String line) {
+    static Optional<Task> decodeTask(String line) {
         try {
-            String[] parts = Arrays.stream(line.split("\\|"))
-                    .map(String::trim)
-                    .toArray(String[]::new);
-
-            // check if last part is a reminder
-            String reminderRaw = null;
-            if (parts[parts.length - 1].startsWith("REMINDER:")) {
-                reminderRaw = parts[parts.length - 1].substring("REMINDER:".length()).trim();
-            }
+            return Optional.of(parseTask(line));
+        } catch (Exception e) {
+            System.err.println("[WARN] Corrupted line: " + line);
+            return Optional.empty();
+        }
+    }
 
-            String type = parts[0];
-            boolean isDone = DONE_CODE.equals(parts[1]);
-
-            Task task;
-            switch (type) {
-            case TODO_CODE:
-                task = decodeToDo(parts, isDone);
-                break;
-            case DEADLINE_CODE:
-                task = decodeDeadline(parts, isDone);
-                break;
-            case EVENT_CODE:
-                task = decodeEvent(parts, isDone);
-                break;
-            default:
-                System.err.println("[WARN] Unknown type: " + type + " in line: " + line);
-                return Optional.empty();
-            }
+    /**
+     * Decodes a line of text in the save file format into a {@link Task}.
+     *
+     * @throws RuntimeException if the line is not a valid task
+     */
+    static Task parseTask(String line) {
+        String[] parts = Arrays.stream(line.split("\\|"))
+                .map(String::trim)
+                .toArray(String[]::new);
 
-            // attach reminder if found
-            if (reminderRaw != null && !reminderRaw.isEmpty()) {
-                task.setReminder(new CustomDateTime(reminderRaw));
-            }
+        // check if last part is a reminder
+        String reminderRaw = null;
+        if (parts[parts.length - 1].startsWith("REMINDER:")) {
+            reminderRaw = parts[parts.length - 1].substring("REMINDER:".length()).trim();
+        }
 
-            return Optional.of(task);
+        String type = parts[0];
+        boolean isDone = DONE_CODE.equals(parts[1]);
 
-        } catch (Exception e) {
-            System.err.println("[WARN] Corrupted line: " + line);
-            return Optional.empty();
+        Task task;
+        switch (type) {
+        case TODO_CODE:
+            task = decodeToDo(parts, isDone);
+            break;
+        case DEADLINE_CODE:
+            task = decodeDeadline(parts, isDone);
+            break;
+        case EVENT_CODE:
+            task = decodeEvent(parts, isDone);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
+
+        // attach reminder if found
+        if (reminderRaw != null && !reminderRaw.isEmpty()) {
+            task.setReminder(new CustomDateTime(reminderRaw));
         }
+
+        return task;
     }
 
     private static Task decodeToDo(String[] parts, boolean isDone) {
@@ -173,14 +662,26 @@ public class Storage {
     }
 
     private static Task decodeDeadline(String[] parts, boolean isDone) {
-        String end = decodeTime(parts[3]);
-        return new DeadlineTask(parts[2], isDone, new CustomDateTime(end));
+        return new DeadlineTask(parts[2], isDone, decodeDateTime(parts[3]));
     }
 
     private static Task decodeEvent(String[] parts, boolean isDone) {
-        String start = decodeTime(parts[3]);
-        String end = decodeTime(parts[4]);
-        return new EventTask(parts[2], isDone, new CustomDateTime(start), new CustomDateTime(end));
+        return new EventTask(parts[2], isDone, decodeDateTime(parts[3]), decodeDateTime(parts[4]));
+    }
+
+    /**
+     * Decodes a date-time from the save file. A date saved without a time stays without one,
+     * exactly as {@link TaskSnapshot} restores it.
+     */
+    private static CustomDateTime decodeDateTime(String input) {
+        try {
+            // The format tasks are saved in, e.g. "12 Sep 2025, 3:00 PM"
+            LocalDateTime dateTime = LocalDateTime.parse(input, INPUT_FORMATTER);
+            return new CustomDateTime(dateTime.toLocalDate(), dateTime.getHour(), dateTime.getMinute());
+        } catch (DateTimeParseException e) {
+            // e.g. "12 Sep 2025", or a date typed into the file by hand
+            return new CustomDateTime(input);
+        }
     }
 
     /**
@@ -0,0 +1,245 @@
+package morpheus.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import morpheus.tasks.Task;
+
+/**
+ * An append-only file of archived tasks, kept next to the save file and never read by {@link Storage#load()}.
+ * <p>
+ * Archived tasks are stored one per line in the save file format, each with its CRC32C
+ * checksum, in the order they were archived, so the archive can be read and repaired by hand.
+ * Lines whose checksum does not match are skipped with a warning; they are not counted as
+ * corrupted save file lines, since the archive is never loaded with the list. A separate index file holds the
+ * end offset of every line as an 8-byte number, so any page of the archive can be read with
+ * two positional reads and only the tasks on that page are decoded. Searching has to scan the
+ * archive, but decodes only the lines that mention the keyword.
+ * </p>
+ *
+ * Appends write and force the archive before the index. If the two disagree after a crash,
+ * e.g. the index is missing entries, the index is rebuilt from the archive the next time it
+ * is opened, and any partly written last line is cut off.
+ *
+ * @author Aayush
+ */
+public class TaskArchive {
+    /** Appended to the save file's name to name its archive, e.g. <code>morpheus.txt.archive</code>. */
+    static final String SUFFIX = ".archive";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int OFFSET_BYTES = Long.BYTES;
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final Path file;
+    private final Path indexFile;
+    /** The number of archived tasks, or -1 until the index has been checked. */
+    private volatile int count = -1;
+
+    TaskArchive(Path saveFile) {
+        this.file = saveFile.resolveSibling(saveFile.getFileName() + SUFFIX);
+        this.indexFile = file.resolveSibling(file.getFileName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * Returns the number of archived tasks.
+     *
+     * @return the number of tasks in the archive
+     * @throws IOException if the archive cannot be read
+     */
+    public int size() throws IOException {
+        int current = count;
+        return current >= 0 ? current : open();
+    }
+
+    /**
+     * Appends tasks to the end of the archive, forcing them to disk before returning.
+     *
+     * @param tasks the tasks to archive, in order
+     * @throws IOException if the archive cannot be written
+     */
+    public synchronized void append(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        int existing = size();
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        ByteBuffer offsets = ByteBuffer.allocate(tasks.size() * OFFSET_BYTES);
+        SaveFileScanner.RecordWriter writer = new SaveFileScanner.RecordWriter(lines);
+        long end = Files.size(file);
+        for (Task task : tasks) {
+            end += writer.write(task.encodeUtf8());
+            offsets.putLong(end);
+        }
+        offsets.flip();
+        appendAndForce(file, ByteBuffer.wrap(lines.toByteArray()));
+        appendAndForce(indexFile, offsets);
+        count = existing + tasks.size();
+    }
+
+    /**
+     * Reads the archived tasks numbered {@code from} (inclusive) to {@code to} (exclusive),
+     * counting from 0 in the order they were archived.
+     *
+     * @param from the index of the first task to read
+     * @param to   the index after the last task to read
+     * @return the decoded tasks; damaged lines are skipped
+     * @throws IOException if the archive cannot be read
+     */
+    public List<Task> read(int from, int to) throws IOException {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException("No archived tasks " + from + "-" + to + " of " + size());
+        }
+        List<Task> tasks = new ArrayList<>(to - from);
+        if (from == to) {
+            return tasks;
+        }
+        long start = from == 0 ? 0 : readOffset(from - 1);
+        long end = readOffset(to - 1);
+        ByteBuffer bytes = ByteBuffer.allocate(Math.toIntExact(end - start));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            readFully(channel, bytes, start);
+        }
+        String text = new String(bytes.array(), StandardCharsets.UTF_8);
+        int lineStart = 0;
+        for (int i = text.indexOf(LINE_SEPARATOR); i >= 0; i = text.indexOf(LINE_SEPARATOR, lineStart)) {
+            decode(text.substring(lineStart, i)).ifPresent(tasks::add);
+            lineStart = i + 1;
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the archived tasks whose description contains {@code keyword}, ignoring case.
+     *
+     * @param keyword the keyword to look for
+     * @return the matching tasks, in the order they were archived
+     * @throws IOException if the archive cannot be read
+     */
+    public List<Task> find(String keyword) throws IOException {
+        List<Task> matches = new ArrayList<>();
+        if (size() == 0) {
+            return matches;
+        }
+        String target = keyword.toLowerCase(Locale.ROOT);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Cheap test on the raw line first; only likely matches are decoded
+                if (!line.toLowerCase(Locale.ROOT).contains(target)) {
+                    continue;
+                }
+                Optional<Task> task = decode(line);
+                if (task.isPresent() && task.get().getDescription().toLowerCase(Locale.ROOT).contains(target)) {
+                    matches.add(task.get());
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Decodes an archived line, checking its checksum if it has one.
+     *
+     * @return the task, or empty if the line is damaged
+     */
+    private static Optional<Task> decode(String line) {
+        if (SaveFileScanner.isIntact(line)) {
+            try {
+                return Optional.of(Storage.parseTask(SaveFileScanner.stripChecksum(line).trim()));
+            } catch (RuntimeException e) {
+                // Reported below, like a checksum mismatch
+            }
+        }
+        System.err.println("[WARN] Skipped damaged archived task: " + line);
+        return Optional.empty();
+    }
+
+    /**
+     * Checks that the index covers the whole archive, rebuilding it if not.
+     *
+     * @return the number of archived tasks
+     */
+    private synchronized int open() throws IOException {
+        if (count >= 0) {
+            return count;
+        }
+        if (Files.notExists(file)) {
+            Files.createFile(file);
+        }
+        long archiveSize = Files.size(file);
+        long indexSize = Files.exists(indexFile) ? Files.size(indexFile) : -1;
+        boolean isConsistent = indexSize == 0
+                ? archiveSize == 0
+                : indexSize > 0 && indexSize % OFFSET_BYTES == 0
+                        && readOffsetAt(indexSize - OFFSET_BYTES) == archiveSize;
+        count = isConsistent ? (int) (indexSize / OFFSET_BYTES) : rebuildIndex();
+        return count;
+    }
+
+    /**
+     * Rewrites the index from the line ends in the archive, first cutting off any partly written last line.
+     */
+    private int rebuildIndex() throws IOException {
+        List<Long> ends = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            long position = 0;
+            while (channel.read(buffer, position) > 0) {
+                buffer.flip();
+                for (int i = 0; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == LINE_SEPARATOR) {
+                        ends.add(position + i + 1);
+                    }
+                }
+                position += buffer.limit();
+                buffer.clear();
+            }
+            channel.truncate(ends.isEmpty() ? 0 : ends.get(ends.size() - 1));
+        }
+        ByteBuffer offsets = ByteBuffer.allocate(ends.size() * OFFSET_BYTES);
+        ends.forEach(offsets::putLong);
+        Files.write(indexFile, offsets.array());
+        return ends.size();
+    }
+
+    private long readOffset(int index) throws IOException {
+        return readOffsetAt((long) index * OFFSET_BYTES);
+    }
+
+    private long readOffsetAt(long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(OFFSET_BYTES);
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            readFully(channel, buffer, position);
+        }
+        return buffer.getLong(0);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Archive ended unexpectedly");
+            }
+        }
+    }
+
+    private static void appendAndForce(Path path, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+    }
+}
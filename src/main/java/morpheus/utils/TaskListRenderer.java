@@ -0,0 +1,91 @@
+package morpheus.utils;
+
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * Renders numbered task lists such as <code>1. [T] [ ] read book</code>, one task per line.
+ * <p>
+ * Each task's display text is cached until the task changes (see {@link Task#toString()}),
+ * so listing mostly copies cached strings into one buffer, and nothing goes through
+ * {@code String.format}. Small and medium lists reuse a per-thread buffer; larger ones
+ * get a buffer sized up front so that it never has to grow and copy.
+ * </p>
+ *
+ * @author Aayush
+ */
+public class TaskListRenderer {
+    /** A generous estimate of one rendered line, used to size buffers up front. */
+    private static final int ESTIMATED_LINE_LENGTH = 64;
+    /** Buffers up to this capacity are kept for reuse by the rendering thread. */
+    private static final int MAX_REUSED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private TaskListRenderer() {
+    }
+
+    /**
+     * Renders a header, a blank line, and the numbered tasks in {@code [from, to)}.
+     * Tasks are numbered by their position in the whole list, so the numbers can be used
+     * with commands such as <code>mark</code> even when only part of the list is shown.
+     *
+     * @param header the text shown above the tasks
+     * @param tasks  the whole task list
+     * @param from   the index of the first task to render, inclusive
+     * @param to     the index of the last task to render, exclusive
+     * @return the rendered text, without a trailing newline
+     */
+    public static String render(String header, List<Task> tasks, int from, int to) {
+        return render(header, tasks, from, to, from + 1);
+    }
+
+    /**
+     * Renders a header, a blank line, and the tasks in {@code [from, to)}, numbered from
+     * {@code firstNumber}, e.g. for a page of tasks that are not held in one list.
+     *
+     * @param header      the text shown above the tasks
+     * @param tasks       the tasks to render from
+     * @param from        the index of the first task to render, inclusive
+     * @param to          the index of the last task to render, exclusive
+     * @param firstNumber the number shown next to the first task
+     * @return the rendered text, without a trailing newline
+     */
+    public static String render(String header, List<Task> tasks, int from, int to, int firstNumber) {
+        int estimate = header.length() + 1 + (to - from) * ESTIMATED_LINE_LENGTH;
+        boolean isReused = estimate <= MAX_REUSED_CAPACITY;
+        StringBuilder sb = isReused ? BUFFER.get() : new StringBuilder(estimate);
+        sb.setLength(0);
+
+        sb.append(header).append('\n');
+        appendLines(sb, tasks, from, to, firstNumber);
+        String rendered = sb.toString();
+
+        if (isReused && sb.capacity() > MAX_REUSED_CAPACITY) {
+            BUFFER.remove(); // long descriptions grew the buffer; don't keep it around
+        }
+        return rendered;
+    }
+
+    /**
+     * Appends the numbered tasks in {@code [from, to)}, separated by newlines.
+     *
+     * @param sb    the buffer to append to
+     * @param tasks the whole task list
+     * @param from  the index of the first task to append, inclusive
+     * @param to    the index of the last task to append, exclusive
+     */
+    public static void appendLines(StringBuilder sb, List<Task> tasks, int from, int to) {
+        appendLines(sb, tasks, from, to, from + 1);
+    }
+
+    private static void appendLines(StringBuilder sb, List<Task> tasks, int from, int to, int firstNumber) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                sb.append('\n');
+            }
+            sb.append(firstNumber + i - from).append(". ");
+            sb.append(tasks.get(i).toString());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package morpheus.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+/**
+ * A binary image of the decoded task list, kept next to the save file so that start-up does
+ * not have to parse every line of text again.
+ * <p>
+ * A snapshot records the size, modification time and CRC32C checksum of the save file it
+ * was made from, and is only used while all three still match; after any other change to
+ * the save file it is ignored and the text is decoded as usual. Snapshots are memory-mapped
+ * when read, and dates are stored as epoch days and minutes, so reading one parses no text
+ * at all. A second checksum over the records guards against a damaged snapshot.
+ * </p>
+ *
+ * Checking the save file's checksum still reads the whole file, so start-up stays linear in
+ * the size of the list; a snapshot saves the cost of decoding it, which is far higher. Tasks
+ * restored from a snapshot are identical to those decoded from the text, including dates
+ * saved without a time.
+ *
+ * Layout: a header (magic, format version, save file size, modification time and checksum,
+ * task count), then one record per task, then the checksum of the records.
+ *
+ * @author Aayush
+ */
+final class TaskSnapshot {
+    /** Appended to the save file's name to name its snapshot, e.g. <code>morpheus.txt.snapshot</code>. */
+    static final String SUFFIX = ".snapshot";
+
+    private static final int MAGIC = 0x4D525048; // "MRPH"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4;
+    private static final int TRAILER_BYTES = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final byte DONE_FLAG = 1;
+    private static final byte REMINDER_FLAG = 2;
+
+    private TaskSnapshot() {
+    }
+
+    static Path pathFor(Path saveFile) {
+        return saveFile.resolveSibling(saveFile.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Reads the tasks from the snapshot of {@code saveFile}.
+     *
+     * @return the tasks, or empty if there is no snapshot or it does not match the save file
+     */
+    static Optional<List<Task>> read(Path saveFile) {
+        Path snapshot = pathFor(saveFile);
+        if (Files.notExists(snapshot)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES + TRAILER_BYTES || length > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            long size = buffer.getLong();
+            long modified = buffer.getLong();
+            int checksum = buffer.getInt();
+            int count = buffer.getInt();
+            if (size != Files.size(saveFile)
+                    || modified != Files.getLastModifiedTime(saveFile).toMillis()
+                    || checksum != checksumOf(saveFile)) {
+                return Optional.empty();
+            }
+
+            ByteBuffer records = buffer.duplicate();
+            records.position(HEADER_BYTES).limit((int) length - TRAILER_BYTES);
+            CRC32C crc = new CRC32C();
+            crc.update(records.duplicate());
+            if ((int) crc.getValue() != buffer.getInt((int) length - TRAILER_BYTES)) {
+                return Optional.empty();
+            }
+
+            List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(readTask(records));
+            }
+            return Optional.of(tasks);
+        } catch (IOException | RuntimeException e) {
+            // e.g. a truncated record; the save file is decoded instead
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the snapshot of {@code saveFile} with one of {@code tasks}, which must be what
+     * the save file currently holds.
+     *
+     * @param size     the size of the save file
+     * @param checksum the CRC32C checksum of the save file
+     */
+    static void write(Path saveFile, List<Task> tasks, long size, int checksum) throws IOException {
+        long modified = Files.getLastModifiedTime(saveFile).toMillis();
+        Path snapshot = pathFor(saveFile);
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(size);
+            out.writeLong(modified);
+            out.writeInt(checksum);
+            out.writeInt(tasks.size());
+
+            CRC32C crc = new CRC32C();
+            DataOutputStream records = new DataOutputStream(new CheckedOutputStream(out, crc));
+            for (Task task : tasks) {
+                writeTask(records, task);
+            }
+            records.flush();
+            out.writeInt((int) crc.getValue());
+        }
+        try {
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the CRC32C checksum of a file's contents, reading it through a memory map.
+     */
+    static int checksumOf(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            for (long position = 0; position < length; position += Integer.MAX_VALUE) {
+                long chunk = Math.min(Integer.MAX_VALUE, length - position);
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, chunk));
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        Optional<CustomDateTime> reminder = task.getReminder();
+        byte flags = (byte) ((task.isDone() ? DONE_FLAG : 0) | (reminder.isPresent() ? REMINDER_FLAG : 0));
+        if (task instanceof DeadlineTask) {
+            out.writeByte(DEADLINE);
+            out.writeByte(flags);
+            writeDateTime(out, ((DeadlineTask) task).getEndDateTime());
+        } else if (task instanceof EventTask) {
+            out.writeByte(EVENT);
+            out.writeByte(flags);
+            writeDateTime(out, ((EventTask) task).getStartDateTime());
+            writeDateTime(out, ((EventTask) task).getEndDateTime());
+        } else {
+            out.writeByte(TODO);
+            out.writeByte(flags);
+        }
+        if (reminder.isPresent()) {
+            writeDateTime(out, reminder.get());
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+    }
+
+    private static Task readTask(ByteBuffer in) {
+        byte type = in.get();
+        byte flags = in.get();
+        boolean isDone = (flags & DONE_FLAG) != 0;
+        CustomDateTime first = type == TODO ? null : readDateTime(in);
+        CustomDateTime second = type == EVENT ? readDateTime(in) : null;
+        CustomDateTime reminder = (flags & REMINDER_FLAG) != 0 ? readDateTime(in) : null;
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        String description = new String(bytes, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (type) {
+        case TODO:
+            task = new ToDoTask(description, isDone);
+            break;
+        case DEADLINE:
+            task = new DeadlineTask(description, isDone, first);
+            break;
+        case EVENT:
+            task = new EventTask(description, isDone, first, second);
+            break;
+        default:
+            throw new IllegalStateException("Unknown task type in snapshot: " + type);
+        }
+        if (reminder != null) {
+            task.setReminder(reminder);
+        }
+        return task;
+    }
+
+    private static void writeDateTime(DataOutputStream out, CustomDateTime dateTime) throws IOException {
+        out.writeInt((int) dateTime.getDate().toEpochDay());
+        out.writeShort(dateTime.getMinuteOfDay());
+    }
+
+    private static CustomDateTime readDateTime(ByteBuffer in) {
+        LocalDate date = LocalDate.ofEpochDay(in.getInt());
+        return CustomDateTime.of(date, in.getShort());
+    }
+}
@@ -0,0 +1,37 @@
+package morpheus.utils;
+
+import java.io.IOException;
+import java.util.List;
+
+import morpheus.tasks.Task;
+
+/**
+ * Keeps the task list on disk in some layout other than the single save file; see {@link Storage.Layout}.
+ * <p>
+ * A store is given the whole task list on every write and decides itself how little it needs
+ * to write to bring the disk in line with it.
+ * </p>
+ *
+ * @author Aayush
+ */
+interface TaskStore {
+    /**
+     * Returns whether the store has been written to before, i.e. the save file has been migrated into it.
+     */
+    boolean exists();
+
+    /**
+     * Appends the stored tasks to {@code tasks} in list order.
+     *
+     * @return the number of bytes read
+     */
+    long load(List<Task> tasks) throws IOException;
+
+    /**
+     * Brings the store in line with {@code tasks}.
+     *
+     * @param isDurable whether to force the changes to disk before returning
+     * @return the number of bytes written
+     */
+    long write(List<Task> tasks, boolean isDurable) throws IOException;
+}
@@ -31,13 +31,25 @@ import morpheus.tasks.Task;
  * @author Aayush
  */
 public class Ui {
-    private final Scanner scanner;
+    private static final String LIST_HEADER =
+            "Here’s your task list, Neo. Let’s see what reality you want to shape today.\n";
+    private static final String EMPTY_LIST_MESSAGE = "Your list is empty for now. Add one with 'todo', "
+            + "'deadline', or 'event', and I'll keep track for you.";
+
+    /** Created on first read, since most {@code Ui} instances only format messages. */
+    private Scanner scanner;
 
     /**
-     * Constructs a new {@code Ui} instance with a scanner for user input.
+     * Constructs a new {@code Ui} instance that reads user input from the console.
      */
     public Ui() {
-        this.scanner = new Scanner(System.in);
+    }
+
+    private Scanner scanner() {
+        if (scanner == null) {
+            scanner = new Scanner(System.in);
+        }
+        return scanner;
     }
 
     /**
@@ -45,14 +57,24 @@ public class Ui {
      * @return the user's input as a String
      */
     public String readInput() {
-        return scanner.nextLine();
+        return scanner().nextLine();
+    }
+
+    /**
+     * Checks whether there is another line of input, waiting for one if necessary.
+     * @return {@code false} once the console input has ended
+     */
+    public boolean hasInput() {
+        return scanner().hasNextLine();
     }
 
     /**
      * Closes the input scanner. Should be called before program termination to release resources.
      */
     public void closeScanner() {
-        scanner.close();
+        if (scanner != null) {
+            scanner.close();
+        }
     }
 
     /**
@@ -69,12 +91,49 @@ public class Ui {
      * @return a formatted string representing the task list or a hint if empty
      */
     public String listMessage(List<Task> taskList) {
-        return formatTaskList(
-                taskList,
-                "Here’s your task list, Neo. Let’s see what reality you want to shape today.\n",
-                "Your list is empty for now. Add one with 'todo', "
-                        + "'deadline', or 'event', and I'll keep track for you."
-        );
+        return formatTaskList(taskList, LIST_HEADER, EMPTY_LIST_MESSAGE);
+    }
+
+    /**
+     * Displays one page of the task list. Tasks keep their numbers from the full list.
+     * @param taskList the full list of tasks
+     * @param page the one-based page number
+     * @param pageSize the number of tasks per page
+     * @return the requested page, a hint if the list is empty, or a hint if the page does not exist
+     */
+    public String listPageMessage(List<Task> taskList, int page, int pageSize) {
+        if (taskList.isEmpty()) {
+            return EMPTY_LIST_MESSAGE;
+        }
+        int pages = pageCount(taskList.size(), pageSize);
+        if (page > pages) {
+            return "There’s no page " + page + ". At " + pageSize + " tasks per page, your list has "
+                    + pages + " page(s).";
+        }
+        int from = (page - 1) * pageSize;
+        int to = Math.min(from + pageSize, taskList.size());
+        String next = page == pages
+                ? "That’s the end of the list."
+                : "Follow the white rabbit with 'list page " + (page + 1) + "'.";
+        String header = "Page " + page + " of " + pages + " (tasks " + (from + 1) + "-" + to
+                + " of " + taskList.size() + "). " + next + "\n";
+        return TaskListRenderer.render(header, taskList, from, to);
+    }
+
+    /**
+     * Returns the number of pages {@code total} tasks fill, computed in {@code long} so that
+     * a page size near {@link Integer#MAX_VALUE} does not overflow.
+     */
+    private static int pageCount(int total, int pageSize) {
+        return (int) (((long) total + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Displays how to use the paged list command.
+     * @return a usage hint
+     */
+    public String listPageUsageMessage() {
+        return "To see part of your list, try: list page <number> [tasks per page], e.g. list page 2 50";
     }
 
     /**
@@ -110,6 +169,32 @@ public class Ui {
         return "Unmarked. Sometimes, even the One needs a break.\n" + task;
     }
 
+    /**
+     * Displays a single message confirming several tasks have been marked as done.
+     * @param tasks the tasks that were marked as done
+     * @return a confirmation message listing every affected task
+     */
+    public String markMessage(List<Task> tasks) {
+        if (tasks.size() == 1) {
+            return markMessage(tasks.get(0).toString());
+        }
+        return formatTaskList(tasks,
+                "Marked " + tasks.size() + " tasks as complete! You’re bending the Matrix to your will.", "");
+    }
+
+    /**
+     * Displays a single message confirming several tasks have been marked as not done.
+     * @param tasks the tasks that were unmarked
+     * @return a confirmation message listing every affected task
+     */
+    public String unmarkMessage(List<Task> tasks) {
+        if (tasks.size() == 1) {
+            return unmarkMessage(tasks.get(0).toString());
+        }
+        return formatTaskList(tasks,
+                "Unmarked " + tasks.size() + " tasks. Sometimes, even the One needs a break.", "");
+    }
+
     /**
      * Displays a message confirming a new task has been added.
      * @param taskList the list of tasks after addition
@@ -131,6 +216,19 @@ public class Ui {
         return String.format("Here are your reminders. Even Morpheus needs a nudge sometimes!\n%s\n", task);
     }
 
+    /**
+     * Displays a single reminder confirmation for several tasks.
+     * @param tasks the tasks that received a reminder
+     * @return a formatted reminder message listing every affected task
+     */
+    public String reminderMessage(List<Task> tasks) {
+        if (tasks.size() == 1) {
+            return reminderMessage(tasks.get(0).toString());
+        }
+        return formatTaskList(tasks,
+                "Reminders set on " + tasks.size() + " tasks. Even Morpheus needs a nudge sometimes!", "");
+    }
+
     /**
      * Displays a message confirming a task has been deleted.
      * @param task the task that was deleted
@@ -142,16 +240,151 @@ public class Ui {
         return "Deleted! Sometimes you have to let go to move forward.\n" + task + "\n" + taskCount;
     }
 
+    /**
+     * Displays a single message confirming several tasks have been deleted.
+     * @param deleted the tasks that were deleted
+     * @param taskList the list of tasks after deletion
+     * @return a confirmation message listing the deleted tasks and the new total count
+     */
+    public String deleteTaskMessage(List<Task> deleted, List<Task> taskList) {
+        if (deleted.size() == 1) {
+            return deleteTaskMessage(deleted.get(0).toString(), taskList);
+        }
+        String taskCount = String.format("You now have %d task(s) on your list. Great work!", taskList.size());
+        return formatTaskList(deleted,
+                "Deleted " + deleted.size() + " tasks! Sometimes you have to let go to move forward.", "")
+                + "\n" + taskCount;
+    }
+
+    /**
+     * Displays a message confirming a change has been undone.
+     * @param change the command that made the change
+     * @return a confirmation message
+     */
+    public String undoMessage(String change) {
+        return "Undone: " + change.trim() + "\nWhat if I told you it never happened?";
+    }
+
+    /**
+     * Displays a message confirming an undone change has been re-applied.
+     * @param change the command that made the change
+     * @return a confirmation message
+     */
+    public String redoMessage(String change) {
+        return "Redone: " + change.trim() + "\nBack to the reality you chose.";
+    }
+
+    /**
+     * Displays a message confirming a transaction has been opened.
+     * @return a confirmation message
+     */
+    public String beginMessage() {
+        return "Transaction started. Your changes stay in this simulation until you 'commit' or 'rollback'.";
+    }
+
+    /**
+     * Displays a message confirming a transaction has been committed.
+     * @param changes the number of changes that were committed
+     * @return a confirmation message
+     */
+    public String commitMessage(int changes) {
+        return String.format("Committed %d change(s). Welcome to the real world.", changes);
+    }
+
+    /**
+     * Displays a message confirming a transaction has been rolled back.
+     * @param changes the number of changes that were discarded
+     * @return a confirmation message
+     */
+    public String rollbackMessage(int changes) {
+        return String.format("Rolled back %d change(s). You took the blue pill; nothing happened.", changes);
+    }
+
+    /**
+     * Displays how many completed tasks were moved to the archive.
+     * @param archived the number of tasks archived
+     * @param days the age in days a task's end date had to exceed
+     * @param remaining the number of tasks left on the list
+     * @return a confirmation message
+     */
+    public String archiveMessage(int archived, long days, int remaining) {
+        if (archived == 0) {
+            return "Nothing to archive: no completed task ended more than " + days + " day(s) ago.";
+        }
+        return String.format("Archived %d completed task(s) that ended more than %d day(s) ago. "
+                + "You now have %d task(s) on your list.\n"
+                + "See them with 'list archived'. Archiving can't be undone.", archived, days, remaining);
+    }
+
+    /**
+     * Displays one page of the archive, numbered in the order tasks were archived.
+     * @param tasks the archived tasks on this page
+     * @param page the one-based page number
+     * @param pageSize the number of tasks per page
+     * @param total the number of archived tasks
+     * @return the requested page, a hint if the archive is empty, or a hint if the page does not exist
+     */
+    public String archivedPageMessage(List<Task> tasks, int page, int pageSize, int total) {
+        if (total == 0) {
+            return "Your archive is empty. Completed tasks are moved there by 'archive'.";
+        }
+        int pages = pageCount(total, pageSize);
+        if (page > pages) {
+            return "There’s no page " + page + ". At " + pageSize + " tasks per page, your archive has "
+                    + pages + " page(s).";
+        }
+        int from = (page - 1) * pageSize;
+        String next = page == pages
+                ? "That’s the end of the archive."
+                : "Dig deeper with 'list archived page " + (page + 1) + "'.";
+        String header = "Archive page " + page + " of " + pages + " (tasks " + (from + 1) + "-"
+                + (from + tasks.size()) + " of " + total + "). " + next + "\n";
+        return TaskListRenderer.render(header, tasks, 0, tasks.size(), from + 1);
+    }
+
+    /**
+     * Displays the results of a search of the archive.
+     * @param tasks the archived tasks matching the search
+     * @return a formatted string of search results or a message if none found
+     */
+    public String findArchivedMessage(List<Task> tasks) {
+        return formatTaskList(tasks,
+                "Searching the archives of Zion... Found it!",
+                "I couldn’t find any archived tasks matching your search.");
+    }
+
+    /**
+     * Displays that the archive cannot be used, because the tasks are not backed by a save file.
+     * @return an explanation
+     */
+    public String archiveUnavailableMessage() {
+        return "The archive isn’t available here. If you are in a transaction, 'commit' or 'rollback' first.";
+    }
+
+    /**
+     * Displays that the archive could not be read or written.
+     * @param reason the cause of the failure
+     * @return an explanation; the task list is unchanged
+     */
+    public String archiveFailedMessage(String reason) {
+        return "I couldn’t reach the archive (" + reason + "). Your list is unchanged.";
+    }
+
+    /**
+     * Displays that tasks were archived but the list without them could not be saved.
+     * @param archived the number of tasks archived
+     * @return a warning that the tasks are now both archived and on the list
+     */
+    public String archiveSaveFailedMessage(int archived) {
+        return "I archived " + archived + " task(s) but couldn’t save your list, so they’re still on it too. "
+                + "Your list is unchanged; delete them yourself once saving works again.";
+    }
+
     // Helper to format task lists (reduces duplication)
     private String formatTaskList(List<Task> tasks, String header, String emptyMessage) {
         if (tasks.isEmpty()) {
             return emptyMessage;
         }
-
-        StringBuilder sb = new StringBuilder(header).append("\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            sb.append(String.format("%d. %s%n", i + 1, tasks.get(i).toString()));
-        }
-        return sb.toString().trim();
+        return TaskListRenderer.render(header, tasks, 0, tasks.size());
     }
 }
@@ -0,0 +1,57 @@
+package morpheus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.utils.Storage;
+
+public class CliTest {
+    @TempDir
+    Path tempDir;
+
+    private static String runCli(String input, String filePath) {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            System.setIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+            System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+            Cli.main(new String[] {filePath});
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testScriptedCommandsPrintOnlyResponses() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        String output = runCli("todo read book\nlist\nbye\ntodo never run\n", file);
+
+        assertFalse(output.contains("Morpheus, like the one from The Matrix"));
+        assertTrue(output.contains("1. [T] [ ] read book"));
+        assertTrue(output.contains("Goodbye"));
+        assertEquals(1, new Storage(file).load().size());
+    }
+
+    @Test
+    public void testEndOfInputExitsWithoutBye() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        String output = runCli("todo read book", file);
+
+        assertFalse(output.contains("Goodbye"));
+        assertEquals(1, new Storage(file).load().size());
+    }
+}
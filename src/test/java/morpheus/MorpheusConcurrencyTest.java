@@ -0,0 +1,110 @@
+package morpheus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.utils.Storage;
+
+/**
+ * Stress tests for sharing one {@link Morpheus} instance between many threads.
+ */
+public class MorpheusConcurrencyTest {
+    private static final int WRITERS = 4;
+    private static final int ADDS_PER_WRITER = 200;
+    private static final int DELETES_PER_WRITER = 50;
+    private static final int READERS = 4;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Checks that every numbered line of a list response is present exactly once and in order,
+     * i.e. the reader never observed a half-applied change.
+     */
+    private static boolean isConsistentList(String response) {
+        if (!response.startsWith("Here")) {
+            return response.startsWith("Your list is empty");
+        }
+        String[] lines = response.split("\n");
+        int expected = 1;
+        for (String line : lines) {
+            if (line.startsWith(expected + ". [T] ")) {
+                expected++;
+            } else if (!line.isEmpty() && Character.isDigit(line.charAt(0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void testConcurrentReadersAndWritersKeepInvariants() throws Exception {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Morpheus morpheus = new Morpheus(file);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong inconsistentReads = new AtomicLong();
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ADDS_PER_WRITER; i++) {
+                    morpheus.getResponse("todo writer " + writer + " task " + i);
+                    if (i % 3 == 0) {
+                        morpheus.getResponse("mark 1");
+                    }
+                    if (i % 4 == 0) {
+                        morpheus.getResponse("delete 1");
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    if (!isConsistentList(morpheus.getResponse("list"))) {
+                        inconsistentReads.incrementAndGet();
+                    }
+                    morpheus.getResponse("find writer");
+                    morpheus.getResponse("reminders");
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int expectedSize = WRITERS * (ADDS_PER_WRITER - DELETES_PER_WRITER);
+        assertEquals(0, inconsistentReads.get());
+        assertTrue(morpheus.getResponse("list").contains(expectedSize + ". [T]"));
+        assertEquals(expectedSize, new Storage(file).load().size());
+    }
+}
@@ -1,12 +1,26 @@
 package morpheus;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.utils.Storage;
 
 public class MorpheusTest {
+    @TempDir
+    Path tempDir;
+
     @Test
     public void testRun() {
 
@@ -41,4 +55,178 @@ public class MorpheusTest {
         String response = m.getResponse("");
         assertTrue(!response.isEmpty());
     }
+
+    @Test
+    public void testCommitPersistsWholeTransaction() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Morpheus m = new Morpheus(file);
+        m.getResponse("begin");
+        m.getResponse("todo read book");
+        m.getResponse("todo write essay");
+        m.getResponse("mark 1");
+        assertEquals(0, new Storage(file).load().size());
+        assertTrue(m.getResponse("list").contains("read book"));
+
+        m.getResponse("commit");
+        assertEquals(2, new Storage(file).load().size());
+        assertTrue(new Storage(file).load().get(0).isDone());
+    }
+
+    @Test
+    public void testRollbackDiscardsTransaction() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Morpheus m = new Morpheus(file);
+        m.getResponse("todo read book");
+        m.getResponse("begin");
+        m.getResponse("delete 1");
+        m.getResponse("rollback");
+        assertTrue(m.getResponse("list").contains("read book"));
+        assertEquals(1, new Storage(file).load().size());
+    }
+
+    @Test
+    public void testUndoCommittedTransaction() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Morpheus m = new Morpheus(file);
+        m.getResponse("todo read book");
+        m.getResponse("begin");
+        m.getResponse("mark 1");
+        m.getResponse("todo write essay");
+        m.getResponse("commit");
+        m.getResponse("undo");
+        assertEquals(1, new Storage(file).load().size());
+        assertFalse(new Storage(file).load().get(0).isDone());
+    }
+
+    @Test
+    public void testAsyncResponsesKeepSubmissionOrder() {
+        Morpheus m = new Morpheus(tempDir.resolve("tasks.txt").toString());
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            responses.add(m.getResponseAsync("todo task " + i));
+        }
+        responses.add(m.getResponseAsync("delete 1-49"));
+        CompletableFuture<String> list = m.getResponseAsync("list");
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(responses.get(i).join().contains((i + 1) + " task(s)"));
+        }
+        assertTrue(list.join().contains("1. [T] [ ] task 50"));
+    }
+
+    @Test
+    public void testAsyncWelcomeRunsBeforeLaterCommands() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.writeString(file, "T | 0 | loaded before the welcome\n");
+        Morpheus m = new Morpheus(file.toString());
+
+        CompletableFuture<String> welcome = m.getWelcomeMessageAsync();
+        CompletableFuture<String> list = m.getResponseAsync("list");
+
+        assertTrue(welcome.join().startsWith("Hey there! I'm Morpheus"));
+        assertTrue(list.join().contains("1. [T] [ ] loaded before the welcome"));
+    }
+
+    @Test
+    public void testListPage() {
+        Morpheus m = new Morpheus(tempDir.resolve("tasks.txt").toString());
+        for (int i = 1; i <= 25; i++) {
+            m.getResponse("todo task " + i);
+        }
+
+        String secondPage = m.getResponse("list page 2");
+        assertTrue(secondPage.startsWith("Page 2 of 2 (tasks 21-25 of 25)"));
+        assertTrue(secondPage.endsWith("25. [T] [ ] task 25"));
+        assertTrue(m.getResponse("list page 3 10").startsWith("Page 3 of 3 (tasks 21-25 of 25)"));
+        assertTrue(m.getResponse("list page 1 2147483647").startsWith("Page 1 of 1 (tasks 1-25 of 25)"));
+        assertTrue(m.getResponse("list page two").startsWith("To see part of your list"));
+        assertTrue(m.getResponse("list page 0").startsWith("To see part of your list"));
+    }
+
+    @Test
+    public void testArchiveMovesOldCompletedTasksOutOfTheList() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Morpheus m = new Morpheus(file);
+        m.getResponse("todo buy red pill");
+        m.getResponse("deadline old report /by 1/2/2020 0900");
+        m.getResponse("deadline next report /by 1/2/2099 0900");
+        m.getResponse("todo keep this one");
+        m.getResponse("mark 1-3");
+
+        assertTrue(m.getResponse("archive").startsWith("Archived 2 completed task(s)"));
+        assertEquals(2, m.getTaskCount());
+        assertEquals(2, new Storage(file).load().size());
+        assertTrue(m.getResponse("undo").startsWith("There's nothing left to undo"));
+
+        String archived = m.getResponse("list archived");
+        assertTrue(archived.startsWith("Archive page 1 of 1 (tasks 1-2 of 2)"));
+        assertTrue(archived.contains("2. [D] [X] old report"));
+        assertTrue(m.getResponse("list archived page 2 1").contains("2. [D] [X] old report"));
+        assertTrue(m.getResponse("list archived page 1 2147483647").startsWith("Archive page 1 of 1"));
+        assertTrue(m.getResponse("find --archived PILL").contains("1. [T] [X] buy red pill"));
+        assertFalse(m.getResponse("find pill").contains("red pill"));
+        assertTrue(m.getResponse("archive").startsWith("Nothing to archive"));
+    }
+
+    @Test
+    public void testArchiveKeepsTasksOnTheListWhenTheListCannotBeSaved() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Morpheus m = new Morpheus(file.toString());
+        m.getResponse("todo buy red pill");
+        m.getResponse("mark 1");
+        // The atomic save writes through this temporary file, so a directory in its place makes it fail
+        Files.createDirectory(tempDir.resolve("tasks.txt.tmp"));
+
+        assertTrue(m.getResponse("archive").startsWith("I archived 1 task(s) but couldn’t save your list"));
+        assertEquals(1, m.getTaskCount());
+        assertEquals(1, new Storage(file.toString()).load().size());
+        assertTrue(m.getResponse("undo").startsWith("Undone: mark 1"));
+    }
+
+    @Test
+    public void testStatsOnlyCoverTheirOwnInstance() {
+        Morpheus first = new Morpheus(tempDir.resolve("first.txt").toString());
+        Morpheus second = new Morpheus(tempDir.resolve("second.txt").toString());
+        first.getResponse("todo read book");
+        first.getResponse("bye");
+
+        assertEquals(1, first.getMetrics().forCommand("add").getCount());
+        assertEquals(1, first.getMetrics().forCommand("bye").getCount());
+        assertTrue(first.getResponse("stats").contains("bye"));
+        assertFalse(second.getResponse("stats").contains("add"));
+    }
+
+    @Test
+    public void testReadResponsesAreCachedUntilTasksChange() {
+        Morpheus m = new Morpheus(tempDir.resolve("tasks.txt").toString());
+        m.getResponse("todo read book");
+
+        String first = m.getResponse("find READ");
+        assertEquals(first, m.getResponse("find read"));
+        assertEquals(1, m.getResponseCache().getHits());
+
+        m.getResponse("mark 1");
+        String afterMark = m.getResponse("find read");
+        assertTrue(afterMark.contains("[X] read book"));
+        assertEquals(1, m.getResponseCache().getHits());
+
+        m.getResponse("begin");
+        m.getResponse("todo read paper");
+        assertTrue(m.getResponse("find read").contains("read paper"));
+        m.getResponse("rollback");
+        assertEquals(afterMark, m.getResponse("find read"));
+    }
+
+    @Test
+    public void testStatsReportsCommandLatencies() {
+        Morpheus m = new Morpheus(tempDir.resolve("tasks.txt").toString());
+        m.getResponse("todo read book");
+        m.getResponse("list");
+        m.getResponse("list");
+
+        String stats = m.getResponse("stats");
+        assertTrue(stats.contains("list"));
+        assertTrue(stats.contains("add"));
+        assertTrue(stats.contains("(save)"));
+    }
 }
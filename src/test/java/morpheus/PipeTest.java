@@ -0,0 +1,43 @@
+package morpheus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.utils.Storage;
+
+public class PipeTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testDeferredPipeSavesOnceAtEndOfStream() throws Exception {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Morpheus morpheus = new Morpheus(new Storage(file, Storage.WritePolicy.DEFERRED));
+        StringWriter out = new StringWriter();
+        Pipe pipe = new Pipe(morpheus, new BufferedReader(new StringReader("todo a book\ntodo a film\nlist\n")), out);
+
+        assertEquals(3, pipe.run());
+        assertTrue(out.toString().contains("2. [T] [ ] a film"));
+        assertEquals(2, new Storage(file).load().size());
+    }
+
+    @Test
+    public void testByeStopsThePipe() throws Exception {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Morpheus morpheus = new Morpheus(new Storage(file, Storage.WritePolicy.DEFERRED));
+        StringWriter out = new StringWriter();
+        Pipe pipe = new Pipe(morpheus, new BufferedReader(new StringReader("todo a book\nbye\ntodo a film\n")), out);
+
+        assertEquals(2, pipe.run());
+        assertTrue(out.toString().contains("Goodbye"));
+        assertEquals(1, new Storage(file).load().size());
+    }
+}
@@ -1,4 +1,66 @@
 package morpheus.commands;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+import morpheus.utils.Storage;
+import morpheus.utils.Ui;
+
 public class DeleteCommandTest {
+    @TempDir
+    Path tempDir;
+
+    private List<Task> createTasks(int count) {
+        List<Task> taskList = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            taskList.add(new ToDoTask("task " + i));
+        }
+        return taskList;
+    }
+
+    private String run(String input, List<Task> taskList) {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        return new DeleteCommand(input).execute(taskList, storage, new Ui());
+    }
+
+    @Test
+    public void testDeleteSingle() {
+        List<Task> taskList = createTasks(3);
+        String result = run("delete 2", taskList);
+        assertEquals(2, taskList.size());
+        assertEquals("task 3", taskList.get(1).getDescription());
+        assertTrue(result.contains("task 2"));
+    }
+
+    @Test
+    public void testDeleteListAndRange() {
+        List<Task> taskList = createTasks(10);
+        run("delete 3,7,8-10", taskList);
+        assertEquals(List.of("task 1", "task 2", "task 4", "task 5", "task 6"),
+                taskList.stream().map(Task::getDescription).toList());
+    }
+
+    @Test
+    public void testDeleteOutOfRangeLeavesListUntouched() {
+        List<Task> taskList = createTasks(3);
+        run("delete 1,4", taskList);
+        assertEquals(3, taskList.size());
+    }
+
+    @Test
+    public void testDeleteSavesOnce() {
+        List<Task> taskList = createTasks(5);
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        new DeleteCommand("delete 1-4").execute(taskList, storage, new Ui());
+        assertEquals(1, storage.load().size());
+    }
 }
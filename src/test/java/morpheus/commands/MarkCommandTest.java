@@ -1,4 +1,58 @@
 package morpheus.commands;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+import morpheus.utils.Storage;
+import morpheus.utils.Ui;
+
 public class MarkCommandTest {
+    @TempDir
+    Path tempDir;
+
+    private List<Task> createTasks(int count) {
+        List<Task> taskList = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            taskList.add(new ToDoTask("task " + i));
+        }
+        return taskList;
+    }
+
+    private String run(Command command, List<Task> taskList) {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        return command.execute(taskList, storage, new Ui());
+    }
+
+    @Test
+    public void testMarkRange() {
+        List<Task> taskList = createTasks(6);
+        String result = run(new MarkCommand("mark 2-4,6"), taskList);
+        assertEquals(" XXX X", taskList.stream().map(Task::getStatusIcon).reduce("", String::concat));
+        assertTrue(result.contains("4 tasks"));
+    }
+
+    @Test
+    public void testUnmarkList() {
+        List<Task> taskList = createTasks(3);
+        taskList.forEach(Task::mark);
+        run(new UnmarkCommand("unmark 1, 3"), taskList);
+        assertEquals(" X ", taskList.stream().map(Task::getStatusIcon).reduce("", String::concat));
+    }
+
+    @Test
+    public void testMarkMalformedSelection() {
+        List<Task> taskList = createTasks(3);
+        String result = run(new MarkCommand("mark 3-1"), taskList);
+        assertTrue(result.contains("mark 2"));
+        assertEquals("   ", taskList.stream().map(Task::getStatusIcon).reduce("", String::concat));
+    }
 }
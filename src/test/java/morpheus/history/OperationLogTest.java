@@ -0,0 +1,90 @@
+package morpheus.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+import morpheus.utils.CustomDateTime;
+
+public class OperationLogTest {
+    private List<Task> createTasks(int count) {
+        List<Task> taskList = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            taskList.add(new ToDoTask("task " + i));
+        }
+        return taskList;
+    }
+
+    private List<String> descriptions(List<Task> taskList) {
+        return taskList.stream().map(Task::getDescription).toList();
+    }
+
+    private void applyAndRecord(OperationLog log, Operation operation, List<Task> taskList) {
+        operation.apply(taskList);
+        log.record(operation);
+    }
+
+    @Test
+    public void testUndoRedoDelete() {
+        List<Task> taskList = createTasks(8);
+        List<String> original = descriptions(taskList);
+        OperationLog log = new OperationLog(100);
+
+        applyAndRecord(log, new DeleteOperation("delete 1,3,7-8", new int[] {0, 2, 6, 7}), taskList);
+        List<String> deleted = descriptions(taskList);
+        assertEquals(List.of("task 2", "task 4", "task 5", "task 6"), deleted);
+
+        log.undo(taskList);
+        assertEquals(original, descriptions(taskList));
+        log.redo(taskList);
+        assertEquals(deleted, descriptions(taskList));
+    }
+
+    @Test
+    public void testUndoStatusAndReminder() {
+        List<Task> taskList = createTasks(3);
+        taskList.get(1).mark();
+        OperationLog log = new OperationLog(100);
+
+        applyAndRecord(log, new StatusOperation("mark 1-3", new int[] {0, 1, 2}, taskList, true), taskList);
+        applyAndRecord(log, new ReminderOperation("remind 1 1/1/2030",
+                new int[] {0}, taskList, new CustomDateTime("1/1/2030")), taskList);
+
+        log.undo(taskList);
+        assertTrue(taskList.get(0).getReminder().isEmpty());
+        log.undo(taskList);
+        assertEquals(" X ", taskList.stream().map(Task::getStatusIcon).reduce("", String::concat));
+        assertNull(log.undo(taskList));
+    }
+
+    @Test
+    public void testNewChangeClearsRedo() {
+        List<Task> taskList = createTasks(1);
+        OperationLog log = new OperationLog(100);
+
+        applyAndRecord(log, new AddOperation("todo a", new ToDoTask("a")), taskList);
+        log.undo(taskList);
+        applyAndRecord(log, new AddOperation("todo b", new ToDoTask("b")), taskList);
+        assertNull(log.redo(taskList));
+        assertEquals(List.of("task 1", "b"), descriptions(taskList));
+    }
+
+    @Test
+    public void testOldestEntriesEvictedOverCapacity() {
+        List<Task> taskList = createTasks(10);
+        OperationLog log = new OperationLog(4);
+
+        applyAndRecord(log, new StatusOperation("mark 1-3", new int[] {0, 1, 2}, taskList, true), taskList);
+        applyAndRecord(log, new StatusOperation("mark 4-5", new int[] {3, 4}, taskList, true), taskList);
+        assertEquals(2, log.size());
+        log.undo(taskList);
+        assertNull(log.undo(taskList));
+    }
+}
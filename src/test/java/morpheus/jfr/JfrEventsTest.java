@@ -0,0 +1,56 @@
+package morpheus.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import morpheus.Morpheus;
+
+public class JfrEventsTest {
+    @TempDir
+    Path tempDir;
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).count();
+    }
+
+    @Test
+    public void testSettingsProfileEnablesEvents() throws IOException, ParseException {
+        Configuration profile = Configuration.create(Paths.get("config/jfr/morpheus.jfc"));
+        Path recordingFile = tempDir.resolve("morpheus.jfr");
+        try (Recording recording = new Recording(profile)) {
+            recording.start();
+            Morpheus m = new Morpheus(tempDir.resolve("tasks.txt").toString());
+            m.getResponse("todo read book");
+            m.getResponse("reminders");
+            m.getResponse("not a command");
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        assertEquals(3, count(events, "morpheus.CommandParse"));
+        assertEquals(2, count(events, "morpheus.CommandExecute"));
+        assertEquals(1, count(events, "morpheus.StorageLoad"));
+        assertEquals(1, count(events, "morpheus.StorageSave"));
+        assertEquals(1, count(events, "morpheus.ReminderCheck"));
+
+        RecordedEvent save = events.stream()
+                .filter(e -> e.getEventType().getName().equals("morpheus.StorageSave"))
+                .findFirst().orElseThrow();
+        assertEquals(1, save.getInt("taskCount"));
+        assertTrue(save.getLong("bytes") > 0);
+    }
+}
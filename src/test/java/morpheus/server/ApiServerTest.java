@@ -0,0 +1,98 @@
+package morpheus.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.Morpheus;
+
+public class ApiServerTest {
+    @TempDir
+    Path tempDir;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ApiServer server;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new ApiServer(new Morpheus(tempDir.resolve("tasks.txt").toString()), 0);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+    }
+
+    @Test
+    public void testCommandThenStructuredRead() throws Exception {
+        HttpResponse<String> added = send(request("/command")
+                .POST(HttpRequest.BodyPublishers.ofString("deadline essay \"draft\" /by 1/1/2030")));
+        assertEquals(200, added.statusCode());
+        assertTrue(added.body().startsWith("{\"response\":"));
+
+        HttpResponse<String> tasks = send(request("/tasks"));
+        assertEquals("{\"count\":1,\"tasks\":[{\"number\":1,\"type\":\"deadline\",\"by\":\"1 Jan 2030\","
+                + "\"description\":\"essay \\\"draft\\\"\",\"done\":false}]}", tasks.body());
+    }
+
+    @Test
+    public void testTransactionCommandsAreRejected() throws Exception {
+        for (String command : new String[] {"begin", " COMMIT ", "rollback"}) {
+            assertEquals(400, send(request("/command").POST(HttpRequest.BodyPublishers.ofString(command)))
+                    .statusCode());
+        }
+        send(request("/command").POST(HttpRequest.BodyPublishers.ofString("todo read book")));
+        assertTrue(send(request("/tasks")).body().startsWith("{\"count\":1,"));
+    }
+
+    @Test
+    public void testFindAndReminders() throws Exception {
+        send(request("/command").POST(HttpRequest.BodyPublishers.ofString("todo read book")));
+        send(request("/command").POST(HttpRequest.BodyPublishers.ofString("todo write essay")));
+
+        assertTrue(send(request("/find?q=read%20b")).body().startsWith("{\"count\":1,"));
+        assertEquals(400, send(request("/find")).statusCode());
+        assertEquals("{\"count\":0,\"tasks\":[]}", send(request("/reminders?mode=today")).body());
+        assertEquals(400, send(request("/reminders?mode=yesterday")).statusCode());
+    }
+
+    @Test
+    public void testTenantsAreIsolated() throws Exception {
+        ApiServer tenantServer = new ApiServer(new TenantManager(tempDir.resolve("tenants"), 1024 * 1024), 0);
+        tenantServer.start();
+        try {
+            String base = "http://localhost:" + tenantServer.getPort();
+            HttpRequest.Builder add = HttpRequest.newBuilder(URI.create(base + "/command"))
+                    .header("X-Morpheus-Tenant", "alice")
+                    .POST(HttpRequest.BodyPublishers.ofString("todo read book"));
+            assertEquals(200, send(add).statusCode());
+
+            HttpRequest.Builder tasks = HttpRequest.newBuilder(URI.create(base + "/tasks"));
+            assertEquals(400, send(tasks).statusCode());
+            assertTrue(send(tasks.header("X-Morpheus-Tenant", "bob")).body().startsWith("{\"count\":0,"));
+            assertTrue(send(HttpRequest.newBuilder(URI.create(base + "/stats")))
+                    .body().contains("\"misses\":2"));
+        } finally {
+            tenantServer.stop();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package morpheus.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.Morpheus;
+
+public class TenantManagerTest {
+    /** Enough for a couple of small tenants, so a third one forces an eviction. */
+    private static final long SMALL_BUDGET = 10 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private static String run(TenantManager manager, String tenant, String input) {
+        try (TenantManager.Lease lease = manager.acquire(tenant)) {
+            return lease.getMorpheus().getResponse(input);
+        }
+    }
+
+    @Test
+    public void testTenantsAreLoadedLazilyAndCached() {
+        TenantManager manager = new TenantManager(tempDir, TenantManager.DEFAULT_MEMORY_BUDGET);
+        assertEquals(0, manager.getStats().getLoadedTenants());
+
+        Morpheus first;
+        try (TenantManager.Lease lease = manager.acquire("alice")) {
+            first = lease.getMorpheus();
+        }
+        try (TenantManager.Lease lease = manager.acquire("alice")) {
+            assertSame(first, lease.getMorpheus());
+        }
+        run(manager, "bob", "todo bob's task");
+
+        TenantManager.Stats stats = manager.getStats();
+        assertEquals(2, stats.getLoadedTenants());
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+        assertTrue(stats.getMaxLoadMillis() >= stats.getAverageLoadMillis());
+        assertTrue(run(manager, "alice", "list").startsWith("Your list is empty"));
+    }
+
+    @Test
+    public void testColdTenantsAreEvictedWithoutLosingTasks() {
+        TenantManager manager = new TenantManager(tempDir, SMALL_BUDGET);
+        run(manager, "alice", "todo alice's task");
+        run(manager, "bob", "todo bob's task");
+        run(manager, "carol", "todo carol's task");
+
+        TenantManager.Stats stats = manager.getStats();
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getLoadedTenants());
+        assertTrue(stats.getUsedBytes() <= SMALL_BUDGET);
+
+        assertTrue(run(manager, "alice", "list").contains("alice's task"));
+        assertEquals(4, manager.getStats().getMisses());
+    }
+
+    @Test
+    public void testTenantsReloadedRightAfterEvictionSeeEveryTask() throws InterruptedException {
+        // Too small for even one tenant, so every release evicts whoever is idle
+        TenantManager manager = new TenantManager(tempDir, 1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String tenant = "tenant" + t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    run(manager, tenant, "todo task " + i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            assertTrue(run(manager, "tenant" + t, "list").contains("25. [T] [ ] task 24"));
+        }
+        assertTrue(manager.getStats().getEvictions() > 0);
+    }
+
+    @Test
+    public void testTenantsWithOpenTransactionsAreNotEvicted() {
+        TenantManager manager = new TenantManager(tempDir, SMALL_BUDGET);
+        run(manager, "alice", "begin");
+        run(manager, "alice", "todo uncommitted");
+        run(manager, "bob", "todo bob's task");
+        run(manager, "carol", "todo carol's task");
+
+        run(manager, "alice", "commit");
+        assertTrue(run(manager, "alice", "list").contains("uncommitted"));
+        assertEquals(3, manager.getStats().getMisses());
+    }
+
+    @Test
+    public void testInvalidTenantNamesAreRejected() {
+        TenantManager manager = new TenantManager(tempDir, SMALL_BUDGET);
+        assertThrows(IllegalArgumentException.class, () -> manager.acquire("../escape"));
+        assertThrows(IllegalArgumentException.class, () -> manager.acquire(""));
+    }
+}
@@ -1,6 +1,7 @@
 package morpheus.tasks;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
@@ -50,4 +51,36 @@ public class TaskTest {
         String input = "Meet friends\n/from 28/8/2025 1pm\r\n/to 28/8/2025 4pm\n";
         assertEquals("Meet friends /from 28/8/2025 1pm  /to 28/8/2025 4pm", Task.clean(input));
     }
+
+    @Test
+    public void cachedOutputIsReusedUntilChangedTest() {
+        Task toDo = new ToDoTask("Laundry");
+        String text = toDo.toString();
+        byte[] encoding = toDo.encodeUtf8();
+        assertSame(text, toDo.toString());
+        assertSame(encoding, toDo.encodeUtf8());
+
+        toDo.mark();
+        assertEquals("[T] [X] Laundry", toDo.toString());
+        assertEquals("T | 1 | Laundry", toDo.encode());
+
+        toDo.setReminder(new CustomDateTime("28/8/2025 1300"));
+        assertEquals("[T] [X] Laundry ⏰ 28 Aug 2025, 1:00 PM", toDo.toString());
+        assertEquals("T | 1 | Laundry | REMINDER: 28 Aug 2025, 1:00 PM", toDo.encode());
+
+        toDo.unmark();
+        assertEquals("T | 0 | Laundry | REMINDER: 28 Aug 2025, 1:00 PM", toDo.encode());
+    }
+
+    @Test
+    public void copyKeepsCachedOutputButChangesIndependentlyTest() {
+        Task original = new ToDoTask("Laundry");
+        String text = original.toString();
+        Task copy = original.copy();
+        assertSame(text, copy.toString());
+
+        copy.mark();
+        assertEquals("[T] [X] Laundry", copy.toString());
+        assertEquals("[T] [ ] Laundry", original.toString());
+    }
 }
@@ -0,0 +1,108 @@
+package morpheus.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.Morpheus;
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+import morpheus.utils.CustomDateTime;
+import morpheus.utils.Storage;
+
+public class DatasetGeneratorTest {
+    @TempDir
+    Path tempDir;
+
+    private static String saveFile(long seed, long lines) throws IOException {
+        StringWriter out = new StringWriter();
+        new DatasetGenerator(seed).setOtherFormatRatio(1).writeSaveFile(out, lines);
+        return out.toString();
+    }
+
+    @Test
+    public void testSameSeedGivesSameOutput() throws IOException {
+        assertEquals(saveFile(7, 500), saveFile(7, 500));
+        assertNotEquals(saveFile(7, 500), saveFile(8, 500));
+    }
+
+    @Test
+    public void testEverySaveLineLoadsExceptCorruptedOnes() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        long corrupted;
+        try (Writer out = Files.newBufferedWriter(file)) {
+            corrupted = new DatasetGenerator(1).setOtherFormatRatio(0.5).setCorruptRatio(0.05)
+                    .writeSaveFile(out, 2000);
+        }
+
+        assertTrue(corrupted > 0);
+        assertEquals(2000 - corrupted, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    public void testSavedDatesHaveYearsAndEventsEndAfterTheyStart() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        try (Writer out = Files.newBufferedWriter(file)) {
+            new DatasetGenerator(7).setOtherFormatRatio(1).setReminderDensity(0.5)
+                    .setDates(LocalDate.of(2001, 12, 1), 60).writeSaveFile(out, 2000);
+        }
+
+        // A date without a year would be read in the current year, outside the generated range
+        LocalDateTime earliest = LocalDate.of(2001, 11, 30).atStartOfDay();
+        LocalDateTime latest = LocalDate.of(2002, 2, 3).atStartOfDay();
+        List<Task> tasks = new Storage(file.toString()).load();
+        assertEquals(2000, tasks.size());
+        for (Task task : tasks) {
+            List<CustomDateTime> dates = new ArrayList<>();
+            if (task instanceof DeadlineTask) {
+                dates.add(((DeadlineTask) task).getEndDateTime());
+            } else if (task instanceof EventTask) {
+                EventTask event = (EventTask) task;
+                dates.add(event.getStartDateTime());
+                dates.add(event.getEndDateTime());
+                assertTrue(event.getEndDateTime().compareTo(event.getStartDateTime()) >= 0, task.encode());
+            }
+            task.getReminder().ifPresent(dates::add);
+            for (CustomDateTime date : dates) {
+                LocalDateTime dateTime = date.toLocalDateTime();
+                assertTrue(!dateTime.isBefore(earliest) && dateTime.isBefore(latest), task.encode());
+            }
+        }
+    }
+
+    @Test
+    public void testTranscriptCommandsAreValid() throws IOException {
+        StringWriter out = new StringWriter();
+        new DatasetGenerator(3).setOtherFormatRatio(0.5).setReminderDensity(0.5).writeTranscript(out, 1000);
+        String[] commands = out.toString().split("\n");
+
+        assertEquals(1000, commands.length);
+        assertEquals("bye", commands[commands.length - 1]);
+        Morpheus morpheus = new Morpheus(tempDir.resolve("tasks.txt").toString());
+        for (String command : commands) {
+            String response = morpheus.getResponse(command);
+            assertFalse(response.contains("Usage") || response.contains("try again"), command + " -> " + response);
+        }
+    }
+
+    @Test
+    public void testWordsAreDistinct() {
+        assertEquals("read", DatasetGenerator.word(0));
+        assertNotEquals(DatasetGenerator.word(100), DatasetGenerator.word(100 + 24 * 24));
+    }
+}
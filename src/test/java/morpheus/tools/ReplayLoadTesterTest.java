@@ -0,0 +1,48 @@
+package morpheus.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import morpheus.utils.Storage;
+
+public class ReplayLoadTesterTest {
+    private static final List<String> TRANSCRIPT = List.of(
+            "todo read the replay report", "deadline hand in report /by 2026-12-01", "list", "mark 1", "bye");
+
+    @Test
+    public void testEverySessionReplaysItsTranscript() throws IOException, InterruptedException {
+        ReplayLoadTester.Report report = new ReplayLoadTester(4, false, Storage.WritePolicy.IMMEDIATE)
+                .run(List.of(TRANSCRIPT));
+
+        assertEquals(16, report.getLatencies().getCount());
+        assertTrue(report.getBytesWritten() > 0);
+        assertTrue(report.getThroughput() > 0);
+    }
+
+    @Test
+    public void testDeferredWritesSaveFewerBytes() throws IOException, InterruptedException {
+        ReplayLoadTester.Report immediate = new ReplayLoadTester(2, true, Storage.WritePolicy.IMMEDIATE)
+                .run(List.of(TRANSCRIPT));
+        ReplayLoadTester.Report deferred = new ReplayLoadTester(2, true, Storage.WritePolicy.DEFERRED)
+                .run(List.of(TRANSCRIPT));
+
+        assertEquals(8, deferred.getLatencies().getCount());
+        assertTrue(deferred.getBytesWritten() > 0);
+        assertTrue(deferred.getBytesWrittenPerCommand() < immediate.getBytesWrittenPerCommand());
+    }
+
+    @Test
+    public void testGeneratedTranscriptsDifferAndHaveNoExit() {
+        List<List<String>> transcripts = ReplayLoadTester.generateTranscripts(2, 50, 1);
+
+        assertEquals(50, transcripts.get(0).size());
+        assertFalse(transcripts.get(0).equals(transcripts.get(1)));
+        assertFalse(transcripts.get(0).contains("bye"));
+    }
+}
@@ -0,0 +1,116 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import morpheus.commands.FindCommand;
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+/**
+ * Fails when a hot path allocates more per operation than its budget in
+ * <code>allocation-budgets.properties</code>.
+ * <p>
+ * Each operation is warmed up so that the JIT has compiled it, then run many times
+ * while the current thread's allocated bytes are counted. When an optimization lowers
+ * an operation's allocation, lower its budget too, so that the gain is kept.
+ * </p>
+ */
+public class AllocationBudgetTest {
+    private static final int WARM_UP_RUNS = 20_000;
+    private static final int MEASURED_RUNS = 20_000;
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    /** Keeps results reachable so that the JIT cannot optimize the measured work away. */
+    private static volatile Object sink;
+
+    private static Properties budgets() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(in, "allocation-budgets.properties is missing");
+            budgets.load(in);
+        }
+        return budgets;
+    }
+
+    private static long bytesPerOperation(Supplier<Object> operation) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            sink = operation.get();
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            sink = operation.get();
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / MEASURED_RUNS;
+    }
+
+    private static void assertWithinBudget(String name, Supplier<Object> operation) throws IOException {
+        String budget = budgets().getProperty(name);
+        assertNotNull(budget, "No allocation budget for " + name);
+        long allowed = Long.parseLong(budget.trim());
+        long allocated = bytesPerOperation(operation);
+        assertTrue(allocated <= allowed,
+                name + " allocated " + allocated + " bytes per operation, over its budget of " + allowed);
+    }
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+            case 0:
+                tasks.add(new ToDoTask("read book " + i, i % 2 == 0));
+                break;
+            case 1:
+                tasks.add(new DeadlineTask("return book " + i, new CustomDateTime("6/6/2030 1800")));
+                break;
+            default:
+                tasks.add(new EventTask("project meeting " + i,
+                        new CustomDateTime("6/8/2030 1400"), new CustomDateTime("6/8/2030 1600")));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testDecodeTask() throws IOException {
+        assertWithinBudget("storage.decodeTask",
+                () -> Storage.decodeTask("D | 0 | return book | 6 Jun 2030, 6:00 PM | REMINDER: 5 Jun 2030, 9:00 AM"));
+    }
+
+    @Test
+    public void testParseLongDateTime() throws IOException {
+        assertWithinBudget("customDateTime.parse.long", () -> new CustomDateTime("12 Sep 2030, 3:00 PM"));
+    }
+
+    @Test
+    public void testParseNumericDateTime() throws IOException {
+        assertWithinBudget("customDateTime.parse.numeric", () -> new CustomDateTime("12/9/2030 1500"));
+    }
+
+    @Test
+    public void testFilterTasks() throws IOException {
+        List<Task> tasks = tasks(1000);
+        assertWithinBudget("find.filterTasks.1000", () -> FindCommand.filterTasks(tasks, "book"));
+    }
+
+    @Test
+    public void testFormatTaskList() throws IOException {
+        List<Task> tasks = tasks(1000);
+        Ui ui = new Ui();
+        assertWithinBudget("ui.formatTaskList.1000", () -> ui.listMessage(tasks));
+    }
+}
@@ -0,0 +1,32 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class IndexSelectionTest {
+    @Test
+    public void testSingleIndex() {
+        assertArrayEquals(new int[] {2}, IndexSelection.parse("3", 5));
+    }
+
+    @Test
+    public void testListAndRangesAreSortedAndDistinct() {
+        assertArrayEquals(new int[] {0, 1, 2, 4, 6}, IndexSelection.parse("7, 1-3,2,5", 10));
+    }
+
+    @Test
+    public void testOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class, () -> IndexSelection.parse("0", 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> IndexSelection.parse("4-999999999", 5));
+    }
+
+    @Test
+    public void testMalformed() {
+        assertThrows(NumberFormatException.class, () -> IndexSelection.parse("", 5));
+        assertThrows(NumberFormatException.class, () -> IndexSelection.parse("1,,2", 5));
+        assertThrows(NumberFormatException.class, () -> IndexSelection.parse("4-2", 5));
+        assertThrows(NumberFormatException.class, () -> IndexSelection.parse("abc", 5));
+    }
+}
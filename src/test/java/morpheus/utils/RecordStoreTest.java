@@ -0,0 +1,102 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+public class RecordStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> reload(Path saveFile) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        new RecordStore(saveFile, new Metrics()).load(tasks);
+        return tasks;
+    }
+
+    private static void overwrite(Path file, long position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    @Test
+    public void testSingleSaveFileIsMigratedIntoRecords() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        List<Task> tasks = SampleTasks.mixed();
+        new Storage(file.toString()).save(tasks);
+
+        Storage storage = new Storage(file.toString(), Storage.WritePolicy.IMMEDIATE, Storage.Layout.RECORDS);
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(storage.load()));
+        assertFalse(Files.exists(file));
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(reload(file)));
+    }
+
+    @Test
+    public void testMarkIsOneByteWrittenInPlace() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        RecordStore store = new RecordStore(file, new Metrics());
+        List<Task> tasks = SampleTasks.mixed();
+        store.write(tasks, false);
+
+        tasks.get(0).mark();
+        assertEquals(1, store.write(tasks, false));
+        assertEquals(0, store.write(tasks, false));
+        byte[] bytes = Files.readAllBytes(store.getFile());
+        assertEquals(RecordStore.DONE, bytes[RecordStore.HEADER_BYTES + RecordStore.STATUS]);
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(reload(file)));
+    }
+
+    @Test
+    public void testDeletedSlotIsFreedAndReused() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        RecordStore store = new RecordStore(file, new Metrics());
+        List<Task> tasks = SampleTasks.mixed();
+        store.write(tasks, false);
+        long size = Files.size(store.getFile());
+
+        tasks.remove(1);
+        store.write(tasks, false);
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(reload(file)));
+
+        tasks.add(new ToDoTask("buy milk", false));
+        store.write(tasks, true);
+        assertEquals(size, Files.size(store.getFile()));
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(reload(file)));
+    }
+
+    @Test
+    public void testOpenRepairsBrokenChainAndQuarantinesDamagedRecords() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        RecordStore store = new RecordStore(file, new Metrics());
+        List<Task> tasks = SampleTasks.mixed();
+        store.write(tasks, true);
+        store.close();
+
+        // As if a crash left every slot unlinked and the last one pointing past the heap
+        overwrite(store.getFile(), 16, ByteBuffer.allocate(Integer.BYTES).putInt(0, -1));
+        overwrite(store.getFile(), RecordStore.HEADER_BYTES + 2L * RecordStore.SLOT_BYTES + 28,
+                ByteBuffer.allocate(Long.BYTES).putLong(0, 1L << 40));
+
+        assertEquals(SampleTasks.encodings(tasks.subList(0, 2)), SampleTasks.encodings(reload(file)));
+        assertEquals(1, Files.readAllLines(SaveFileScanner.quarantinePathFor(file)).size());
+        byte[] bytes = Files.readAllBytes(store.getFile());
+        assertEquals(RecordStore.FREE, bytes[RecordStore.HEADER_BYTES + 2 * RecordStore.SLOT_BYTES]);
+        assertTrue(ByteBuffer.wrap(bytes).getInt(16) >= 0);
+    }
+}
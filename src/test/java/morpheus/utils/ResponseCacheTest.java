@@ -0,0 +1,43 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class ResponseCacheTest {
+    @Test
+    public void testResponsesExpireWithTheirVersion() {
+        ResponseCache cache = new ResponseCache(4);
+        cache.put("list", 1, "one task");
+
+        assertEquals("one task", cache.get("list", 1));
+        assertNull(cache.get("list", 2));
+        cache.put("list", 2, "two tasks");
+        cache.put("list", 1, "one task");
+        assertEquals("two tasks", cache.get("list", 2));
+        assertEquals(2.0 / 3, cache.getHitRate());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResponseIsEvicted() {
+        ResponseCache cache = new ResponseCache(2);
+        cache.put("list", 0, "a");
+        cache.put("find a", 0, "b");
+        cache.get("list", 0);
+        cache.put("find b", 0, "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("list", 0));
+        assertNull(cache.get("find a", 0));
+    }
+
+    @Test
+    public void testZeroCapacityDisablesCaching() {
+        ResponseCache cache = new ResponseCache(0);
+        cache.put("list", 0, "a");
+
+        assertNull(cache.get("list", 0));
+        assertEquals(0, cache.size());
+    }
+}
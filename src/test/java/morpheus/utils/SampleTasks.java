@@ -0,0 +1,53 @@
+package morpheus.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.EventTask;
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+/**
+ * Tasks and helpers shared by the tests of the storage formats.
+ */
+final class SampleTasks {
+    private SampleTasks() {
+    }
+
+    /**
+     * Returns one task of each type, with reminders, a done task and a non-ASCII description.
+     */
+    static List<Task> mixed() {
+        Task todo = new ToDoTask("read book", false);
+        todo.setReminder(new CustomDateTime(LocalDate.of(2026, 3, 1)));
+        Task deadline = new DeadlineTask("return book ✓", true, new CustomDateTime("6/6/2026 1800"));
+        deadline.setReminder(new CustomDateTime("5/6/2026 0900"));
+        Task event = new EventTask("project meeting", false,
+                new CustomDateTime("1/2/1965 0000"), new CustomDateTime("1/2/1965 2359"));
+        return new ArrayList<>(List.of(todo, deadline, event));
+    }
+
+    /**
+     * Returns tasks in list order that fall in March, undated, April, March and undated again.
+     */
+    static List<Task> acrossMonths() {
+        return new ArrayList<>(List.of(
+                new DeadlineTask("pay rent", false, new CustomDateTime("1/3/2026 0900")),
+                new ToDoTask("read book", false),
+                new EventTask("conference", false,
+                        new CustomDateTime("30/4/2026 0900"), new CustomDateTime("2/5/2026 1700")),
+                new DeadlineTask("file taxes", true, new CustomDateTime("15/3/2026 2359")),
+                new ToDoTask("water plants", true)));
+    }
+
+    static List<String> encodings(List<Task> tasks) {
+        return tasks.stream().map(Task::encode).collect(Collectors.toList());
+    }
+
+    static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,66 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.Task;
+
+public class SaveFileScannerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSavedTasksCarryVerifiedChecksums() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        List<Task> tasks = SampleTasks.mixed();
+        new Storage(file.toString()).save(tasks);
+
+        SaveFileScanner.Report report = SaveFileScanner.scan(file);
+        assertEquals(3, report.getRecords());
+        assertEquals(3, report.getVerified());
+        assertEquals(0, report.getDamaged());
+        assertEquals(tasks.get(0).encode(), SaveFileScanner.stripChecksum(Files.readAllLines(file).get(0)));
+    }
+
+    @Test
+    public void testDamagedTaskIsQuarantinedOnceAndOthersKept() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        new Storage(file.toString()).save(SampleTasks.mixed());
+        String damaged = Files.readString(file).replace("read book", "raed book");
+        Files.writeString(file, damaged);
+
+        assertEquals(1, SaveFileScanner.scan(file).getDamaged());
+        List<String> kept = List.of("return book ✓", "project meeting");
+        assertEquals(kept, SampleTasks.descriptions(new Storage(file.toString()).load()));
+        assertEquals(kept, SampleTasks.descriptions(new Storage(file.toString()).load()));
+
+        List<String> quarantined = Files.readAllLines(SaveFileScanner.quarantinePathFor(file), StandardCharsets.UTF_8);
+        assertEquals(1, quarantined.size());
+        assertTrue(quarantined.get(0).contains("raed book"));
+        assertFalse(SaveFileScanner.isIntact(quarantined.get(0)));
+    }
+
+    @Test
+    public void testLinesWithoutChecksumAreKeptAndUndecodableLinesQuarantined() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Files.writeString(file, "T | 0 | added by hand\nD | 0 | deadline without a date\n");
+
+        SaveFileScanner.Report report = SaveFileScanner.scan(file);
+        assertEquals(2, report.getUnchecked());
+
+        assertEquals(List.of("added by hand"), SampleTasks.descriptions(new Storage(file.toString()).load()));
+        assertEquals(List.of("D | 0 | deadline without a date"),
+                Files.readAllLines(SaveFileScanner.quarantinePathFor(file)));
+        assertEquals(1, SaveFileScanner.scan(file).getVerified());
+    }
+}
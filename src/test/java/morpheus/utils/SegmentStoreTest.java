@@ -0,0 +1,106 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+public class SegmentStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private Storage partitioned(Path file) {
+        return new Storage(file.toString(), Storage.WritePolicy.IMMEDIATE, Storage.Layout.PARTITIONED);
+    }
+
+    private static Map<String, FileTime> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".txt"))
+                    .collect(Collectors.toMap(path -> path.getFileName().toString(), path -> {
+                        try {
+                            return Files.getLastModifiedTime(path);
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }));
+        }
+    }
+
+    @Test
+    public void testSegmentsKeepListOrderAcrossMonths() {
+        Path file = tempDir.resolve("tasks.txt");
+        List<Task> tasks = SampleTasks.acrossMonths();
+        partitioned(file).save(tasks);
+
+        assertFalse(Files.exists(file));
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(partitioned(file).load()));
+    }
+
+    @Test
+    public void testOnlyChangedSegmentIsRewritten() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Storage storage = partitioned(file);
+        List<Task> tasks = storage.load();
+        tasks.addAll(SampleTasks.acrossMonths());
+        storage.save(tasks);
+        Path directory = tempDir.resolve("tasks.txt" + SegmentStore.DIRECTORY_SUFFIX);
+        Map<String, FileTime> before = segmentFiles(directory);
+        assertEquals(List.of("2026-03.1.txt", "2026-04.1.txt", "undated.1.txt"),
+                before.keySet().stream().sorted().collect(Collectors.toList()));
+
+        tasks.get(1).mark();
+        storage.save(tasks);
+
+        Map<String, FileTime> after = segmentFiles(directory);
+        assertEquals(List.of("2026-03.1.txt", "2026-04.1.txt", "undated.2.txt"),
+                after.keySet().stream().sorted().collect(Collectors.toList()));
+        assertEquals(before.get("2026-03.1.txt"), after.get("2026-03.1.txt"));
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(partitioned(file).load()));
+    }
+
+    @Test
+    public void testSingleSaveFileIsMigratedOnFirstLoad() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        List<Task> tasks = SampleTasks.acrossMonths();
+        new Storage(file.toString(), Storage.WritePolicy.IMMEDIATE, Storage.Layout.SINGLE_FILE).save(tasks);
+
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(partitioned(file).load()));
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(tempDir.resolve("tasks.txt.migrated")));
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(partitioned(file).load()));
+    }
+
+    @Test
+    public void testDeleteRewritesOnlyItsSegmentAndManifestListsOnlySegments() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Storage storage = partitioned(file);
+        List<Task> tasks = storage.load();
+        tasks.addAll(SampleTasks.acrossMonths());
+        storage.save(tasks);
+        Path directory = tempDir.resolve("tasks.txt" + SegmentStore.DIRECTORY_SUFFIX);
+
+        tasks.remove(0);
+        tasks.add(new ToDoTask("buy milk", false));
+        storage.save(tasks);
+
+        assertEquals(List.of("2026-03.2.txt", "2026-04.1.txt", "undated.2.txt"),
+                segmentFiles(directory).keySet().stream().sorted().collect(Collectors.toList()));
+        // The format and generation lines, then one line per segment
+        assertEquals(5, Files.readAllLines(directory.resolve("manifest")).size());
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(partitioned(file).load()));
+    }
+}
@@ -1,4 +1,72 @@
 package morpheus.utils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
 public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testImmediateSaveRoundTrip() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        List<Task> tasks = new ArrayList<>(List.of(new ToDoTask("read book", true)));
+        new Storage(file).save(tasks);
+
+        List<Task> loaded = new Storage(file).load();
+        assertEquals(1, loaded.size());
+        assertEquals(tasks.get(0).toString(), loaded.get(0).toString());
+    }
+
+    @Test
+    public void testDeferredSavesAreWrittenOnFlush() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(file, Storage.WritePolicy.DEFERRED);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDoTask("first", false));
+        storage.save(tasks);
+        tasks.add(new ToDoTask("second", false));
+        storage.save(tasks);
+
+        assertTrue(storage.hasPendingChanges());
+        assertTrue(new Storage(file).load().isEmpty());
+
+        storage.flush();
+        assertFalse(storage.hasPendingChanges());
+        assertEquals(2, new Storage(file).load().size());
+    }
+
+    @Test
+    public void testPeriodicSavesWriteFirstChangeImmediately() {
+        String file = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(file, Storage.WritePolicy.PERIODIC);
+        List<Task> tasks = new ArrayList<>(List.of(new ToDoTask("first", false)));
+        storage.save(tasks);
+        assertEquals(1, new Storage(file).load().size());
+
+        tasks.add(new ToDoTask("second", false));
+        storage.save(tasks);
+        assertTrue(storage.hasPendingChanges());
+
+        storage.flush();
+        assertEquals(2, new Storage(file).load().size());
+    }
+
+    @Test
+    public void testMissingParentDirectoryIsCreated() {
+        Path file = tempDir.resolve("nested").resolve("tasks.txt");
+        new Storage(file.toString()).save(List.of(new ToDoTask("read book", false)));
+        assertEquals(1, new Storage(file.toString()).load().size());
+    }
 }
@@ -0,0 +1,90 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+public class TaskArchiveTest {
+    @TempDir
+    Path tempDir;
+
+    private static List<Task> todos(int from, int to) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            tasks.add(new ToDoTask("old task " + i, true));
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testAppendedTasksCanBeReadByPage() throws IOException {
+        Path saveFile = tempDir.resolve("tasks.txt");
+        TaskArchive archive = new TaskArchive(saveFile);
+        archive.append(todos(0, 30));
+        archive.append(List.of(new DeadlineTask("filed report", true, new CustomDateTime("1/2/2020 0900"))));
+
+        TaskArchive reopened = new TaskArchive(saveFile);
+        assertEquals(31, reopened.size());
+        assertEquals(SampleTasks.descriptions(todos(10, 20)), SampleTasks.descriptions(reopened.read(10, 20)));
+        assertEquals("[D] [X] filed report (by: 1 Feb 2020, 9:00 AM)", reopened.read(30, 31).get(0).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> reopened.read(25, 32));
+    }
+
+    @Test
+    public void testFindOnlyReturnsMatchingDescriptions() throws IOException {
+        TaskArchive archive = new TaskArchive(tempDir.resolve("tasks.txt"));
+        archive.append(todos(0, 20));
+
+        assertEquals(List.of("old task 1", "old task 10", "old task 11"),
+                SampleTasks.descriptions(archive.find("TASK 1")).subList(0, 3));
+        assertEquals(0, archive.find("T |").size());
+    }
+
+    @Test
+    public void testDamagedLinesAreSkippedWithoutCountingAsCorruptedSaveLines() throws IOException {
+        Path saveFile = tempDir.resolve("tasks.txt");
+        Storage storage = new Storage(saveFile.toString());
+        storage.getArchive().append(todos(0, 3));
+        Path archiveFile = tempDir.resolve("tasks.txt.archive");
+        String lines = Files.readString(archiveFile);
+        assertTrue(lines.startsWith("T | 1 | old task 0 | #"));
+        // Same length, so the index still matches, but the checksum no longer does
+        Files.writeString(archiveFile, lines.replace("old task 1", "old task 7"));
+
+        TaskArchive archive = storage.getArchive();
+        assertEquals(List.of("old task 0", "old task 2"), SampleTasks.descriptions(archive.read(0, 3)));
+        assertEquals(0, archive.find("task 7").size());
+        assertEquals(0, storage.getMetrics().getCorruptedLines());
+    }
+
+    @Test
+    public void testIndexIsRebuiltAfterInterruptedAppend() throws IOException {
+        Path saveFile = tempDir.resolve("tasks.txt");
+        new TaskArchive(saveFile).append(todos(0, 5));
+        // An append that wrote one full line and part of another, but no index entries
+        Files.writeString(tempDir.resolve("tasks.txt.archive"), "T | 1 | old task 5\nT | 1 | old ",
+                StandardOpenOption.APPEND);
+
+        TaskArchive reopened = new TaskArchive(saveFile);
+        assertEquals(6, reopened.size());
+        assertEquals(SampleTasks.descriptions(todos(0, 6)), SampleTasks.descriptions(reopened.read(0, 6)));
+
+        reopened.append(todos(6, 7));
+        assertEquals(SampleTasks.descriptions(todos(0, 7)),
+                SampleTasks.descriptions(new TaskArchive(saveFile).read(0, 7)));
+    }
+}
@@ -0,0 +1,52 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.Task;
+import morpheus.tasks.ToDoTask;
+
+public class TaskListRendererTest {
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            tasks.add(new ToDoTask("task " + i, i % 2 == 0));
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testRenderMatchesTaskToString() {
+        List<Task> tasks = tasks(2);
+        Task deadline = new DeadlineTask("essay", new CustomDateTime("1/1/2030 1800"));
+        deadline.setReminder(new CustomDateTime("31/12/2029 0900"));
+        tasks.add(deadline);
+
+        assertEquals("Header\n\n1. " + tasks.get(0) + "\n2. " + tasks.get(1) + "\n3. " + deadline,
+                TaskListRenderer.render("Header\n", tasks, 0, 3));
+    }
+
+    @Test
+    public void testRenderKeepsNumbersOfPartialRange() {
+        assertEquals("Page\n3. [T] [ ] task 3\n4. [T] [X] task 4",
+                TaskListRenderer.render("Page", tasks(5), 2, 4));
+    }
+
+    @Test
+    public void testListPages() {
+        Ui ui = new Ui();
+        List<Task> tasks = tasks(45);
+
+        String page = ui.listPageMessage(tasks, 3, 20);
+        assertTrue(page.startsWith("Page 3 of 3 (tasks 41-45 of 45). That’s the end of the list.\n\n41. "));
+        assertTrue(page.endsWith("\n45. [T] [ ] task 45"));
+        assertEquals("There’s no page 4. At 20 tasks per page, your list has 3 page(s).",
+                ui.listPageMessage(tasks, 4, 20));
+    }
+}
@@ -0,0 +1,99 @@
+package morpheus.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import morpheus.tasks.DeadlineTask;
+import morpheus.tasks.Task;
+
+public class TaskSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSnapshotIsWrittenOnFlushAndMatchesDecodedTasks() {
+        Path file = tempDir.resolve("tasks.txt");
+        List<Task> tasks = SampleTasks.mixed();
+        Storage storage = new Storage(file.toString());
+        storage.save(tasks);
+        assertFalse(Files.exists(TaskSnapshot.pathFor(file)));
+        storage.flush();
+
+        Optional<List<Task>> snapshot = TaskSnapshot.read(file);
+        assertTrue(snapshot.isPresent());
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(snapshot.get()));
+        assertEquals(SampleTasks.encodings(tasks), SampleTasks.encodings(new Storage(file.toString()).load()));
+    }
+
+    @Test
+    public void testChangedSaveFileIsDecodedAndSnapshotRefreshed() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        new Storage(file.toString()).saveAtomically(SampleTasks.mixed());
+        Files.writeString(file, "T | 0 | added by hand\n", StandardOpenOption.APPEND);
+
+        assertFalse(TaskSnapshot.read(file).isPresent());
+        List<Task> loaded = new Storage(file.toString()).load();
+        assertEquals(4, loaded.size());
+        assertEquals("added by hand", loaded.get(3).getDescription());
+        assertEquals(SampleTasks.encodings(loaded), SampleTasks.encodings(TaskSnapshot.read(file).get()));
+    }
+
+    @Test
+    public void testDamagedSnapshotIsIgnored() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        Storage storage = new Storage(file.toString());
+        storage.save(SampleTasks.mixed());
+        storage.flush();
+        Path snapshot = TaskSnapshot.pathFor(file);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 10] ^= 0x5A;
+        Files.write(snapshot, bytes);
+
+        assertFalse(TaskSnapshot.read(file).isPresent());
+        assertEquals(SampleTasks.encodings(SampleTasks.mixed()),
+                SampleTasks.encodings(new Storage(file.toString()).load()));
+    }
+
+    @Test
+    public void testTasksLoadTheSameWithAndWithoutSnapshot() throws IOException {
+        Path file = tempDir.resolve("tasks.txt");
+        List<Task> tasks = SampleTasks.mixed();
+        tasks.add(new DeadlineTask("pay rent", false, new CustomDateTime("12 Sep 2025")));
+        Storage storage = new Storage(file.toString());
+        storage.save(tasks);
+        storage.flush();
+
+        List<Task> fromSnapshot = new Storage(file.toString()).load();
+        Files.delete(TaskSnapshot.pathFor(file));
+        List<Task> decoded = new Storage(file.toString()).load();
+
+        List<String> expected = tasks.stream().map(Task::toString).collect(Collectors.toList());
+        assertEquals(expected, fromSnapshot.stream().map(Task::toString).collect(Collectors.toList()));
+        assertEquals(expected, decoded.stream().map(Task::toString).collect(Collectors.toList()));
+        assertTrue(decoded.get(3).toString().endsWith("(by: 12 Sep 2025)"));
+    }
+
+    @Test
+    public void testSnapshotIsNotWrittenForListChangedSinceItsSave() {
+        Path file = tempDir.resolve("tasks.txt");
+        List<Task> tasks = SampleTasks.mixed();
+        Storage storage = new Storage(file.toString(), Storage.WritePolicy.IMMEDIATE);
+        storage.save(tasks);
+        tasks.get(0).mark();
+        storage.flush();
+
+        assertFalse(TaskSnapshot.read(file).isPresent());
+    }
+}